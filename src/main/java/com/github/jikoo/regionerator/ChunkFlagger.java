@@ -11,22 +11,36 @@
 package com.github.jikoo.regionerator;
 
 import com.github.jikoo.regionerator.database.DatabaseAdapter;
+import com.github.jikoo.regionerator.database.ProtectionCache;
+import com.github.jikoo.regionerator.database.RegionIndex;
+import com.github.jikoo.regionerator.database.RegionSummary;
 import com.github.jikoo.regionerator.util.BatchExpirationLoadingCache;
+import com.github.jikoo.regionerator.util.ChunkKeys;
+import com.github.jikoo.regionerator.util.collection.ConcurrentLongObjectMap;
+import com.github.jikoo.regionerator.util.metrics.Counter;
+import com.github.jikoo.regionerator.util.metrics.Gauge;
+import com.github.jikoo.regionerator.util.metrics.MetricsRegistry;
 import com.github.jikoo.regionerator.util.yaml.Config;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.YamlConfiguration;
-import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.regex.Pattern;
@@ -37,27 +51,59 @@ import java.util.regex.Pattern;
 public class ChunkFlagger {
 
 	private final @NotNull Regionerator plugin;
+	private final @NotNull ChunkKeys chunkKeys = new ChunkKeys();
 	private final @NotNull DatabaseAdapter adapter;
-	private final @NotNull BatchExpirationLoadingCache<String, FlagData> flagCache;
+	private final @NotNull BatchExpirationLoadingCache<FlagData> flagCache;
+	private final @NotNull ConcurrentLongObjectMap<SummaryOverlay> summaries = new ConcurrentLongObjectMap<>();
+	private final @Nullable ExecutorService loadExecutor;
+	private final @NotNull Counter flagged;
+	private final @NotNull Counter saved;
+	private final @NotNull Counter saveSkipped;
+	private final @NotNull Counter saveFailures;
 
 	ChunkFlagger(@NotNull Regionerator plugin) {
 		this.plugin = plugin;
 
 		try {
 			// Set up database adapter
-			adapter = DatabaseAdapter.getAdapter(plugin);
+			adapter = DatabaseAdapter.getAdapter(plugin, chunkKeys);
 		} catch (Exception e) {
 			throw new RuntimeException("An error occurred while setting up the database", e);
 		}
 
 		Config config = plugin.config();
-		this.flagCache = new BatchExpirationLoadingCache.Builder<String, FlagData>()
+		BatchExpirationLoadingCache.Builder<FlagData> builder = new BatchExpirationLoadingCache.Builder<FlagData>()
 				.setRetention(config.getCacheRetention())
 				.setCacheMax(config.getCacheMaxSize())
 				.setFrequency(config.getCacheExpirationFrequency())
 				.setBatchMax(config.getCacheBatchMax())
 				.setBatchDelay(config.getCacheBatchDelay())
-				.build(this::loadFlag, this::expireBatch);
+				.setMaxBacklog(config.getCacheMaxBacklog())
+				.setEvictionPolicy(config.getCacheEvictionPolicy())
+				.setBatchLoader(this::loadFlags)
+				.setLogger(plugin.getLogger());
+
+		if (config.getCacheLoadThreads() > 0) {
+			AtomicInteger threadCount = new AtomicInteger();
+			loadExecutor = Executors.newFixedThreadPool(config.getCacheLoadThreads(), runnable -> {
+				Thread thread = new Thread(runnable, "Regionerator-FlagLoader-" + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+			builder.setLoadExecutor(loadExecutor);
+		} else {
+			loadExecutor = null;
+		}
+
+		MetricsRegistry metrics = plugin.getMetrics();
+		flagged = metrics.counter("flagger.flagged");
+		saved = metrics.counter("flagger.saved");
+		saveSkipped = metrics.counter("flagger.save-skipped");
+		saveFailures = metrics.counter("flagger.save-failures");
+
+		this.flagCache = builder.build(this::loadFlag, this::expireBatch);
+		flagCache.registerMetrics(metrics, "cache.");
+		metrics.register("cache.dirty", (Gauge) this::getDirty);
 
 		convertOldFlagsFile();
 		convertOldPerWorldFlagFiles();
@@ -73,7 +119,7 @@ public class ChunkFlagger {
 	 * @param key the key of the FlagData
 	 * @return the FlagData
 	 */
-	private @NotNull FlagData loadFlag(@NotNull String key) {
+	private @NotNull FlagData loadFlag(long key) {
 		try {
 			return new FlagData(key, adapter.get(key));
 		} catch (Exception e) {
@@ -82,26 +128,77 @@ public class ChunkFlagger {
 		}
 	}
 
+	/**
+	 * For use in cache. Don't call manually.
+	 *
+	 * @param keys the keys of the FlagData
+	 * @return the FlagData in the order of the keys
+	 */
+	private @NotNull List<FlagData> loadFlags(long @NotNull [] keys) {
+		long[] values;
+		try {
+			values = adapter.getAll(keys);
+		} catch (Exception e) {
+			plugin.getLogger().log(Level.WARNING, "Exception fetching chunk flags", e);
+			values = new long[keys.length];
+			Arrays.fill(values, Config.FLAG_OH_NO);
+		}
+
+		List<FlagData> flags = new ArrayList<>(keys.length);
+		for (int i = 0; i < keys.length; ++i) {
+			flags.add(new FlagData(keys[i], values[i]));
+		}
+		return flags;
+	}
+
 	/**
 	 * For use in cache. Don't call manually.
 	 *
 	 * @param expiredData the batch of expired FlagData
 	 */
 	private void expireBatch(@NotNull Collection<FlagData> expiredData) {
+		List<FlagData> released = new ArrayList<>(expiredData);
+
 		// Only attempt to save if dirty to minimize write time
+		int expired = expiredData.size();
 		expiredData.removeIf(next -> !next.isDirty() || next.getLastVisit() == Config.FLAG_OH_NO);
+		saveSkipped.add(expired - expiredData.size());
+
+		if (!expiredData.isEmpty()) {
+			try {
+				adapter.update(expiredData);
+				saved.add(expiredData.size());
+
+				// Flag as no longer dirty to reduce saves if data is still in use
+				expiredData.forEach(FlagData::wash);
+			} catch (Exception e) {
+				saveFailures.increment();
+				plugin.getLogger().log(Level.SEVERE, "Exception updating chunk flags", e);
+			}
+		}
+
+		released.forEach(this::release);
+	}
 
-		if (expiredData.isEmpty()) {
+	/**
+	 * Marks a chunk's timestamp as stored in its region's summary. Once all timestamps written to a region are stored,
+	 * the stored summary is accurate and the region's summary overlay is discarded.
+	 *
+	 * @param flagData the stored or expired FlagData
+	 */
+	private void release(@NotNull FlagData flagData) {
+		long chunkKey = flagData.getChunkKey();
+		long regionKey = ChunkKeys.getRegionKey(chunkKey);
+		SummaryOverlay overlay = summaries.get(regionKey);
+		if (overlay == null) {
 			return;
 		}
 
-		try {
-			adapter.update(expiredData);
-
-			// Flag as no longer dirty to reduce saves if data is still in use
-			expiredData.forEach(FlagData::wash);
-		} catch (Exception e) {
-			plugin.getLogger().log(Level.SEVERE, "Exception updating chunk flags", e);
+		synchronized (overlay) {
+			// Dirtiness must be checked while holding the overlay so that concurrent writes are not discarded.
+			if (!flagData.isDirty() && overlay.release(ChunkKeys.getRegionIndex(chunkKey))) {
+				summaries.remove(regionKey, overlay);
+			}
 		}
 	}
 
@@ -115,6 +212,8 @@ public class ChunkFlagger {
 		}
 		this.plugin.getLogger().info("Beginning converting flags.yml");
 		YamlConfiguration oldFlags = YamlConfiguration.loadConfiguration(oldFlagsFile);
+		List<Long> keys = new ArrayList<>();
+		List<Long> oldValues = new ArrayList<>();
 		for (String world : oldFlags.getKeys(false)) {
 			if (!oldFlags.isConfigurationSection(world)) {
 				continue;
@@ -147,10 +246,11 @@ public class ChunkFlagger {
 					continue;
 				}
 
-				flagCache.get(this.getFlagDbId(world, chunkX, chunkZ))
-						.thenAccept(flagData -> flagData.importOldValue(worldSection.getLong(chunkPath)));
+				keys.add(chunkKeys.getKey(world, chunkX, chunkZ));
+				oldValues.add(worldSection.getLong(chunkPath));
 			}
 		}
+		importOldValues(keys, oldValues);
 		// Rename old flag file
 		if (oldFlagsFile.renameTo(new File(oldFlagsFile.getParentFile(), "flags.yml.bak"))) {
 			this.plugin.getLogger().info("Finished converting flags.yml, renamed to flags.yml.bak. Delete at convenience if all appears well.");
@@ -190,6 +290,8 @@ public class ChunkFlagger {
 				YamlConfiguration regionConfig = YamlConfiguration.loadConfiguration(regionFlagsFile);
 
 				Map<String, Object> values = regionConfig.getValues(false);
+				List<Long> keys = new ArrayList<>(values.size());
+				List<Long> oldValues = new ArrayList<>(values.size());
 
 				for (Map.Entry<String, Object> entry : values.entrySet()) {
 					String[] args = chunkCoordsSplitter.split(entry.getKey());
@@ -197,9 +299,11 @@ public class ChunkFlagger {
 					int chunkX = Integer.parseInt(args[0]);
 					int chunkZ = Integer.parseInt(args[1]);
 
-					flagCache.get(this.getFlagDbId(worldName, chunkX, chunkZ))
-							.thenAccept(flagData -> flagData.importOldValue((long) entry.getValue()));
+					keys.add(chunkKeys.getKey(worldName, chunkX, chunkZ));
+					oldValues.add((long) entry.getValue());
 				}
+
+				importOldValues(keys, oldValues);
 			}
 		}
 		// Rename old flag file
@@ -210,6 +314,24 @@ public class ChunkFlagger {
 		}
 	}
 
+	/**
+	 * Imports old values for chunks, loading all existing values in a single batch.
+	 *
+	 * @param keys the chunk keys
+	 * @param oldValues the old values in the order of the keys
+	 */
+	private void importOldValues(@NotNull List<Long> keys, @NotNull List<Long> oldValues) {
+		if (keys.isEmpty()) {
+			return;
+		}
+
+		flagCache.getAll(keys.stream().mapToLong(Long::longValue).toArray()).thenAccept(flags -> {
+			for (int i = 0; i < flags.size(); ++i) {
+				flags.get(i).importOldValue(oldValues.get(i));
+			}
+		});
+	}
+
 	/**
 	 * Flags chunks in a radius around the specified chunk according to configured settings.
 	 *
@@ -238,17 +360,55 @@ public class ChunkFlagger {
 	 * @param flagTil the flag timestamp
 	 */
 	public void flagChunk(@NotNull String world, int chunkX, int chunkZ, long flagTil) {
-		String flagDbId = this.getFlagDbId(world, chunkX, chunkZ);
-		FlagData flagData = this.flagCache.getIfPresent(flagDbId);
+		flagged.increment();
+		flagKey(chunkKeys.getKey(world, chunkX, chunkZ), flagTil);
+	}
+
+	/**
+	 * Flags many chunks until the specified time.
+	 *
+	 * @param keys the chunk keys
+	 * @param flagTil the flag timestamp
+	 * @see #getChunkKey(String, int, int)
+	 */
+	public void flagChunks(long @NotNull [] keys, long flagTil) {
+		flagged.add(keys.length);
+		for (long key : keys) {
+			flagKey(key, flagTil);
+		}
+	}
+
+	private void flagKey(long chunkKey, long flagTil) {
+		FlagData flagData = this.flagCache.getIfPresent(chunkKey);
 		if (flagData != null) {
 			long current = flagData.getLastVisit();
 			if (current == Config.FLAG_ETERNAL) {
 				return;
 			}
 			flagData.setLastVisit(flagTil);
+			if (flagTil < current) {
+				// Lowered flags may make the region eligible for deletion sooner than indexed.
+				adapter.getRegionIndex().invalidate(ChunkKeys.getRegionKey(chunkKey));
+			}
 		} else {
-			flagData = new FlagData(flagDbId, flagTil, true);
-			flagCache.put(flagDbId, flagData);
+			flagData = new FlagData(chunkKey, flagTil, true);
+			flagCache.put(chunkKey, flagData);
+		}
+		summarize(chunkKey, flagTil);
+	}
+
+	/**
+	 * Includes a timestamp written to the cache in its region's summary.
+	 *
+	 * @param chunkKey the chunk key
+	 * @param time the timestamp
+	 */
+	private void summarize(long chunkKey, long time) {
+		long regionKey = ChunkKeys.getRegionKey(chunkKey);
+		int index = ChunkKeys.getRegionIndex(chunkKey);
+		while (!summaries.computeIfAbsent(regionKey, key -> new SummaryOverlay()).include(index, time)) {
+			// Overlay was discarded concurrently, retry with a new overlay.
+			Thread.onSpinWait();
 		}
 	}
 
@@ -260,15 +420,136 @@ public class ChunkFlagger {
 	 * @param chunkZ the chunk Z coordinate
 	 */
 	public void unflagChunk(@NotNull String world, int chunkX, int chunkZ) {
-		flagCache.computeIfAbsent(getFlagDbId(world, chunkX, chunkZ), key -> new FlagData(key, Config.FLAG_DEFAULT, true))
+		long chunkKey = chunkKeys.getKey(world, chunkX, chunkZ);
+		flagCache.computeIfAbsent(chunkKey, key -> new FlagData(key, Config.FLAG_DEFAULT, true))
 				.setLastVisit(Config.FLAG_DEFAULT);
+		summarize(chunkKey, Config.FLAG_DEFAULT);
+		adapter.getRegionIndex().invalidate(ChunkKeys.getRegionKey(chunkKey));
+	}
+
+	/**
+	 * Loads the flags of all chunks in a region into the cache in a single query.
+	 *
+	 * <p>Chunks that are already cached are not modified. As all the region's flags are then known, the region's
+	 * summary is recalculated.
+	 *
+	 * @param world the world name
+	 * @param regionX the region X coordinate
+	 * @param regionZ the region Z coordinate
+	 * @return the recalculated region summary, or {@code null} if the region could not be loaded
+	 */
+	public @Nullable RegionSummary prefetchRegion(@NotNull String world, int regionX, int regionZ) {
+		int worldId = chunkKeys.getWorldId(world);
+		long[] region;
+		try {
+			region = adapter.getRegion(ChunkKeys.packRegionIndex(worldId, regionX, regionZ, 0));
+		} catch (Exception e) {
+			plugin.getLogger().log(Level.WARNING, "Exception prefetching chunk flags", e);
+			return null;
+		}
+
+		long regionKey = ChunkKeys.packRegionIndex(worldId, regionX, regionZ, 0);
+		while (true) {
+			SummaryOverlay overlay = summaries.computeIfAbsent(regionKey, key -> new SummaryOverlay());
+			// Hold the summary while reading so that concurrent writes are either read or included afterwards.
+			synchronized (overlay) {
+				if (overlay.isDiscarded()) {
+					// Overlay was discarded concurrently, retry with a new overlay.
+					continue;
+				}
+				for (int index = 0; index < region.length; ++index) {
+					long chunkKey = ChunkKeys.packRegionIndex(worldId, regionX, regionZ, index);
+					if (!flagCache.putIfAbsent(chunkKey, new FlagData(chunkKey, region[index]))) {
+						FlagData cached = flagCache.getIfPresent(chunkKey);
+						if (cached != null) {
+							region[index] = cached.getLastVisit();
+						}
+					}
+				}
+				RegionSummary summary = RegionSummary.of(region);
+				overlay.reset(summary);
+				return summary;
+			}
+		}
+	}
+
+	/**
+	 * Gets a summary of the flags of all chunks in a region without loading individual flags.
+	 *
+	 * <p>The summary is conservative: the minimum visit time may be earlier than that of any current flag, but is
+	 * never later.
+	 *
+	 * <p>If the database does not store summaries, the region's flags are prefetched instead, as summarizing them
+	 * requires reading the whole region anyway.
+	 *
+	 * @param world the world name
+	 * @param regionX the region X coordinate
+	 * @param regionZ the region Z coordinate
+	 * @return the region summary
+	 */
+	public @NotNull RegionSummary getRegionSummary(@NotNull String world, int regionX, int regionZ) {
+		long regionKey = ChunkKeys.packRegionIndex(chunkKeys.getWorldId(world), regionX, regionZ, 0);
+		SummaryOverlay overlay = summaries.get(regionKey);
+		if (overlay != null && overlay.isComplete()) {
+			return overlay.get();
+		}
+
+		if (!adapter.hasStoredSummaries()) {
+			RegionSummary summary = prefetchRegion(world, regionX, regionZ);
+			return summary == null ? RegionSummary.EMPTY : summary;
+		}
+
+		RegionSummary persisted;
+		try {
+			persisted = adapter.getSummary(regionKey);
+		} catch (Exception e) {
+			plugin.getLogger().log(Level.WARNING, "Exception fetching region summary", e);
+			return RegionSummary.EMPTY;
+		}
+
+		// Include unsaved changes.
+		overlay = summaries.get(regionKey);
+		return overlay == null ? persisted : persisted.merge(overlay.get());
+	}
+
+	/**
+	 * Gets whether region summaries are stored. If not, getting a summary prefetches the region's flags.
+	 *
+	 * @return true if region summaries are stored
+	 * @see #getRegionSummary(String, int, int)
+	 */
+	public boolean hasStoredSummaries() {
+		return adapter.hasStoredSummaries();
+	}
+
+	/**
+	 * Gets the index of times at which regions may next contain chunks eligible for deletion.
+	 *
+	 * @return the region index
+	 */
+	public @NotNull RegionIndex getRegionIndex() {
+		return adapter.getRegionIndex();
+	}
+
+	/**
+	 * Gets the cache of results of checking regions against protection hooks.
+	 *
+	 * @return the protection cache
+	 */
+	public @NotNull ProtectionCache getProtectionCache() {
+		return adapter.getProtectionCache();
 	}
 
 	/**
 	 * Force a save of all flags and close the connection.
 	 */
 	void shutdown() {
+		// Finish writing queued values before writing the remainder of the cache.
+		flagCache.close();
 		flagCache.expireAll();
+		if (loadExecutor != null) {
+			loadExecutor.shutdown();
+		}
 		adapter.close();
 	}
 
@@ -281,6 +562,24 @@ public class ChunkFlagger {
 		return flagCache.getCached();
 	}
 
+	/**
+	 * Gets the number of cached entries that have not been saved. Requires a pass over the entire cache.
+	 *
+	 * @return the number of unsaved entries
+	 */
+	public int getDirty() {
+		return flagCache.count(FlagData::isDirty);
+	}
+
+	/**
+	 * Gets the number of entries currently being loaded into the flag cache.
+	 *
+	 * @return the number of pending loads
+	 */
+	public int getLoading() {
+		return flagCache.getLoading();
+	}
+
 	/**
 	 * Gets the number of entries queued to be removed from the flag cache.
 	 *
@@ -290,6 +589,71 @@ public class ChunkFlagger {
 		return flagCache.getQueued();
 	}
 
+	/**
+	 * Gets the largest number of entries that have been queued to be removed from the flag cache at once.
+	 *
+	 * @return the peak flag cache deletion queue size
+	 */
+	public int getPeakQueued() {
+		return flagCache.getPeakQueued();
+	}
+
+	/**
+	 * Gets the number of times loading flags waited for queued saves to complete.
+	 *
+	 * @return the number of waits
+	 */
+	public long getBackPressureCount() {
+		return flagCache.getBackPressureCount();
+	}
+
+	/**
+	 * Gets the total time loading flags has spent waiting for queued saves to complete.
+	 *
+	 * @return the total wait in milliseconds
+	 */
+	public long getBackPressureMillis() {
+		return flagCache.getBackPressureMillis();
+	}
+
+	/**
+	 * Gets the fraction of flag requests that were served from the cache.
+	 *
+	 * @return the cache hit rate, or 0 if no flags have been requested
+	 */
+	public double getHitRate() {
+		long hits = flagCache.getHitCount();
+		long requests = hits + flagCache.getMissCount();
+		return requests == 0 ? 0 : (double) hits / requests;
+	}
+
+	/**
+	 * Gets the number of flag requests that were served from the cache.
+	 *
+	 * @return the number of cache hits
+	 */
+	public long getHitCount() {
+		return flagCache.getHitCount();
+	}
+
+	/**
+	 * Gets the number of flag requests that were not served from the cache.
+	 *
+	 * @return the number of cache misses
+	 */
+	public long getMissCount() {
+		return flagCache.getMissCount();
+	}
+
+	/**
+	 * Gets the number of flags removed from the cache due to exceeding the maximum size.
+	 *
+	 * @return the number of evictions
+	 */
+	public long getEvictionCount() {
+		return flagCache.getEvictionCount();
+	}
+
 	/**
 	 * Gets a {@link CompletableFuture} providing a chunk's {@link FlagData} from the database.
 	 *
@@ -299,7 +663,7 @@ public class ChunkFlagger {
 	 * @return a CompletableFuture supplying a FlagData
 	 */
 	public CompletableFuture<FlagData> getChunkFlag(@NotNull World world, int chunkX, int chunkZ) {
-		return this.flagCache.get(getFlagDbId(world.getName(), chunkX, chunkZ)).thenApply(flagData -> {
+		return this.flagCache.get(chunkKeys.getKey(world.getName(), chunkX, chunkZ)).thenApply(flagData -> {
 			// Ensure changing config value allows deleting fresh chunks.
 			if (flagData.getLastVisit() == Long.MAX_VALUE && plugin.config().isDeleteFreshChunks(world)) {
 				flagData.setLastVisit(Config.FLAG_DEFAULT);
@@ -308,6 +672,38 @@ public class ChunkFlagger {
 		});
 	}
 
+	/**
+	 * Gets the packed key of a chunk for use with {@link #getChunkFlags(long[])} and {@link #flagChunks(long[], long)}.
+	 *
+	 * @param world the world name
+	 * @param chunkX the chunk X coordinate
+	 * @param chunkZ the chunk Z coordinate
+	 * @return the chunk key
+	 */
+	public long getChunkKey(@NotNull String world, int chunkX, int chunkZ) {
+		return chunkKeys.getKey(world, chunkX, chunkZ);
+	}
+
+	/**
+	 * Gets a {@link CompletableFuture} providing the {@link FlagData} of many chunks. Values that are not cached are
+	 * loaded from the database together.
+	 *
+	 * @param keys the chunk keys
+	 * @return a CompletableFuture supplying the FlagData in the order of the keys
+	 */
+	public @NotNull CompletableFuture<List<FlagData>> getChunkFlags(long @NotNull [] keys) {
+		return this.flagCache.getAll(keys).thenApply(flags -> {
+			for (FlagData flagData : flags) {
+				// Ensure changing config value allows deleting fresh chunks.
+				if (flagData.getLastVisit() == Long.MAX_VALUE
+						&& plugin.config().isDeleteFreshChunks(chunkKeys.getWorldName(ChunkKeys.getWorldId(flagData.getChunkKey())))) {
+					flagData.setLastVisit(Config.FLAG_DEFAULT);
+				}
+			}
+			return flags;
+		});
+	}
+
 	/**
 	 * Gets a {@link CompletableFuture} providing a chunk's {@link FlagData} as of last delete from the database.
 	 *
@@ -317,20 +713,59 @@ public class ChunkFlagger {
 	 * @return a {@link CompletableFuture<FlagData>}
 	 */
 	public @NotNull CompletableFuture<FlagData> getChunkFlagOnDelete(@NotNull World world, int chunkX, int chunkZ) {
-		return this.flagCache.get(getFlagDbId(world.getName(), chunkX, chunkZ) + "_old");
+		return this.flagCache.get(ChunkKeys.toOld(chunkKeys.getKey(world.getName(), chunkX, chunkZ)));
 	}
 
-	 /**
-	 * Gets a unique identifier for a chunk for use in the database.
+	/**
+	 * The summary of timestamps written to a region in the cache.
 	 *
-	 * @param worldName the world name
-	 * @param chunkX the chunk X coordinate
-	 * @param chunkZ the chunk Z coordinate
-	 * @return the ID of the chunk for database use
+	 * <p>Until the region's flags are all loaded at once, only values written since startup are known and the summary
+	 * must be combined with the stored summary.
+	 *
+	 * <p>The overlay tracks which chunks have written timestamps that are not yet stored. Once none remain, the overlay
+	 * is discarded and must not be modified further.
 	 */
-	@Contract(pure = true)
-	private @NotNull String getFlagDbId(@NotNull String worldName, int chunkX, int chunkZ) {
-		return worldName + "_" + chunkX + '_' + chunkZ;
+	private static final class SummaryOverlay {
+
+		private @NotNull RegionSummary summary = new RegionSummary(Long.MAX_VALUE, Config.FLAG_DEFAULT, 0, 0);
+		private final @NotNull BitSet unsaved = new BitSet(1 << (2 * ChunkKeys.REGION_BITS));
+		private boolean complete = false;
+		private boolean discarded = false;
+
+		synchronized boolean include(int index, long time) {
+			if (discarded) {
+				return false;
+			}
+			summary = summary.with(time);
+			unsaved.set(index);
+			return true;
+		}
+
+		synchronized boolean release(int index) {
+			unsaved.clear(index);
+			if (unsaved.isEmpty()) {
+				discarded = true;
+			}
+			return discarded;
+		}
+
+		synchronized boolean isDiscarded() {
+			return discarded;
+		}
+
+		synchronized void reset(@NotNull RegionSummary summary) {
+			this.summary = summary;
+			this.complete = true;
+		}
+
+		synchronized @NotNull RegionSummary get() {
+			return summary;
+		}
+
+		synchronized boolean isComplete() {
+			return complete;
+		}
+
 	}
 
 	/**
@@ -338,28 +773,28 @@ public class ChunkFlagger {
 	 */
 	public static class FlagData {
 
-		private final @NotNull String chunkId;
+		private final long chunkKey;
 		private final @NotNull AtomicLong lastVisit;
 		private final @NotNull AtomicBoolean dirty;
 
-		private FlagData(@NotNull String chunkId, long lastVisit) {
-			this(chunkId, lastVisit, false);
+		private FlagData(long chunkKey, long lastVisit) {
+			this(chunkKey, lastVisit, false);
 		}
 
-		private FlagData(@NotNull String chunkId, long lastVisit, boolean dirty) {
-			this.chunkId = chunkId;
+		private FlagData(long chunkKey, long lastVisit, boolean dirty) {
+			this.chunkKey = chunkKey;
 			this.lastVisit = new AtomicLong(lastVisit);
 			this.dirty = new AtomicBoolean(dirty);
 		}
 
 		/**
-		 * Gets the chunk's database identifier.
+		 * Gets the chunk's packed key.
 		 *
-		 * @return the chunk's database identifier
+		 * @see ChunkKeys
+		 * @return the chunk's key
 		 */
-		@NotNull
-		public String getChunkId() {
-			return chunkId;
+		public long getChunkKey() {
+			return chunkKey;
 		}
 
 		/**
@@ -424,7 +859,7 @@ public class ChunkFlagger {
 
 		@Override
 		public int hashCode() {
-			return Objects.hash(chunkId, lastVisit, dirty);
+			return Objects.hash(chunkKey, lastVisit, dirty);
 		}
 
 		@Override
@@ -432,7 +867,7 @@ public class ChunkFlagger {
 			if (this == obj) return true;
 			if (obj == null || getClass() != obj.getClass()) return false;
 			FlagData other = (FlagData) obj;
-			return lastVisit.get() == other.lastVisit.get() && dirty.get() == other.dirty.get() && chunkId.equals(other.chunkId);
+			return lastVisit.get() == other.lastVisit.get() && dirty.get() == other.dirty.get() && chunkKey == other.chunkKey;
 		}
 	}
 
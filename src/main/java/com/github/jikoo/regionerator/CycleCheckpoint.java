@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator;
+
+import com.github.jikoo.regionerator.util.collection.LongHashSet;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The progress of a deletion cycle, saved periodically so that a cycle interrupted by a restart can be resumed.
+ *
+ * <p>A checkpoint consists of the time the cycle started, the seed used to order the world's regions, and the
+ * coordinates of the regions that have already been checked.
+ */
+class CycleCheckpoint {
+
+	private static final int FORMAT_VERSION = 1;
+	private static final long SAVE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+	private final @NotNull Path file;
+	private final long cycleStart;
+	private final long seed;
+	private final @NotNull LongHashSet checked;
+	private final boolean resumed;
+	private long nextSave;
+
+	private CycleCheckpoint(@NotNull Path file, long cycleStart, long seed, @NotNull LongHashSet checked, boolean resumed) {
+		this.file = file;
+		this.cycleStart = cycleStart;
+		this.seed = seed;
+		this.checked = checked;
+		this.resumed = resumed;
+		this.nextSave = System.currentTimeMillis() + SAVE_INTERVAL_MILLIS;
+	}
+
+	/**
+	 * Loads an existing checkpoint or starts a new cycle if there is no checkpoint to resume.
+	 *
+	 * @param file the checkpoint file
+	 * @return the checkpoint
+	 * @throws IOException if an existing checkpoint cannot be read
+	 */
+	static @NotNull CycleCheckpoint load(@NotNull Path file) throws IOException {
+		if (!Files.isRegularFile(file)) {
+			return start(file);
+		}
+
+		try (DataInputStream stream = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (stream.readInt() != FORMAT_VERSION) {
+				throw new IOException("Unknown checkpoint format in " + file);
+			}
+			long cycleStart = stream.readLong();
+			long seed = stream.readLong();
+			int count = stream.readInt();
+			LongHashSet checked = new LongHashSet(count);
+			for (int i = 0; i < count; ++i) {
+				checked.add(stream.readLong());
+			}
+			return new CycleCheckpoint(file, cycleStart, seed, checked, true);
+		}
+	}
+
+	/**
+	 * Starts a new cycle, ignoring any existing checkpoint.
+	 *
+	 * @param file the checkpoint file
+	 * @return the checkpoint
+	 */
+	static @NotNull CycleCheckpoint start(@NotNull Path file) {
+		return new CycleCheckpoint(file, System.currentTimeMillis(), ThreadLocalRandom.current().nextLong(),
+				new LongHashSet(), false);
+	}
+
+	/**
+	 * Gets the time the cycle started.
+	 *
+	 * @return the cycle start timestamp
+	 */
+	long getCycleStart() {
+		return cycleStart;
+	}
+
+	/**
+	 * Gets the seed used to order the world's regions.
+	 *
+	 * @return the seed
+	 */
+	long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Gets whether the checkpoint was loaded from an interrupted cycle.
+	 *
+	 * @return true if the cycle is resumed
+	 */
+	boolean isResumed() {
+		return resumed;
+	}
+
+	/**
+	 * Gets the number of regions checked during the cycle.
+	 *
+	 * @return the number of checked regions
+	 */
+	synchronized int getChecked() {
+		return checked.size();
+	}
+
+	/**
+	 * Gets whether a region has been checked during the cycle.
+	 *
+	 * @param regionX the region X coordinate
+	 * @param regionZ the region Z coordinate
+	 * @return true if the region has been checked
+	 */
+	synchronized boolean isChecked(int regionX, int regionZ) {
+		return checked.contains(pack(regionX, regionZ));
+	}
+
+	/**
+	 * Marks a region checked, saving the checkpoint if enough time has passed since the last save.
+	 *
+	 * @param regionX the region X coordinate
+	 * @param regionZ the region Z coordinate
+	 * @throws IOException if the checkpoint cannot be saved
+	 */
+	void setChecked(int regionX, int regionZ) throws IOException {
+		long now = System.currentTimeMillis();
+		synchronized (this) {
+			checked.add(pack(regionX, regionZ));
+			if (now < nextSave) {
+				return;
+			}
+			nextSave = now + SAVE_INTERVAL_MILLIS;
+		}
+		save();
+	}
+
+	/**
+	 * Writes the checkpoint. The file is replaced atomically where supported.
+	 *
+	 * @throws IOException if the checkpoint cannot be saved
+	 */
+	synchronized void save() throws IOException {
+		long[] regions = checked.toArray();
+
+		Files.createDirectories(file.getParent());
+		Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+			stream.writeInt(FORMAT_VERSION);
+			stream.writeLong(cycleStart);
+			stream.writeLong(seed);
+			stream.writeInt(regions.length);
+			for (long region : regions) {
+				stream.writeLong(region);
+			}
+		}
+
+		try {
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Deletes the checkpoint after the cycle completes.
+	 *
+	 * @throws IOException if the checkpoint cannot be deleted
+	 */
+	void delete() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	private static long pack(int regionX, int regionZ) {
+		// World IDs are not stable across restarts, so regions are stored by coordinates only.
+		return (long) regionX << Integer.SIZE | regionZ & 0xFFFF_FFFFL;
+	}
+
+}
@@ -10,8 +10,17 @@
 
 package com.github.jikoo.regionerator;
 
+import com.github.jikoo.planarwrappers.util.Coords;
+import com.github.jikoo.regionerator.database.ProtectionCache;
+import com.github.jikoo.regionerator.database.RegionSummary;
+import com.github.jikoo.regionerator.hooks.Hook;
+import com.github.jikoo.regionerator.util.ChunkKeys;
+import com.github.jikoo.regionerator.util.yaml.Config;
+import com.github.jikoo.regionerator.util.collection.ConcurrentLongObjectMap;
+import com.github.jikoo.regionerator.util.collection.LongHashSet;
 import com.github.jikoo.regionerator.world.ChunkInfo;
 import com.github.jikoo.regionerator.world.RegionInfo;
+import com.github.jikoo.regionerator.world.RegionOrder;
 import com.github.jikoo.regionerator.world.WorldInfo;
 import org.bukkit.World;
 import org.bukkit.plugin.IllegalPluginAccessException;
@@ -20,12 +29,26 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
@@ -46,8 +69,11 @@ public class DeletionRunnable extends BukkitRunnable {
 	private final AtomicInteger heavyChecks = new AtomicInteger();
 	private final AtomicInteger regionsDeleted = new AtomicInteger();
 	private final AtomicInteger chunksDeleted = new AtomicInteger();
+	private final ConcurrentLongObjectMap<RegionInfo> activeRegions = new ConcurrentLongObjectMap<>();
+	private final AtomicBoolean paused = new AtomicBoolean();
 	private final String worldName;
 	private @Nullable WorldInfo world;
+	private @Nullable CycleCheckpoint checkpoint;
 	private long nextLogSecond = Instant.now().getEpochSecond() + 5;
 	private int nextLogCount = 20;
 
@@ -64,7 +90,11 @@ public class DeletionRunnable extends BukkitRunnable {
 			throw new IllegalStateException("Cannot reuse deletion runnable!");
 		}
 
-		Future<Stream<RegionInfo>> regionsFuture = plugin.getServer().getScheduler().callSyncMethod(plugin, world::getRegions);
+		CycleCheckpoint checkpoint = loadCheckpoint();
+		this.checkpoint = checkpoint;
+		WorldInfo worldInfo = world;
+		Future<Stream<RegionInfo>> regionsFuture = plugin.getServer().getScheduler().callSyncMethod(plugin,
+				() -> worldInfo.getRegions(checkpoint.getSeed()));
 
 		Stream<RegionInfo> regions = null;
 		try {
@@ -76,7 +106,53 @@ public class DeletionRunnable extends BukkitRunnable {
 		}
 
 		if (regions != null) {
-			regions.forEach(this::handleRegion);
+			// Skip regions already checked before the cycle was interrupted.
+			regions = regions.filter(region -> !checkpoint.isChecked(getRegionX(region), getRegionZ(region)));
+
+			// Skip regions that cannot contain chunks eligible for deletion yet.
+			LongHashSet ineligible = getIneligibleRegions();
+			regions = regions.filter(region -> !ineligible.contains(getRegionKey(region)));
+
+			if (plugin.config().getRegionOrder() == RegionOrder.STALENESS) {
+				regions = orderByStaleness(regions);
+			}
+
+			int threads = plugin.config().getDeletionThreads();
+			if (threads > 1) {
+				handleRegions(regions, threads);
+			} else {
+				regions.forEach(region -> {
+					if (isCancelled()) {
+						return;
+					}
+					// Check phaser for paused state.
+					phaser.arriveAndAwaitAdvance();
+					handleRegion(region);
+				});
+			}
+		}
+
+		try {
+			plugin.getFlagger().getRegionIndex().flush();
+		} catch (SQLException e) {
+			plugin.getLogger().log(Level.WARNING, "Unable to save region index!", e);
+		}
+
+		try {
+			plugin.getFlagger().getProtectionCache().flush();
+		} catch (SQLException e) {
+			plugin.getLogger().log(Level.WARNING, "Unable to save protection cache!", e);
+		}
+
+		try {
+			if (regions == null || isCancelled()) {
+				// Cycle was interrupted, save progress to resume.
+				checkpoint.save();
+			} else {
+				checkpoint.delete();
+			}
+		} catch (IOException e) {
+			plugin.getLogger().log(Level.WARNING, "Unable to save deletion progress!", e);
 		}
 
 		// Release world reference.
@@ -107,28 +183,247 @@ public class DeletionRunnable extends BukkitRunnable {
 		return super.isCancelled() || !plugin.isEnabled();
 	}
 
+	private @NotNull CycleCheckpoint loadCheckpoint() {
+		Path file = plugin.getDataFolder().toPath().resolve("checkpoints").resolve(worldName + ".dat");
+		try {
+			CycleCheckpoint loaded = CycleCheckpoint.load(file);
+			if (loaded.isResumed()) {
+				plugin.getLogger().info(String.format("Resuming deletion cycle for %s started %s, %s regions already checked.",
+						worldName, Instant.ofEpochMilli(loaded.getCycleStart()), loaded.getChecked()));
+			}
+			return loaded;
+		} catch (IOException e) {
+			plugin.getLogger().log(Level.WARNING, "Unable to load deletion progress for " + worldName + "! Starting a new cycle.", e);
+			return CycleCheckpoint.start(file);
+		}
+	}
+
+	private void setChecked(@NotNull RegionInfo region) {
+		CycleCheckpoint checkpoint = this.checkpoint;
+		if (checkpoint == null) {
+			return;
+		}
+		try {
+			checkpoint.setChecked(getRegionX(region), getRegionZ(region));
+		} catch (IOException e) {
+			plugin.getLogger().log(Level.WARNING, "Unable to save deletion progress!", e);
+		}
+	}
+
+	private static int getRegionX(@NotNull RegionInfo region) {
+		return Coords.chunkToRegion(region.getLowestChunkX());
+	}
+
+	private static int getRegionZ(@NotNull RegionInfo region) {
+		return Coords.chunkToRegion(region.getLowestChunkZ());
+	}
+
+	private @NotNull LongHashSet getIneligibleRegions() {
+		try {
+			return plugin.getFlagger().getRegionIndex().getIneligible(worldName, System.currentTimeMillis(),
+					plugin.config().getFlagDuration(worldName), plugin.config().isDeleteFreshChunks(worldName));
+		} catch (SQLException e) {
+			plugin.getLogger().log(Level.WARNING, "Unable to read region index! Checking all regions.", e);
+			return new LongHashSet();
+		}
+	}
+
+	/**
+	 * Orders regions so that the regions most likely to be deleted entirely are checked first.
+	 *
+	 * <p>Regions that cannot be deleted entirely, i.e. ones containing eternally flagged chunks or protected fresh
+	 * chunks, are checked last. Other regions are ordered by the estimated time at which all of their chunks become
+	 * eligible for deletion, based on the region's header and stored visit data. Visit data is only used if region
+	 * summaries are stored, as otherwise every region would be read before checking the first. Regions are ranked using
+	 * the configured number of worker threads. If ranking fails, regions are returned in their original order.
+	 *
+	 * @param regions the regions to order
+	 * @return the ordered regions
+	 */
+	private @NotNull Stream<RegionInfo> orderByStaleness(@NotNull Stream<RegionInfo> regions) {
+		long duration = plugin.config().getFlagDuration(worldName);
+		boolean deleteFresh = plugin.config().isDeleteFreshChunks(worldName);
+		boolean summarize = plugin.getFlagger().hasStoredSummaries();
+
+		// Regions do not allocate their buffers until read, so holding every region of the world is cheap.
+		List<RegionInfo> unordered = regions.collect(Collectors.toCollection(ArrayList::new));
+		ForkJoinPool rankers = new ForkJoinPool(Math.max(1, plugin.config().getDeletionThreads()));
+		List<RankedRegion> ranked;
+		try {
+			ranked = rankers.submit(() -> unordered.parallelStream()
+					.filter(region -> !isCancelled())
+					.map(region -> rankRegion(region, duration, deleteFresh, summarize))
+					.collect(Collectors.toCollection(ArrayList::new))).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return Stream.empty();
+		} catch (ExecutionException e) {
+			// The cycle must still complete so that its progress is saved and the next cycle is scheduled.
+			plugin.getLogger().log(Level.WARNING, "Unable to order regions in " + worldName + " by staleness", e.getCause());
+			return unordered.stream();
+		} finally {
+			rankers.shutdown();
+		}
+
+		ranked.sort(Comparator.comparing(RankedRegion::retained).thenComparingLong(RankedRegion::eligible));
+		plugin.debug(DebugLevel.LOW, () -> String.format("Ordered %s regions in %s by staleness", ranked.size(), worldName));
+
+		return ranked.stream().map(RankedRegion::region);
+	}
+
+	private @NotNull RankedRegion rankRegion(@NotNull RegionInfo region, long duration, boolean deleteFresh,
+			boolean summarize) {
+		long lastModified;
+		try {
+			lastModified = region.getLastModified();
+		} catch (IOException e) {
+			plugin.debug(DebugLevel.MEDIUM, () -> String.format("Unable to estimate staleness of %s: %s", region.getIdentifier(), e.getMessage()));
+			// Unreadable regions will likely fail their check too, check them late.
+			lastModified = System.currentTimeMillis();
+		}
+
+		if (!summarize) {
+			return new RankedRegion(region, false, lastModified + duration);
+		}
+
+		RegionSummary summary = plugin.getFlagger().getRegionSummary(worldName, getRegionX(region), getRegionZ(region));
+		boolean retained = summary.eternal() > 0 || summary.maxVisit() >= Config.FLAG_OH_NO
+				|| !deleteFresh && summary.generated() > 0;
+		long eligible = Math.max(lastModified + duration, summary.maxVisit());
+
+		return new RankedRegion(region, retained, eligible);
+	}
+
+	private record RankedRegion(@NotNull RegionInfo region, boolean retained, long eligible) {}
+
+	private long getRegionKey(@NotNull RegionInfo region) {
+		return ChunkKeys.getRegionKey(plugin.getFlagger().getChunkKey(worldName, region.getLowestChunkX(), region.getLowestChunkZ()));
+	}
+
+	/**
+	 * Checks regions concurrently using a bounded pool of worker threads.
+	 *
+	 * <p>Pausing is checked before each region is started, so at most one region per thread is in progress while
+	 * paused. Hooks that must be queried on the main thread are safe to use as the main thread never waits on workers.
+	 *
+	 * @param regions the regions to check
+	 * @param threads the number of worker threads
+	 */
+	private void handleRegions(@NotNull Stream<RegionInfo> regions, int threads) {
+		AtomicInteger threadCount = new AtomicInteger();
+		ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "Regionerator-Deletion-" + worldName + "-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		// Only start a region when a thread is free so that regions are not read far ahead of being checked.
+		Semaphore available = new Semaphore(threads);
+
+		try {
+			Iterator<RegionInfo> iterator = regions.iterator();
+			while (iterator.hasNext() && !isCancelled()) {
+				RegionInfo region = iterator.next();
+
+				// Check phaser for paused state.
+				phaser.arriveAndAwaitAdvance();
+
+				available.acquire();
+				workers.execute(() -> {
+					try {
+						handleRegion(region);
+					} catch (RuntimeException e) {
+						plugin.getLogger().log(Level.WARNING, "Unable to check region " + region.getIdentifier(), e);
+					} finally {
+						available.release();
+					}
+				});
+			}
+
+			// Wait for in-progress regions to complete.
+			available.acquire(threads);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			workers.shutdown();
+		}
+	}
+
 	private void handleRegion(@NotNull RegionInfo region) {
 		if (isCancelled()) {
 			return;
 		}
 
-		// Check phaser for paused state.
-		phaser.arriveAndAwaitAdvance();
+		// Never check a region more than once at a time.
+		long regionKey = getRegionKey(region);
+		if (activeRegions.putIfAbsent(regionKey, region) != null) {
+			plugin.debug(DebugLevel.HIGH, () -> "Skipping region - already being checked.");
+			return;
+		}
+
+		try {
+			checkRegion(region);
+		} finally {
+			activeRegions.remove(regionKey, region);
+		}
+
+		// Regions interrupted by cancellation must be checked again when resuming.
+		if (!isCancelled()) {
+			setChecked(region);
+		}
+	}
 
+	private void checkRegion(@NotNull RegionInfo region) {
 		regionCount.incrementAndGet();
 		plugin.debug(DebugLevel.HIGH, () -> String.format("Checking %s: %s (%s)",
 				worldName, region.getIdentifier(), regionCount.get()));
 
+		int regionX = getRegionX(region);
+		int regionZ = getRegionZ(region);
+
+		// If every chunk is visited, no chunk can be deleted. Skip without reading the region or checking chunks.
+		RegionSummary summary = plugin.getFlagger().getRegionSummary(worldName, regionX, regionZ);
+		if (summary.isVisited(System.currentTimeMillis(), plugin.config().isDeleteFreshChunks(worldName))) {
+			plugin.debug(DebugLevel.HIGH, () -> "Skipping region - all chunks are visited.");
+			// No chunk can be eligible before the earliest visit expires.
+			indexRegion(region, summary.minVisit());
+			return;
+		}
+
 		// Read the region's data from disk.
 		if (!readRegion(region)) {
 			return;
 		}
 
+		// Find chunks old enough to be eligible using only the region header before querying flags or hooks.
+		BitSet candidates = getCandidateChunks(region, summary);
+		if (candidates.isEmpty()) {
+			plugin.debug(DebugLevel.HIGH, () -> "Skipping region - all chunks are recently modified.");
+			indexRegionModified(region);
+			recover();
+			return;
+		}
+
+		// Load all chunk flags for the region at once rather than querying per chunk.
+		// Without stored summaries, the flags were already loaded to summarize the region.
+		if (plugin.getFlagger().hasStoredSummaries()) {
+			plugin.getFlagger().prefetchRegion(worldName, regionX, regionZ);
+		}
+
+		// Use results of checking hooks cached by previous cycles.
+		LoadedResults cachedResults = loadHookResults(region);
+
+		// Check hooks requiring the main thread for all remaining chunks at once rather than per chunk.
+		checkSyncHooks(region, candidates);
+
 		// Get a list of eligible chunks.
-		List<ChunkInfo> chunks = getEligibleChunks(region);
+		List<ChunkInfo> chunks = getEligibleChunks(region, candidates);
+
+		// Cache new results of checking hooks for future cycles.
+		saveHookResults(region, cachedResults);
 
 		// If there are no eligible chunks, do post-region recovery and move on.
 		if (chunks == null) {
+			indexRegion(region);
 			recover();
 			return;
 		}
@@ -137,8 +432,17 @@ public class DeletionRunnable extends BukkitRunnable {
 		chunks.forEach(ChunkInfo::setOrphaned);
 
 		// Write modified region to disk.
-		writeRegion(region, chunks);
+		if (writeRegion(region, chunks)) {
+			indexRegion(region);
+		}
+
+		logProgress();
 
+		// Do post-region recovery.
+		recover();
+	}
+
+	private synchronized void logProgress() {
 		// If 5 seconds have elapsed since last log and 20 or more regions have been checked, log run stats.
 		long now = Instant.now().getEpochSecond();
 		int regionsChecked = regionCount.get();
@@ -147,9 +451,6 @@ public class DeletionRunnable extends BukkitRunnable {
 			nextLogCount = regionsChecked + 20;
 			plugin.debug(DebugLevel.LOW, this::getRunStats);
 		}
-
-		// Do post-region recovery.
-		recover();
 	}
 
 	private boolean readRegion(@NotNull RegionInfo region) {
@@ -165,10 +466,133 @@ public class DeletionRunnable extends BukkitRunnable {
 		return true;
 	}
 
-	private @Nullable List<ChunkInfo> getEligibleChunks(@NotNull RegionInfo region) {
+	private @NotNull BitSet getCandidateChunks(@NotNull RegionInfo region, @NotNull RegionSummary summary) {
+		if (!plugin.config().isDeleteFreshChunks(worldName) && summary.generated() > 0) {
+			// Fresh chunks are eligible regardless of modification. Which chunks are fresh is only known from flags.
+			BitSet candidates = new BitSet(region.getChunksPerRegion());
+			candidates.set(0, region.getChunksPerRegion());
+			return candidates;
+		}
+
+		return region.getCandidateChunks(System.currentTimeMillis() - plugin.config().getFlagDuration(worldName));
+	}
+
+	private void checkSyncHooks(@NotNull RegionInfo region, @NotNull BitSet candidates) {
+		List<Hook> syncHooks = plugin.getProtectionHooks().stream()
+				.filter(hook -> !hook.isAsyncCapable() && !plugin.getProtectionIndex().isIndexed(hook))
+				.toList();
+		if (syncHooks.isEmpty()) {
+			return;
+		}
+
+		// Only chunks that are not visited or recently modified are checked against hooks.
+		long now = System.currentTimeMillis();
+		long duration = plugin.config().getFlagDuration(worldName);
+		boolean deleteFresh = plugin.config().isDeleteFreshChunks(worldName);
+		long flagGenerated = plugin.config().getFlagGenerated(worldName);
+		BitSet chunks = new BitSet(region.getChunksPerRegion());
+		region.getChunks()
+				.filter(chunk -> candidates.get(chunk.getRegionIndex()) && !chunk.isOrphaned())
+				.forEach(chunk -> {
+					long lastVisit = chunk.getLastVisit();
+					boolean isFresh = !deleteFresh && lastVisit == flagGenerated;
+					if (isFresh || now > lastVisit && now - duration > chunk.getLastModified()) {
+						chunks.set(chunk.getRegionIndex());
+					}
+				});
+
+		if (chunks.isEmpty() || isCancelled()) {
+			return;
+		}
+
+		SyncHookBatch batch = new SyncHookBatch(region, plugin.getHookMetrics(), syncHooks, chunks);
+		try {
+			plugin.getSyncHookScheduler().submit(batch);
+		} catch (IllegalPluginAccessException e) {
+			// Plugin disabling, chunks will not be deleted.
+			return;
+		}
+
+		while (true) {
+			try {
+				batch.getFuture().get(1, TimeUnit.SECONDS);
+				return;
+			} catch (TimeoutException e) {
+				if (isCancelled()) {
+					batch.cancel();
+					return;
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				batch.cancel();
+				return;
+			} catch (ExecutionException e) {
+				// Unchecked chunks fall back to checking hooks individually.
+				plugin.getLogger().log(Level.WARNING, "Unable to check protection hooks for region " + region.getIdentifier(), e.getCause());
+				return;
+			}
+		}
+	}
+
+	private @Nullable LoadedResults loadHookResults(@NotNull RegionInfo region) {
+		if (!plugin.config().isProtectionCacheEnabled()) {
+			return null;
+		}
+
+		ProtectionCache cache = plugin.getFlagger().getProtectionCache();
+		// Generation must be obtained first so that results invalidated while checking are not saved.
+		long generation = cache.getGeneration();
+		Map<String, ProtectionCache.CachedResult> cached;
+		try {
+			cached = cache.get(getRegionKey(region), System.currentTimeMillis());
+		} catch (SQLException e) {
+			plugin.getLogger().log(Level.WARNING, "Unable to load cached protections for region " + region.getIdentifier(), e);
+			cached = Map.of();
+		}
+
+		Map<Hook, ProtectionCache.CachedResult> results = new HashMap<>();
+		for (Hook hook : plugin.getProtectionHooks()) {
+			// Results from hooks that don't report changes could hide newly protected chunks.
+			if (!plugin.isChangeTracked(hook)) {
+				continue;
+			}
+			ProtectionCache.CachedResult result = cached.get(hook.getProtectionName());
+			if (result != null) {
+				region.setHookResult(hook, result.result());
+				results.put(hook, result);
+			}
+		}
+		return new LoadedResults(generation, results);
+	}
+
+	private void saveHookResults(@NotNull RegionInfo region, @Nullable LoadedResults loaded) {
+		if (loaded == null) {
+			return;
+		}
+
+		ProtectionCache cache = plugin.getFlagger().getProtectionCache();
+		long regionKey = getRegionKey(region);
+		long expires = System.currentTimeMillis() + plugin.config().getProtectionCacheMillis();
+		region.getHookResults().forEach((hook, result) -> {
+			if (!plugin.isChangeTracked(hook)) {
+				return;
+			}
+			ProtectionCache.CachedResult previous = loaded.results().get(hook);
+			if (previous == null) {
+				cache.set(regionKey, hook.getProtectionName(), result, expires, loaded.generation());
+			} else if (previous.result() != result) {
+				// Don't extend the lifetime of the previous result by adding newly checked chunks to it.
+				cache.set(regionKey, hook.getProtectionName(), result, previous.expires(), loaded.generation());
+			}
+		});
+	}
+
+	private record LoadedResults(long generation, @NotNull Map<Hook, ProtectionCache.CachedResult> results) {}
+
+	private @Nullable List<ChunkInfo> getEligibleChunks(@NotNull RegionInfo region, @NotNull BitSet candidates) {
 		// Collect potentially eligible chunks
 		List<ChunkInfo> chunks = region.getChunks()
-				.filter(this::isDeleteEligible)
+				.filter(chunk -> candidates.get(chunk.getRegionIndex()) && isDeleteEligible(chunk))
 				.collect(Collectors.toCollection(ArrayList::new));
 
 		if (chunks.size() != region.getChunksPerRegion()) {
@@ -215,11 +639,13 @@ public class DeletionRunnable extends BukkitRunnable {
 			return;
 		}
 
-		long recoveryTime = plugin.config().getDeletionRecoveryMillis();
-		if (recoveryTime > 0) {
+		// Recovery is shared by all workers in all worlds: each recovery reserves the next window.
+		long recoverUntil = plugin.getRecovery().reserveRecovery();
+		long sleep = recoverUntil - System.currentTimeMillis();
+		if (sleep > 0) {
 			try {
 				// Allow server to recover for configured time.
-				Thread.sleep(recoveryTime);
+				Thread.sleep(sleep);
 			} catch (InterruptedException ignored) {
 			}
 		}
@@ -290,11 +716,11 @@ public class DeletionRunnable extends BukkitRunnable {
 
 	}
 
-	private void writeRegion(@NotNull RegionInfo region, List<ChunkInfo> chunks) {
+	private boolean writeRegion(@NotNull RegionInfo region, List<ChunkInfo> chunks) {
 		try {
 			if (!region.write()) {
 				plugin.debug(DebugLevel.HIGH, () -> "Skipping region - in use by server.");
-				return;
+				return false;
 			}
 			chunks.forEach(chunk -> plugin.getFlagger().unflagChunk(chunk.getWorld().getName(), chunk.getChunkX(), chunk.getChunkZ()));
 			if (chunks.size() == region.getChunksPerRegion()) {
@@ -302,10 +728,67 @@ public class DeletionRunnable extends BukkitRunnable {
 			} else {
 				chunksDeleted.addAndGet(chunks.size());
 			}
+			return true;
 		} catch (IOException e) {
 			plugin.debug(() -> String.format(
 					"Caught an IOException attempting to populate chunk data: %s", e.getMessage()), e);
+			return false;
+		}
+	}
+
+	/**
+	 * Records the earliest time at which a checked region may contain a chunk eligible for deletion.
+	 *
+	 * @param region the region
+	 */
+	private void indexRegion(@NotNull RegionInfo region) {
+		if (isCancelled()) {
+			return;
+		}
+
+		long duration = plugin.config().getFlagDuration(worldName);
+		boolean deleteFresh = plugin.config().isDeleteFreshChunks(worldName);
+		long eligible = region.getChunks()
+				// Orphaned chunks are never eligible alone.
+				.filter(chunk -> !chunk.isOrphaned())
+				.mapToLong(chunk -> {
+					long lastVisit = chunk.getLastVisit();
+					if (!deleteFresh && lastVisit == Long.MAX_VALUE) {
+						// Fresh chunks are only deleted along with unvisited chunks.
+						return Long.MAX_VALUE;
+					}
+					return Math.max(lastVisit, chunk.getLastModified() + duration);
+				})
+				.min().orElse(Long.MAX_VALUE);
+		indexRegion(region, eligible);
+	}
+
+	private void indexRegionModified(@NotNull RegionInfo region) {
+		if (isCancelled()) {
+			return;
 		}
+
+		// Without flags, the modification times in the header are a lower bound for eligibility.
+		long duration = plugin.config().getFlagDuration(worldName);
+		long eligible = region.getChunks()
+				.filter(chunk -> !chunk.isOrphaned())
+				.mapToLong(chunk -> chunk.getLastModified() + duration)
+				.min().orElse(Long.MAX_VALUE);
+		indexRegion(region, eligible);
+	}
+
+	/**
+	 * Records the earliest time at which a region may contain a chunk eligible for deletion.
+	 *
+	 * @param region the region
+	 * @param eligible the earliest eligible time of the region's current chunks
+	 */
+	private void indexRegion(@NotNull RegionInfo region, long eligible) {
+		long duration = plugin.config().getFlagDuration(worldName);
+		// Chunks generated after now are flagged or modified no earlier than now, so cannot be eligible sooner.
+		eligible = Math.min(eligible, System.currentTimeMillis() + duration);
+		plugin.getFlagger().getRegionIndex().setEligible(getRegionKey(region), eligible, duration,
+				plugin.config().isDeleteFreshChunks(worldName));
 	}
 
 	public String getRunStats() {
@@ -324,4 +807,29 @@ public class DeletionRunnable extends BukkitRunnable {
 		return phaser;
 	}
 
+	/**
+	 * Gets whether deletion is paused for this world only.
+	 *
+	 * @return true if the world is paused
+	 */
+	public boolean isPaused() {
+		return paused.get();
+	}
+
+	/**
+	 * Pauses or resumes deletion for this world only. Pausing the whole plugin is tracked separately.
+	 *
+	 * @param paused whether the world is paused
+	 */
+	void setPaused(boolean paused) {
+		if (this.paused.getAndSet(paused) == paused) {
+			return;
+		}
+		if (paused) {
+			phaser.register();
+		} else {
+			phaser.arriveAndDeregister();
+		}
+	}
+
 }
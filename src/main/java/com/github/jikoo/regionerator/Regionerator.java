@@ -12,13 +12,21 @@ package com.github.jikoo.regionerator;
 
 import com.github.jikoo.regionerator.commands.RegioneratorExecutor;
 import com.github.jikoo.regionerator.hooks.Hook;
+import com.github.jikoo.regionerator.hooks.HookMetrics;
 import com.github.jikoo.regionerator.hooks.PluginHook;
+import com.github.jikoo.regionerator.hooks.ProtectedArea;
+import com.github.jikoo.regionerator.hooks.ProtectionIndex;
 import com.github.jikoo.regionerator.listeners.DebugListener;
 import com.github.jikoo.regionerator.listeners.FlaggingListener;
 import com.github.jikoo.regionerator.listeners.HookListener;
 import com.github.jikoo.regionerator.listeners.RescueListener;
 import com.github.jikoo.regionerator.listeners.WorldListener;
+import com.github.jikoo.regionerator.util.AdaptiveRecovery;
 import com.github.jikoo.regionerator.util.DeletionStartComparator;
+import com.github.jikoo.regionerator.util.metrics.Gauge;
+import com.github.jikoo.regionerator.util.metrics.MetricsFileWriter;
+import com.github.jikoo.regionerator.util.metrics.MetricsMBean;
+import com.github.jikoo.regionerator.util.metrics.MetricsRegistry;
 import com.github.jikoo.regionerator.util.yaml.Config;
 import com.github.jikoo.regionerator.util.yaml.MiscData;
 import org.bukkit.Bukkit;
@@ -26,12 +34,19 @@ import org.bukkit.World;
 import org.bukkit.command.PluginCommand;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.RegisteredListener;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import javax.management.JMException;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
 import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Collections;
 import java.util.Iterator;
@@ -54,9 +69,18 @@ public class Regionerator extends JavaPlugin {
 
 	private final Map<String, DeletionRunnable> deletionRunnables = new ConcurrentHashMap<>();
 	private final Set<Hook> protectionHooks = Collections.newSetFromMap(new ConcurrentHashMap<>());
+	private final Map<Hook, Listener> changeListeners = new ConcurrentHashMap<>();
 	private final WorldManager worldManager = new WorldManager(this);
 	private final AtomicBoolean paused = new AtomicBoolean();
+	private final Set<String> pausedWorlds = ConcurrentHashMap.newKeySet();
+	private final MetricsRegistry metrics = new MetricsRegistry();
+	private final HookMetrics hookMetrics = new HookMetrics(metrics);
+	private final SyncHookScheduler syncHookScheduler = new SyncHookScheduler(this);
 	private ChunkFlagger chunkFlagger;
+	private AdaptiveRecovery recovery;
+	private @Nullable BukkitTask recoveryTask;
+	private ProtectionIndex protectionIndex;
+	private @Nullable BukkitTask protectionIndexTask;
 	private Config config;
 	private MiscData miscData;
 	private FlaggingListener flagger;
@@ -85,6 +109,10 @@ public class Regionerator extends JavaPlugin {
 
 		chunkFlagger = new ChunkFlagger(this);
 		debugListener = new DebugListener(this);
+		recovery = new AdaptiveRecovery(config);
+		protectionIndex = new ProtectionIndex(this);
+
+		enableMetrics();
 
 		PluginCommand command = getCommand("regionerator");
 		RegioneratorExecutor executor = new RegioneratorExecutor(this, deletionRunnables);
@@ -136,6 +164,41 @@ public class Regionerator extends JavaPlugin {
 		}
 
 		protectionHooks.clear();
+
+		try {
+			MetricsMBean.unregister(getMetricsName());
+		} catch (JMException e) {
+			getLogger().log(Level.WARNING, "Unable to unregister metrics MBean", e);
+		}
+	}
+
+	private void enableMetrics() {
+		metrics.register("deletion.tick-millis", (Gauge) recovery::getTickMillis);
+		metrics.register("deletion.recovery-millis", (Gauge) recovery::getRecoveryMillis);
+
+		if (config.isMetricsJmxEnabled()) {
+			try {
+				MetricsMBean.register(metrics, getMetricsName());
+			} catch (JMException e) {
+				getLogger().log(Level.WARNING, "Unable to register metrics MBean", e);
+			}
+		}
+
+		long interval = config.getMetricsFileInterval();
+		if (interval > 0) {
+			MetricsFileWriter writer = new MetricsFileWriter(metrics, getDataFolder().toPath().resolve("metrics.txt"));
+			getServer().getScheduler().runTaskTimerAsynchronously(this, () -> {
+				try {
+					writer.write();
+				} catch (IOException e) {
+					getLogger().log(Level.WARNING, "Unable to write metrics file", e);
+				}
+			}, interval, interval);
+		}
+	}
+
+	private @NotNull ObjectName getMetricsName() throws MalformedObjectNameException {
+		return new ObjectName("com.github.jikoo.regionerator:type=Metrics");
 	}
 
 	@Override
@@ -152,6 +215,7 @@ public class Regionerator extends JavaPlugin {
 	public void reloadFeatures() {
 		// Remove all existing features
 		HandlerList.unregisterAll(this);
+		changeListeners.clear();
 		if (flagger != null) {
 			flagger.cancel();
 		}
@@ -218,6 +282,33 @@ public class Regionerator extends JavaPlugin {
 			}
 		}
 
+		// Discard cached protections when hooked systems report changes.
+		for (Hook hook : protectionHooks) {
+			registerChangeListener(hook);
+		}
+
+		// Measure tick duration only when recovery time adapts to it.
+		if (recoveryTask != null) {
+			recoveryTask.cancel();
+			recoveryTask = null;
+		}
+		if (config.isAdaptiveRecovery()) {
+			recovery.reset();
+			recoveryTask = getServer().getScheduler().runTaskTimer(this, recovery, 1L, 1L);
+		}
+
+		// Periodically snapshot hooks' protections.
+		if (protectionIndexTask != null) {
+			protectionIndexTask.cancel();
+			protectionIndexTask = null;
+		}
+		if (config.isProtectionIndexEnabled()) {
+			long refreshTicks = config.getProtectionIndexRefreshTicks();
+			protectionIndexTask = getServer().getScheduler().runTaskTimer(this, protectionIndex::refresh, 0L, refreshTicks);
+		} else {
+			protectionIndex.clear();
+		}
+
 		if (getServer().getWorlds().stream().anyMatch(world -> config.getFlagDuration(world) > 0)) {
 			// Flag duration is set, start flagging
 			flagger = new FlaggingListener(this);
@@ -275,19 +366,26 @@ public class Regionerator extends JavaPlugin {
 			return;
 		}
 
+		// Count ongoing cycles. Cycles share recovery time, so running more at once does not increase disk load.
+		int running = (int) deletionRunnables.values().stream()
+				.filter(runnable -> runnable.getNextRun() == Long.MAX_VALUE)
+				.count();
+
 		// Check worlds, preferring worlds for which deletion was last initiated longest ago.
 		for (String worldName : config.enabledWorlds().stream().sorted(new DeletionStartComparator(miscData)).toList()) {
+			if (running >= config.getConcurrentWorlds()) {
+				return;
+			}
 			if (miscData.getNextCycle(worldName) > System.currentTimeMillis()) {
 				// Not time yet.
 				continue;
 			}
-			DeletionRunnable runnable = deletionRunnables.get(worldName);
-			if (runnable != null) {
-				if (runnable.getNextRun() == Long.MAX_VALUE) {
-					// Deletion is ongoing for world.
-					return;
-				}
-				// Deletion is complete for world.
+			if (deletionRunnables.containsKey(worldName)) {
+				// Deletion is ongoing or complete for world.
+				continue;
+			}
+			if (isPaused(worldName)) {
+				// Deletion is paused for world.
 				continue;
 			}
 			World world = Bukkit.getWorld(worldName);
@@ -295,6 +393,7 @@ public class Regionerator extends JavaPlugin {
 				// World is not loaded.
 				continue;
 			}
+			DeletionRunnable runnable;
 			try {
 				runnable = new DeletionRunnable(this, world);
 			} catch (RuntimeException e) {
@@ -305,7 +404,7 @@ public class Regionerator extends JavaPlugin {
 			deletionRunnables.put(worldName, runnable);
 			miscData.setLastCycleStart(worldName, System.currentTimeMillis());
 			debug(DebugLevel.LOW, () -> "Deletion run scheduled for " + world.getName());
-			return;
+			++running;
 		}
 	}
 
@@ -329,13 +428,63 @@ public class Regionerator extends JavaPlugin {
 		}
 
 		this.protectionHooks.add(hook);
+		registerChangeListener(hook);
+	}
+
+	private void registerChangeListener(@NotNull Hook hook) {
+		Listener listener;
+		try {
+			listener = hook.createChangeListener(this::onProtectionChange);
+			if (listener == null) {
+				return;
+			}
+			// Bukkit logs and skips listeners for missing events rather than throwing, so resolve events first.
+			listener.getClass().getMethods();
+		} catch (NoClassDefFoundError e) {
+			// Older versions of hooked plugins may not provide events. Cached results will expire instead.
+			debug(() -> String.format("Change events not found for %s hook, skipping.", hook.getProtectionName()), e);
+			return;
+		}
+
+		getServer().getPluginManager().registerEvents(listener, this);
+
+		// Only track changes if the listener was registered, otherwise cached results would outlive new protections.
+		for (RegisteredListener registered : HandlerList.getRegisteredListeners(this)) {
+			if (registered.getListener() == listener) {
+				changeListeners.put(hook, listener);
+				return;
+			}
+		}
+		debug(DebugLevel.LOW, () -> String.format("Unable to register change listener for %s hook, skipping.", hook.getProtectionName()));
+	}
+
+	private void onProtectionChange(@NotNull String worldName, @NotNull ProtectedArea area) {
+		debug(DebugLevel.HIGH, () -> String.format("Protections changed in %s between %s,%s and %s,%s", worldName,
+				area.minBlockX(), area.minBlockZ(), area.maxBlockX(), area.maxBlockZ()));
+		chunkFlagger.getProtectionCache().invalidate(worldName, area);
+		if (protectionIndexTask != null) {
+			protectionIndex.requestRefresh();
+		}
+	}
+
+	/**
+	 * Gets whether a {@link Hook} reports changes to its protections. Only results from such hooks may be cached
+	 * between deletion cycles, as otherwise newly protected chunks could be deleted.
+	 *
+	 * @param hook the hook
+	 * @return true if the hook reports changes
+	 */
+	public boolean isChangeTracked(@NotNull Hook hook) {
+		return changeListeners.containsKey(hook);
 	}
 
 	public boolean removeHook(Class<? extends Hook> hook) {
 		Iterator<Hook> hookIterator = this.protectionHooks.iterator();
 		while (hookIterator.hasNext()) {
-			if (hookIterator.next().getClass().equals(hook)) {
+			Hook next = hookIterator.next();
+			if (next.getClass().equals(hook)) {
 				hookIterator.remove();
+				unregisterChangeListener(next);
 				return true;
 			}
 		}
@@ -343,9 +492,37 @@ public class Regionerator extends JavaPlugin {
 	}
 
 	public boolean removeHook(Hook hook) {
+		unregisterChangeListener(hook);
 		return this.protectionHooks.remove(hook);
 	}
 
+	private void unregisterChangeListener(@NotNull Hook hook) {
+		Listener listener = changeListeners.remove(hook);
+		if (listener != null) {
+			HandlerList.unregisterAll(listener);
+		}
+	}
+
+	public @NotNull MetricsRegistry getMetrics() {
+		return metrics;
+	}
+
+	public @NotNull HookMetrics getHookMetrics() {
+		return hookMetrics;
+	}
+
+	@NotNull SyncHookScheduler getSyncHookScheduler() {
+		return syncHookScheduler;
+	}
+
+	public @NotNull AdaptiveRecovery getRecovery() {
+		return recovery;
+	}
+
+	public @NotNull ProtectionIndex getProtectionIndex() {
+		return protectionIndex;
+	}
+
 	public ChunkFlagger getFlagger() {
 		return this.chunkFlagger;
 	}
@@ -369,6 +546,35 @@ public class Regionerator extends JavaPlugin {
 		deletionRunnables.values().stream().map(DeletionRunnable::getPhaser).forEach(phaserConsumer);
 	}
 
+	/**
+	 * Gets whether deletion is paused for a specific world. Pausing the whole plugin does not pause individual worlds.
+	 *
+	 * @param worldName the name of the world
+	 * @return true if the world is paused
+	 */
+	public boolean isPaused(@NotNull String worldName) {
+		return pausedWorlds.contains(worldName);
+	}
+
+	/**
+	 * Pauses or resumes deletion for a specific world. Other worlds' cycles are unaffected.
+	 *
+	 * @param worldName the name of the world
+	 * @param paused whether the world is paused
+	 */
+	public void setPaused(@NotNull String worldName, boolean paused) {
+		if (paused) {
+			pausedWorlds.add(worldName);
+		} else {
+			pausedWorlds.remove(worldName);
+		}
+
+		DeletionRunnable runnable = deletionRunnables.get(worldName);
+		if (runnable != null) {
+			runnable.setPaused(paused);
+		}
+	}
+
 	public boolean debug(@NotNull DebugLevel level) {
 		return config.getDebugLevel().ordinal() >= level.ordinal();
 	}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator;
+
+import com.github.jikoo.regionerator.hooks.Hook;
+import com.github.jikoo.regionerator.hooks.HookMetrics;
+import com.github.jikoo.regionerator.hooks.HookResult;
+import com.github.jikoo.regionerator.util.ChunkKeys;
+import com.github.jikoo.regionerator.world.RegionInfo;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Main thread checks of a region's chunks against hooks that are not capable of asynchronous operation.
+ *
+ * <p>Rather than scheduling a task per chunk, all of a region's chunks are checked by a single batch. Batches are run by
+ * the {@link SyncHookScheduler} within a time budget shared by all batches so that checking regions never causes a lag
+ * spike. Results are stored in the {@link RegionInfo} alongside any results already known.
+ */
+class SyncHookBatch {
+
+	private static final int LOCAL_MASK = (1 << ChunkKeys.REGION_BITS) - 1;
+
+	private final @NotNull RegionInfo region;
+	private final @NotNull HookMetrics metrics;
+	private final @NotNull World world;
+	private final @NotNull Iterator<Hook> hooks;
+	private final @NotNull BitSet remaining;
+	private final @NotNull CompletableFuture<Void> future = new CompletableFuture<>();
+	private @Nullable Hook hook;
+	private @Nullable BitSet checked;
+	private @Nullable BitSet protectedChunks;
+	private int index;
+
+	/**
+	 * Constructs a new SyncHookBatch.
+	 *
+	 * @param region the region to check
+	 * @param metrics the metrics to record hook queries in
+	 * @param hooks the hooks to check
+	 * @param chunks the chunks to check by index within the region
+	 */
+	SyncHookBatch(@NotNull RegionInfo region, @NotNull HookMetrics metrics, @NotNull Collection<Hook> hooks, @NotNull BitSet chunks) {
+		this.region = region;
+		this.metrics = metrics;
+		this.world = region.getWorld();
+		this.hooks = hooks.iterator();
+		this.remaining = (BitSet) chunks.clone();
+	}
+
+	/**
+	 * Performs checks until all checks are complete or the deadline has passed. At least one check is always made.
+	 *
+	 * @param deadline the {@link System#nanoTime()} at which to stop checking
+	 * @return true if checks remain
+	 */
+	boolean run(long deadline) {
+		if (future.isDone()) {
+			// Batch was cancelled.
+			return false;
+		}
+		try {
+			do {
+				if (!step()) {
+					future.complete(null);
+					return false;
+				}
+			} while (System.nanoTime() < deadline);
+			return true;
+		} catch (RuntimeException e) {
+			future.completeExceptionally(e);
+			return false;
+		}
+	}
+
+	/**
+	 * Stops checking. Results already stored in the {@link RegionInfo} are retained.
+	 */
+	void cancel() {
+		future.cancel(false);
+	}
+
+	/**
+	 * Performs a single hook check.
+	 *
+	 * @return false if all checks are complete
+	 */
+	private boolean step() {
+		if (hook == null || checked == null || protectedChunks == null) {
+			if (!hooks.hasNext() || remaining.isEmpty()) {
+				return false;
+			}
+			Hook next = hooks.next();
+
+			if (next.isRegionCapable()) {
+				// Hook checks the whole region at once.
+				remaining.andNot(region.getProtectedChunks(next));
+				return true;
+			}
+
+			hook = next;
+			checked = (BitSet) remaining.clone();
+			HookResult existing = region.getHookResult(next);
+			if (existing != null) {
+				// Chunks with known results do not need to be checked again.
+				checked.andNot(existing.checked());
+				remaining.andNot(existing.protectedChunks());
+			}
+			protectedChunks = new BitSet(region.getChunksPerRegion());
+			index = checked.nextSetBit(0);
+		}
+
+		if (index < 0) {
+			// Hook is complete. Chunks it protects do not need to be checked by other hooks.
+			region.addHookResult(hook, new HookResult(checked, protectedChunks));
+			remaining.andNot(protectedChunks);
+			hook = null;
+			return true;
+		}
+
+		int chunkX = region.getLowestChunkX() + (index & LOCAL_MASK);
+		int chunkZ = region.getLowestChunkZ() + (index >> ChunkKeys.REGION_BITS);
+		if (metrics.isChunkProtected(hook, world, chunkX, chunkZ)) {
+			protectedChunks.set(index);
+		}
+		index = checked.nextSetBit(index + 1);
+		return true;
+	}
+
+	/**
+	 * Gets a future completed when all checks are complete.
+	 *
+	 * @return the future
+	 */
+	@NotNull CompletableFuture<Void> getFuture() {
+		return future;
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator;
+
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A main thread task running all pending {@link SyncHookBatch SyncHookBatches}.
+ *
+ * <p>All batches share a single time budget per tick, so checking regions in several worlds at once does not multiply
+ * the time spent on the main thread. Batches take turns: a batch that exhausts the budget is moved to the back of the
+ * queue so that the next tick starts with another batch. The task only runs while batches are pending.
+ */
+class SyncHookScheduler implements Runnable {
+
+	private final @NotNull Regionerator plugin;
+	private final @NotNull Deque<SyncHookBatch> batches = new ArrayDeque<>();
+	private @Nullable BukkitTask task;
+
+	SyncHookScheduler(@NotNull Regionerator plugin) {
+		this.plugin = plugin;
+	}
+
+	/**
+	 * Queues a batch to be run on the main thread.
+	 *
+	 * @param batch the batch
+	 * @throws org.bukkit.plugin.IllegalPluginAccessException if the plugin is disabled
+	 */
+	synchronized void submit(@NotNull SyncHookBatch batch) {
+		if (task == null) {
+			task = plugin.getServer().getScheduler().runTaskTimer(plugin, this, 0L, 1L);
+		}
+		batches.add(batch);
+	}
+
+	@Override
+	public void run() {
+		long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(plugin.config().getSyncHookMicrosPerTick());
+		// Always make progress, even if the budget is too small for a single check.
+		do {
+			SyncHookBatch batch;
+			synchronized (this) {
+				batch = batches.poll();
+				if (batch == null) {
+					// Nothing left to check, stop until another batch is submitted.
+					if (task != null) {
+						task.cancel();
+						task = null;
+					}
+					return;
+				}
+			}
+
+			if (batch.run(deadline)) {
+				synchronized (this) {
+					batches.add(batch);
+				}
+			}
+		} while (System.nanoTime() < deadline);
+	}
+
+}
@@ -24,6 +24,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Set;
+import java.util.logging.Level;
 import java.util.stream.Collectors;
 
 /**
@@ -64,15 +65,41 @@ public class FlagHandler {
 			return;
 		}
 
-		for (ChunkPosition chunk : chunks) {
-			if (flag) {
-				plugin.getFlagger().flagChunk(worldName, chunk.chunkX(), chunk.chunkZ(), Config.FLAG_ETERNAL);
-			} else {
-				plugin.getFlagger().unflagChunk(worldName, chunk.chunkX(), chunk.chunkZ());
-			}
+		// Load all selected flags together rather than querying the database once per chunk.
+		ChunkPosition[] positions = chunks.toArray(new ChunkPosition[0]);
+		long[] keys = new long[positions.length];
+		for (int i = 0; i < positions.length; ++i) {
+			keys[i] = plugin.getFlagger().getChunkKey(worldName, positions[i].chunkX(), positions[i].chunkZ());
 		}
 
-		sender.sendMessage("Edited flags successfully!");
+		String world = worldName;
+		plugin.getFlagger().getChunkFlags(keys).whenComplete((flags, throwable) -> {
+			if (throwable != null) {
+				plugin.getLogger().log(Level.WARNING, "Unable to load chunk flags", throwable);
+				sender.sendMessage("Unable to load flags for editing! Please check console.");
+				return;
+			}
+
+			plugin.getServer().getScheduler().runTask(plugin, () -> {
+				int changed = 0;
+				for (int i = 0; i < positions.length; ++i) {
+					long lastVisit = flags.get(i).getLastVisit();
+					if (flag) {
+						if (lastVisit != Config.FLAG_ETERNAL) {
+							++changed;
+						}
+						plugin.getFlagger().flagChunk(world, positions[i].chunkX(), positions[i].chunkZ(), Config.FLAG_ETERNAL);
+					} else {
+						if (lastVisit != Config.FLAG_DEFAULT) {
+							++changed;
+						}
+						plugin.getFlagger().unflagChunk(world, positions[i].chunkX(), positions[i].chunkZ());
+					}
+				}
+
+				sender.sendMessage("Edited flags successfully! Changed " + changed + " of " + positions.length + " chunks.");
+			});
+		});
 	}
 
 	private @Nullable Set<ChunkPosition> getSelectedArea(CommandSender sender, String @NotNull [] args) {
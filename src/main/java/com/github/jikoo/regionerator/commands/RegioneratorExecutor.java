@@ -14,6 +14,8 @@ import com.github.jikoo.planarwrappers.util.Coords;
 import com.github.jikoo.regionerator.DeletionRunnable;
 import com.github.jikoo.regionerator.Regionerator;
 import com.github.jikoo.regionerator.hooks.Hook;
+import com.github.jikoo.regionerator.hooks.HookMetrics;
+import com.github.jikoo.regionerator.util.metrics.Histogram;
 import com.github.jikoo.regionerator.util.yaml.Config;
 import com.github.jikoo.regionerator.world.ChunkInfo;
 import com.github.jikoo.regionerator.world.RegionInfo;
@@ -29,10 +31,12 @@ import org.jetbrains.annotations.Nullable;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.stream.Stream;
 
@@ -86,6 +90,9 @@ public class RegioneratorExecutor implements TabExecutor {
 				} else {
 					sender.sendMessage("Cycle for " + worldName + " is ready to start.");
 				}
+				if (plugin.isPaused(worldName)) {
+					sender.sendMessage(" - Paused. Use \"/regionerator resume " + worldName + "\" to continue.");
+				}
 			}
 
 			if (plugin.isPaused()) {
@@ -103,11 +110,23 @@ public class RegioneratorExecutor implements TabExecutor {
 		}
 
 		if (args[0].equals("pause") || args[0].equals("stop") ) {
+			if (args.length > 1) {
+				String worldName = getWorldName(args[1]);
+				plugin.setPaused(worldName, true);
+				sender.sendMessage("Paused Regionerator in " + worldName + ". Use /regionerator resume " + worldName + " to resume.");
+				return true;
+			}
 			plugin.setPaused(true);
 			sender.sendMessage("Paused Regionerator. Use /regionerator resume to resume.");
 			return true;
 		}
 		if (args[0].equals("resume") || args[0].equals("unpause") || args[0].equals("start")) {
+			if (args.length > 1) {
+				String worldName = getWorldName(args[1]);
+				plugin.setPaused(worldName, false);
+				sender.sendMessage("Resumed Regionerator in " + worldName + ". Use /regionerator pause " + worldName + " to pause.");
+				return true;
+			}
 			plugin.setPaused(false);
 			sender.sendMessage("Resumed Regionerator. Use /regionerator pause to pause.");
 			return true;
@@ -124,7 +143,31 @@ public class RegioneratorExecutor implements TabExecutor {
 
 		if (args[0].equals("cache")) {
 			sender.sendMessage("Cached chunk values: " + plugin.getFlagger().getCached());
-			sender.sendMessage("Queued saves: " + plugin.getFlagger().getQueued());
+			sender.sendMessage("Loading chunk values: " + plugin.getFlagger().getLoading());
+			sender.sendMessage("Queued saves: " + plugin.getFlagger().getQueued() + " (peak " + plugin.getFlagger().getPeakQueued() + ")");
+			sender.sendMessage("Loads delayed by save backlog: " + plugin.getFlagger().getBackPressureCount()
+					+ " (" + plugin.getFlagger().getBackPressureMillis() + "ms)");
+			return true;
+		}
+
+		if (args[0].equals("metrics")) {
+			String prefix = args.length > 1 ? args[1].toLowerCase(Locale.ROOT) : "";
+			int shown = 0;
+			for (Map.Entry<String, Number> entry : plugin.getMetrics().snapshot().entrySet()) {
+				if (entry.getKey().startsWith(prefix)) {
+					Number value = entry.getValue();
+					sender.sendMessage(entry.getKey() + ": " + (value instanceof Double ? String.format("%.2f", value.doubleValue()) : value));
+					++shown;
+				}
+			}
+			if (shown == 0) {
+				sender.sendMessage("No metrics found" + (prefix.isEmpty() ? "." : " starting with \"" + prefix + "\"."));
+			}
+			return true;
+		}
+
+		if (args[0].equals("hooks")) {
+			sendHookReport(sender);
 			return true;
 		}
 
@@ -138,7 +181,8 @@ public class RegioneratorExecutor implements TabExecutor {
 			World world = chunk.getWorld();
 
 			for (Hook hook : plugin.getProtectionHooks()) {
-				player.sendMessage("Chunk is " + (hook.isChunkProtected(world, chunk.getX(), chunk.getZ()) ? "" : "not ") + "protected by " + hook.getProtectionName());
+				boolean isProtected = plugin.getHookMetrics().isChunkProtected(hook, world, chunk.getX(), chunk.getZ());
+				player.sendMessage("Chunk is " + (isProtected ? "" : "not ") + "protected by " + hook.getProtectionName());
 			}
 
 			SimpleDateFormat format = new SimpleDateFormat("HH:mm 'on' d MMM yyyy");
@@ -189,6 +233,50 @@ public class RegioneratorExecutor implements TabExecutor {
 		return false;
 	}
 
+	private void sendHookReport(@NotNull CommandSender sender) {
+		if (plugin.getProtectionHooks().isEmpty()) {
+			sender.sendMessage("No protection hooks are enabled.");
+			return;
+		}
+
+		// List hooks taking the most time first.
+		List<Hook> hooks = plugin.getProtectionHooks().stream()
+				.sorted(Comparator.comparingLong((Hook hook) -> plugin.getHookMetrics().getStats(hook).totalNanos().getCount()).reversed())
+				.toList();
+		for (Hook hook : hooks) {
+			HookMetrics.Stats stats = plugin.getHookMetrics().getStats(hook);
+			sender.sendMessage(String.format("%s: %s chunks checked, %.1f%% protected, %sms total", hook.getProtectionName(),
+					stats.chunks().getCount(), stats.getProtectedRatio() * 100,
+					TimeUnit.NANOSECONDS.toMillis(stats.totalNanos().getCount())));
+			sender.sendMessage(String.format(" - Calls: %s main thread, %s async", stats.mainCalls().getCount(),
+					stats.asyncCalls().getCount()));
+			if (stats.chunkLatency().getCount() > 0) {
+				sender.sendMessage(" - Chunk latency: " + formatLatency(stats.chunkLatency(), "ns"));
+			}
+			if (stats.regionLatency().getCount() > 0) {
+				sender.sendMessage(" - Region latency: " + formatLatency(stats.regionLatency(), "\u00B5s"));
+			}
+			if (plugin.getProtectionIndex().isIndexed(hook)) {
+				sender.sendMessage(" - Checked using protection index snapshots.");
+			}
+		}
+	}
+
+	private static @NotNull String formatLatency(@NotNull Histogram latency, @NotNull String unit) {
+		return String.format("p50 %2$s%1$s, p95 %3$s%1$s, p99 %4$s%1$s, max %5$s%1$s", unit,
+				latency.getPercentile(0.5), latency.getPercentile(0.95), latency.getPercentile(0.99), latency.getMax());
+	}
+
+	private @NotNull String getWorldName(@NotNull String name) {
+		// Correct case to match configured worlds.
+		for (String worldName : plugin.config().enabledWorlds()) {
+			if (worldName.equalsIgnoreCase(name)) {
+				return worldName;
+			}
+		}
+		return name;
+	}
+
 	@Override
 	public @Nullable List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command,
 			@NotNull String label, @NotNull String @NotNull [] args) {
@@ -198,13 +286,23 @@ public class RegioneratorExecutor implements TabExecutor {
 
 		if (args.length == 1) {
 			String[] completions = sender instanceof Player
-					? new String[]{"pause", "resume", "reload", "flag", "unflag", "cache", "check"}
-					: new String[]{"pause", "resume", "reload", "flag", "unflag", "cache"};
+					? new String[]{"pause", "resume", "reload", "flag", "unflag", "cache", "metrics", "hooks", "check"}
+					: new String[]{"pause", "resume", "reload", "flag", "unflag", "cache", "metrics", "hooks"};
 			return TabCompleter.completeString(args[0], completions);
 		}
 
 		args[0] = args[0].toLowerCase(Locale.ENGLISH);
 
+		if (args.length == 2 && ("pause".equals(args[0]) || "stop".equals(args[0]) || "resume".equals(args[0])
+				|| "unpause".equals(args[0]) || "start".equals(args[0]))) {
+			return TabCompleter.completeString(args[1], plugin.config().enabledWorlds().toArray(String[]::new));
+		}
+
+		if ("metrics".equals(args[0]) && args.length == 2) {
+			return TabCompleter.completeString(args[1], plugin.getMetrics().snapshot().keySet().stream()
+					.map(name -> name.substring(0, name.indexOf('.') + 1)).distinct().toArray(String[]::new));
+		}
+
 		if ("flag".equals(args[0]) || "unflag".equals(args[0])) {
 
 			if (args.length == 2) {
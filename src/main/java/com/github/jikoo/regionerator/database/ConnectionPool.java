@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.database;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A single writer connection and an optional pool of read-only connections to an SQLite database.
+ *
+ * <p>If read-only connections are used, the database is switched to write-ahead logging so that readers do not wait
+ * for writes to complete. Otherwise, reads are performed using the writer connection.
+ *
+ * <p>Callers must synchronize on the writer connection while using it.
+ */
+public class ConnectionPool {
+
+	private static final int WRITER_CACHE_KIB = 16_384;
+	private static final int READER_CACHE_KIB = 4_096;
+	private static final int BUSY_TIMEOUT_MILLIS = 10_000;
+
+	private final @NotNull Connection writer;
+	private final @NotNull List<Connection> readers;
+	private final @Nullable BlockingQueue<Connection> available;
+
+	/**
+	 * Constructs a new ConnectionPool.
+	 *
+	 * @param url the JDBC URL of the database
+	 * @param readerCount the number of read-only connections to open
+	 * @throws SQLException if a connection cannot be opened
+	 */
+	ConnectionPool(@NotNull String url, int readerCount) throws SQLException {
+		this.writer = DriverManager.getConnection(url);
+
+		if (readerCount < 1) {
+			this.readers = List.of();
+			this.available = null;
+			return;
+		}
+
+		try (Statement st = writer.createStatement()) {
+			st.execute("PRAGMA journal_mode=WAL");
+			// In WAL mode NORMAL only risks losing the most recent commits on power loss, never corruption.
+			st.execute("PRAGMA synchronous=NORMAL");
+			st.execute("PRAGMA cache_size=-" + WRITER_CACHE_KIB);
+			st.execute("PRAGMA busy_timeout=" + BUSY_TIMEOUT_MILLIS);
+		}
+
+		this.readers = new ArrayList<>(readerCount);
+		this.available = new ArrayBlockingQueue<>(readerCount);
+		for (int i = 0; i < readerCount; ++i) {
+			Connection reader = DriverManager.getConnection(url);
+			try (Statement st = reader.createStatement()) {
+				st.execute("PRAGMA query_only=ON");
+				st.execute("PRAGMA cache_size=-" + READER_CACHE_KIB);
+				st.execute("PRAGMA busy_timeout=" + BUSY_TIMEOUT_MILLIS);
+			}
+			readers.add(reader);
+			available.add(reader);
+		}
+	}
+
+	/**
+	 * Gets the writer connection. Callers must synchronize on the connection.
+	 *
+	 * @return the writer connection
+	 */
+	@NotNull Connection getWriter() {
+		return writer;
+	}
+
+	/**
+	 * Performs a read using a read-only connection, waiting for one to become available if necessary. If there are
+	 * no read-only connections, the writer connection is used.
+	 *
+	 * @param function the function reading from the database
+	 * @return the result of the function
+	 * @param <T> the type of result
+	 * @throws SQLException if the read fails
+	 */
+	<T> T read(@NotNull ConnectionFunction<T> function) throws SQLException {
+		if (available == null) {
+			synchronized (writer) {
+				return function.apply(writer);
+			}
+		}
+
+		Connection reader;
+		try {
+			reader = available.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted awaiting a database connection", e);
+		}
+
+		try {
+			return function.apply(reader);
+		} finally {
+			available.add(reader);
+		}
+	}
+
+	/**
+	 * Commits pending changes and closes all connections.
+	 *
+	 * @throws SQLException if the commit fails or a connection cannot be closed
+	 */
+	void close() throws SQLException {
+		SQLException exception = null;
+		for (Connection reader : readers) {
+			try {
+				reader.close();
+			} catch (SQLException e) {
+				exception = e;
+			}
+		}
+
+		synchronized (writer) {
+			writer.commit();
+			writer.close();
+		}
+
+		if (exception != null) {
+			throw exception;
+		}
+	}
+
+	/**
+	 * A function using a database connection.
+	 *
+	 * @param <T> the type of result
+	 */
+	@FunctionalInterface
+	interface ConnectionFunction<T> {
+		T apply(@NotNull Connection connection) throws SQLException;
+	}
+
+}
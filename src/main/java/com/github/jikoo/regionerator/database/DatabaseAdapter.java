@@ -12,9 +12,8 @@ package com.github.jikoo.regionerator.database;
 
 import com.github.jikoo.regionerator.ChunkFlagger;
 import com.github.jikoo.regionerator.Regionerator;
-import java.sql.Connection;
+import com.github.jikoo.regionerator.util.ChunkKeys;
 import java.sql.DatabaseMetaData;
-import java.sql.DriverManager;
 import java.util.Collection;
 import org.jetbrains.annotations.NotNull;
 
@@ -29,20 +28,81 @@ public interface DatabaseAdapter {
 
 	void update(@NotNull Collection<ChunkFlagger.FlagData> flags) throws Exception;
 
-	long get(@NotNull String identifier) throws Exception;
+	long get(long chunkKey) throws Exception;
 
-	static @NotNull DatabaseAdapter getAdapter(@NotNull Regionerator plugin) throws Exception {
+	/**
+	 * Gets the timestamps of multiple chunks.
+	 *
+	 * @param chunkKeys the keys of the chunks
+	 * @return the timestamps of the chunks in the order of the keys
+	 * @throws Exception if the data cannot be loaded
+	 */
+	long @NotNull [] getAll(long @NotNull [] chunkKeys) throws Exception;
+
+	/**
+	 * Gets the timestamps of all chunks in a region.
+	 *
+	 * @param regionKey the key of the region
+	 * @return the timestamps of the region's chunks ordered by index within the region
+	 * @throws Exception if the data cannot be loaded
+	 * @see com.github.jikoo.regionerator.util.ChunkKeys#getRegionKey(long)
+	 */
+	long @NotNull [] getRegion(long regionKey) throws Exception;
+
+	/**
+	 * Gets a summary of the timestamps of all chunks in a region.
+	 *
+	 * @param regionKey the key of the region
+	 * @return the region summary
+	 * @throws Exception if the data cannot be loaded
+	 * @see com.github.jikoo.regionerator.util.ChunkKeys#getRegionKey(long)
+	 */
+	default @NotNull RegionSummary getSummary(long regionKey) throws Exception {
+		return RegionSummary.of(getRegion(regionKey));
+	}
+
+	/**
+	 * Gets whether region summaries are stored. If not, getting a summary reads the entire region.
+	 *
+	 * @return true if {@link #getSummary(long)} does not read the region's timestamps
+	 */
+	default boolean hasStoredSummaries() {
+		return false;
+	}
+
+	/**
+	 * Gets the index of times at which regions may next contain chunks eligible for deletion.
+	 *
+	 * @return the region index
+	 */
+	@NotNull RegionIndex getRegionIndex();
+
+	/**
+	 * Gets the cache of results of checking regions against protection hooks.
+	 *
+	 * @return the protection cache
+	 */
+	@NotNull ProtectionCache getProtectionCache();
+
+	static @NotNull DatabaseAdapter getAdapter(@NotNull Regionerator plugin, @NotNull ChunkKeys chunkKeys) throws Exception {
 		Class.forName("org.sqlite.JDBC");
 
-		Connection connection = DriverManager.getConnection("jdbc:sqlite:" + plugin.getDataFolder().getAbsolutePath() + "/data.db");
-		DatabaseMetaData metaData = connection.getMetaData();
+		ConnectionPool connections = new ConnectionPool(
+				"jdbc:sqlite:" + plugin.getDataFolder().getAbsolutePath() + "/data.db",
+				plugin.config().getDatabaseReadConnections());
+
+		if (plugin.config().getStorageLayout() == StorageLayout.REGION) {
+			return new SQLiteRegionAdapter(plugin, chunkKeys, connections);
+		}
+
+		DatabaseMetaData metaData = connections.getWriter().getMetaData();
 
 		if (metaData.getDatabaseMajorVersion() < 3 || metaData.getDatabaseMajorVersion() == 3 && metaData.getDatabaseMinorVersion() < 24) {
 			// Terrible SQLite
-			return new SQLeadenAdapter(plugin, connection);
+			return new SQLeadenAdapter(plugin, chunkKeys, connections);
 		}
 
-		return new SQLiteAdapter(plugin, connection);
+		return new SQLiteAdapter(plugin, chunkKeys, connections);
 
 	}
 
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.database;
+
+import com.github.jikoo.regionerator.util.metrics.Histogram;
+import com.github.jikoo.regionerator.util.metrics.MetricsRegistry;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metrics shared by {@link DatabaseAdapter} implementations.
+ */
+final class DatabaseMetrics {
+
+	private final @NotNull Histogram updateLatency;
+	private final @NotNull Histogram updateRows;
+	private final @NotNull Histogram commitLatency;
+
+	DatabaseMetrics(@NotNull MetricsRegistry registry) {
+		this.updateLatency = registry.histogram("database.update-latency-micros");
+		this.updateRows = registry.histogram("database.update-rows");
+		this.commitLatency = registry.histogram("database.commit-latency-micros");
+	}
+
+	/**
+	 * Commits a connection, recording the time taken.
+	 *
+	 * @param connection the connection
+	 * @throws SQLException if the commit fails
+	 */
+	void commit(@NotNull Connection connection) throws SQLException {
+		long start = System.nanoTime();
+		connection.commit();
+		commitLatency.recordSince(start, TimeUnit.MICROSECONDS);
+	}
+
+	/**
+	 * Records a completed update.
+	 *
+	 * @param rows the number of rows updated
+	 * @param startNanos the {@link System#nanoTime()} the update started at
+	 */
+	void recordUpdate(int rows, long startNanos) {
+		updateLatency.recordSince(startNanos, TimeUnit.MICROSECONDS);
+		updateRows.record(rows);
+	}
+
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.database;
+
+import com.github.jikoo.planarwrappers.util.Coords;
+import com.github.jikoo.regionerator.hooks.HookResult;
+import com.github.jikoo.regionerator.hooks.ProtectedArea;
+import com.github.jikoo.regionerator.util.ChunkKeys;
+import com.github.jikoo.regionerator.util.collection.LongObjectHashMap;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A persistent cache of the results of checking regions against protection hooks.
+ *
+ * <p>Results are stored per region and hook name until they expire. When protections change, affected regions are
+ * invalidated. Results calculated before an invalidation are discarded rather than stored, as they may be outdated.
+ * Changes are buffered and written in batches.
+ */
+public class ProtectionCache {
+
+	private static final int FLUSH_THRESHOLD = 256;
+
+	private final @NotNull Logger logger;
+	private final @NotNull ChunkKeys chunkKeys;
+	private final @NotNull ConnectionPool connections;
+	private final @NotNull Connection database;
+	private final @NotNull LongObjectHashMap<Map<String, CachedResult>> pending = new LongObjectHashMap<>();
+	private final @NotNull List<Invalidation> invalidations = new ArrayList<>();
+	private long generation = 0;
+
+	ProtectionCache(@NotNull Logger logger, @NotNull ChunkKeys chunkKeys, @NotNull ConnectionPool connections) throws SQLException {
+		this.logger = logger;
+		this.chunkKeys = chunkKeys;
+		this.connections = connections;
+		this.database = connections.getWriter();
+
+		synchronized (database) {
+			try (Statement st = database.createStatement()) {
+				st.executeUpdate("CREATE TABLE IF NOT EXISTS `protectioncache`(`world` TEXT NOT NULL, `region_x` INTEGER NOT NULL, `region_z` INTEGER NOT NULL, `hook` TEXT NOT NULL, `checked` BLOB NOT NULL, `protected` BLOB NOT NULL, `expires` INTEGER NOT NULL, PRIMARY KEY(`world`, `region_x`, `region_z`, `hook`))");
+			}
+			if (!database.getAutoCommit()) {
+				database.commit();
+			}
+		}
+	}
+
+	/**
+	 * Gets the current generation of the cache. The generation changes whenever cached results are invalidated.
+	 *
+	 * @return the generation
+	 */
+	public long getGeneration() {
+		synchronized (pending) {
+			return generation;
+		}
+	}
+
+	/**
+	 * Gets the unexpired results cached for a region.
+	 *
+	 * @param regionKey the region key
+	 * @param now the current time
+	 * @return the cached results by hook name
+	 * @throws SQLException if the cache cannot be read
+	 * @see ChunkKeys#getRegionKey(long)
+	 */
+	public @NotNull Map<String, CachedResult> get(long regionKey, long now) throws SQLException {
+		flush();
+		return connections.read(connection -> {
+			Map<String, CachedResult> results = new HashMap<>();
+			if (connection.isClosed()) {
+				return results;
+			}
+
+			try (PreparedStatement st = connection.prepareStatement("SELECT hook, checked, protected, expires FROM protectioncache WHERE world=? AND region_x=? AND region_z=? AND expires>?")) {
+				setRegion(st, regionKey);
+				st.setLong(4, now);
+				try (ResultSet rs = st.executeQuery()) {
+					while (rs.next()) {
+						HookResult result = new HookResult(BitSet.valueOf(rs.getBytes(2)), BitSet.valueOf(rs.getBytes(3)));
+						results.put(rs.getString(1), new CachedResult(result, rs.getLong(4)));
+					}
+				}
+			}
+			return results;
+		});
+	}
+
+	/**
+	 * Caches the result of checking a region against a hook.
+	 *
+	 * <p>If the cache has been invalidated since the given generation, the result is discarded.
+	 *
+	 * @param regionKey the region key
+	 * @param hookName the name of the hook
+	 * @param result the result
+	 * @param expires the time at which the result expires
+	 * @param generation the generation of the cache when the result started being calculated
+	 * @see ChunkKeys#getRegionKey(long)
+	 */
+	public void set(long regionKey, @NotNull String hookName, @NotNull HookResult result, long expires, long generation) {
+		boolean flush;
+		synchronized (pending) {
+			if (this.generation != generation) {
+				return;
+			}
+			Map<String, CachedResult> entries = pending.get(regionKey);
+			if (entries == null) {
+				entries = new HashMap<>();
+				pending.put(regionKey, entries);
+			}
+			entries.put(hookName, new CachedResult(result, expires));
+			flush = pending.size() >= FLUSH_THRESHOLD;
+		}
+		if (flush) {
+			try {
+				flush();
+			} catch (SQLException e) {
+				// Results are discarded and will be recalculated when the region is next checked.
+				logger.log(Level.WARNING, "Exception saving protection cache", e);
+			}
+		}
+	}
+
+	/**
+	 * Invalidates cached results for all regions overlapping an area. Safe to call from the main thread; the cache is
+	 * not modified until the next flush.
+	 *
+	 * @param worldName the world name
+	 * @param area the changed area
+	 */
+	public void invalidate(@NotNull String worldName, @NotNull ProtectedArea area) {
+		int minRegionX = Coords.chunkToRegion(Coords.blockToChunk(area.minBlockX()));
+		int minRegionZ = Coords.chunkToRegion(Coords.blockToChunk(area.minBlockZ()));
+		int maxRegionX = Coords.chunkToRegion(Coords.blockToChunk(area.maxBlockX()));
+		int maxRegionZ = Coords.chunkToRegion(Coords.blockToChunk(area.maxBlockZ()));
+		Invalidation invalidation = new Invalidation(worldName, minRegionX, minRegionZ, maxRegionX, maxRegionZ);
+
+		synchronized (pending) {
+			++generation;
+			invalidations.add(invalidation);
+			for (long regionKey : pending.keys()) {
+				if (invalidation.contains(chunkKeys.getWorldName(ChunkKeys.getWorldId(regionKey)),
+						ChunkKeys.getChunkX(regionKey) >> ChunkKeys.REGION_BITS,
+						ChunkKeys.getChunkZ(regionKey) >> ChunkKeys.REGION_BITS)) {
+					pending.remove(regionKey);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes all queued changes.
+	 *
+	 * @throws SQLException if the changes cannot be written
+	 */
+	public void flush() throws SQLException {
+		long[] keys;
+		List<Map<String, CachedResult>> entries = new ArrayList<>();
+		Invalidation[] removals;
+		synchronized (pending) {
+			if (pending.isEmpty() && invalidations.isEmpty()) {
+				return;
+			}
+			keys = pending.keys();
+			for (long key : keys) {
+				entries.add(pending.get(key));
+			}
+			removals = invalidations.toArray(new Invalidation[0]);
+			pending.clear();
+			invalidations.clear();
+		}
+
+		try {
+			synchronized (database) {
+				try (PreparedStatement delete = database.prepareStatement("DELETE FROM protectioncache WHERE world=? AND region_x BETWEEN ? AND ? AND region_z BETWEEN ? AND ?");
+						PreparedStatement expire = database.prepareStatement("DELETE FROM protectioncache WHERE expires<=?");
+						PreparedStatement replace = database.prepareStatement("INSERT OR REPLACE INTO protectioncache(world,region_x,region_z,hook,checked,protected,expires) VALUES (?,?,?,?,?,?,?)")) {
+					for (Invalidation removal : removals) {
+						delete.setString(1, removal.worldName());
+						delete.setInt(2, removal.minRegionX());
+						delete.setInt(3, removal.maxRegionX());
+						delete.setInt(4, removal.minRegionZ());
+						delete.setInt(5, removal.maxRegionZ());
+						delete.addBatch();
+					}
+					delete.executeBatch();
+
+					expire.setLong(1, System.currentTimeMillis());
+					expire.executeUpdate();
+
+					for (int i = 0; i < keys.length; ++i) {
+						for (Map.Entry<String, CachedResult> entry : entries.get(i).entrySet()) {
+							setRegion(replace, keys[i]);
+							replace.setString(4, entry.getKey());
+							replace.setBytes(5, entry.getValue().result().checked().toByteArray());
+							replace.setBytes(6, entry.getValue().result().protectedChunks().toByteArray());
+							replace.setLong(7, entry.getValue().expires());
+							replace.addBatch();
+						}
+					}
+					replace.executeBatch();
+				}
+				database.commit();
+			}
+		} catch (SQLException e) {
+			synchronized (pending) {
+				// Invalidations must not be lost. Results are discarded; they will be recalculated.
+				invalidations.addAll(0, List.of(removals));
+			}
+			throw e;
+		}
+	}
+
+	private void setRegion(@NotNull PreparedStatement statement, long regionKey) throws SQLException {
+		statement.setString(1, chunkKeys.getWorldName(ChunkKeys.getWorldId(regionKey)));
+		statement.setInt(2, ChunkKeys.getChunkX(regionKey) >> ChunkKeys.REGION_BITS);
+		statement.setInt(3, ChunkKeys.getChunkZ(regionKey) >> ChunkKeys.REGION_BITS);
+	}
+
+	/**
+	 * A cached {@link HookResult}.
+	 *
+	 * @param result the result
+	 * @param expires the time at which the result expires
+	 */
+	public record CachedResult(@NotNull HookResult result, long expires) {}
+
+	private record Invalidation(@NotNull String worldName, int minRegionX, int minRegionZ, int maxRegionX, int maxRegionZ) {
+
+		private boolean contains(@NotNull String worldName, int regionX, int regionZ) {
+			return this.worldName.equals(worldName)
+					&& regionX >= minRegionX && regionX <= maxRegionX
+					&& regionZ >= minRegionZ && regionZ <= maxRegionZ;
+		}
+
+	}
+
+}
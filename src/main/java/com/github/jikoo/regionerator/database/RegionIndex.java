@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.database;
+
+import com.github.jikoo.regionerator.util.ChunkKeys;
+import com.github.jikoo.regionerator.util.collection.LongHashSet;
+import com.github.jikoo.regionerator.util.collection.LongObjectHashMap;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A persistent index of the earliest time at which each region may contain a chunk eligible for deletion.
+ *
+ * <p>Times are only valid for the flag duration and fresh chunk setting they were calculated with. Changes are
+ * buffered and written in batches.
+ */
+public class RegionIndex {
+
+	private static final int FLUSH_THRESHOLD = 256;
+
+	private final @NotNull Logger logger;
+	private final @NotNull ChunkKeys chunkKeys;
+	private final @NotNull ConnectionPool connections;
+	private final @NotNull Connection database;
+	private final @NotNull LongObjectHashMap<Entry> pending = new LongObjectHashMap<>();
+
+	RegionIndex(@NotNull Logger logger, @NotNull ChunkKeys chunkKeys, @NotNull ConnectionPool connections) throws SQLException {
+		this.logger = logger;
+		this.chunkKeys = chunkKeys;
+		this.connections = connections;
+		this.database = connections.getWriter();
+
+		synchronized (database) {
+			try (Statement st = database.createStatement()) {
+				st.executeUpdate("CREATE TABLE IF NOT EXISTS `regionindex`(`world` TEXT NOT NULL, `region_x` INTEGER NOT NULL, `region_z` INTEGER NOT NULL, `eligible` INTEGER NOT NULL, `duration` INTEGER NOT NULL, `fresh` INTEGER NOT NULL, PRIMARY KEY(`world`, `region_x`, `region_z`))");
+				st.executeUpdate("CREATE INDEX IF NOT EXISTS `regionindex_eligible` ON `regionindex`(`world`, `eligible`)");
+			}
+			if (!database.getAutoCommit()) {
+				database.commit();
+			}
+		}
+	}
+
+	/**
+	 * Sets the earliest time at which a region may contain a chunk eligible for deletion.
+	 *
+	 * @param regionKey the region key
+	 * @param eligible the earliest eligible time
+	 * @param duration the flag duration the time was calculated with
+	 * @param deleteFresh whether freshly generated chunks could be deleted when the time was calculated
+	 * @see ChunkKeys#getRegionKey(long)
+	 */
+	public void setEligible(long regionKey, long eligible, long duration, boolean deleteFresh) {
+		queue(regionKey, new Entry(eligible, duration, deleteFresh));
+	}
+
+	/**
+	 * Removes a region from the index so that it is checked during the next deletion cycle.
+	 *
+	 * @param regionKey the region key
+	 * @see ChunkKeys#getRegionKey(long)
+	 */
+	public void invalidate(long regionKey) {
+		queue(regionKey, null);
+	}
+
+	private void queue(long regionKey, @Nullable Entry entry) {
+		boolean flush;
+		synchronized (pending) {
+			// Null values are not permitted, so removals are stored as a marker entry.
+			pending.put(regionKey, entry == null ? Entry.REMOVED : entry);
+			flush = pending.size() >= FLUSH_THRESHOLD;
+		}
+		if (flush) {
+			try {
+				flush();
+			} catch (SQLException e) {
+				// Entries remain queued and will be retried on next flush.
+				logger.log(Level.WARNING, "Exception saving region index", e);
+			}
+		}
+	}
+
+	/**
+	 * Gets the regions in a world that cannot yet contain chunks eligible for deletion.
+	 *
+	 * @param worldName the world name
+	 * @param now the current time
+	 * @param duration the current flag duration
+	 * @param deleteFresh whether freshly generated chunks may currently be deleted
+	 * @return the keys of the regions that are not yet eligible
+	 * @throws SQLException if the index cannot be read
+	 */
+	public @NotNull LongHashSet getIneligible(@NotNull String worldName, long now, long duration, boolean deleteFresh)
+			throws SQLException {
+		flush();
+		int worldId = chunkKeys.getWorldId(worldName);
+		return connections.read(connection -> {
+			LongHashSet regions = new LongHashSet();
+			if (connection.isClosed()) {
+				return regions;
+			}
+
+			try (PreparedStatement st = connection.prepareStatement("SELECT region_x, region_z FROM regionindex WHERE world=? AND eligible>? AND duration=? AND fresh=?")) {
+				st.setString(1, worldName);
+				st.setLong(2, now);
+				st.setLong(3, duration);
+				st.setBoolean(4, deleteFresh);
+				try (ResultSet rs = st.executeQuery()) {
+					while (rs.next()) {
+						regions.add(ChunkKeys.packRegionIndex(worldId, rs.getInt(1), rs.getInt(2), 0));
+					}
+				}
+			}
+			return regions;
+		});
+	}
+
+	/**
+	 * Writes all queued changes.
+	 *
+	 * @throws SQLException if the changes cannot be written
+	 */
+	public void flush() throws SQLException {
+		long[] keys;
+		Entry[] entries;
+		synchronized (pending) {
+			if (pending.isEmpty()) {
+				return;
+			}
+			keys = pending.keys();
+			entries = new Entry[keys.length];
+			for (int i = 0; i < keys.length; ++i) {
+				entries[i] = pending.get(keys[i]);
+			}
+			pending.clear();
+		}
+
+		try {
+			synchronized (database) {
+				try (PreparedStatement replace = database.prepareStatement("INSERT OR REPLACE INTO regionindex(world,region_x,region_z,eligible,duration,fresh) VALUES (?,?,?,?,?,?)");
+						PreparedStatement delete = database.prepareStatement("DELETE FROM regionindex WHERE world=? AND region_x=? AND region_z=?")) {
+					for (int i = 0; i < keys.length; ++i) {
+						PreparedStatement st = entries[i] == Entry.REMOVED ? delete : replace;
+						setRegion(st, keys[i]);
+						if (st == replace) {
+							replace.setLong(4, entries[i].eligible());
+							replace.setLong(5, entries[i].duration());
+							replace.setBoolean(6, entries[i].deleteFresh());
+						}
+						st.addBatch();
+					}
+					delete.executeBatch();
+					replace.executeBatch();
+				}
+				database.commit();
+			}
+		} catch (SQLException e) {
+			// Re-queue changes that have not been superseded.
+			synchronized (pending) {
+				for (int i = 0; i < keys.length; ++i) {
+					if (!pending.containsKey(keys[i])) {
+						pending.put(keys[i], entries[i]);
+					}
+				}
+			}
+			throw e;
+		}
+	}
+
+	private void setRegion(@NotNull PreparedStatement statement, long regionKey) throws SQLException {
+		statement.setString(1, chunkKeys.getWorldName(ChunkKeys.getWorldId(regionKey)));
+		statement.setInt(2, ChunkKeys.getChunkX(regionKey) >> ChunkKeys.REGION_BITS);
+		statement.setInt(3, ChunkKeys.getChunkZ(regionKey) >> ChunkKeys.REGION_BITS);
+	}
+
+	private record Entry(long eligible, long duration, boolean deleteFresh) {
+		private static final Entry REMOVED = new Entry(Long.MIN_VALUE, 0, false);
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.database;
+
+import com.github.jikoo.regionerator.util.yaml.Config;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An aggregate of the timestamps of a region's chunks.
+ *
+ * <p>Freshly generated chunks are counted separately rather than included in the minimum and maximum visit times.
+ *
+ * @param minVisit the earliest visit timestamp, or {@link Long#MAX_VALUE} if all chunks are freshly generated
+ * @param maxVisit the latest visit timestamp, or {@link Config#FLAG_DEFAULT} if no chunks are visited
+ * @param eternal the number of chunks flagged eternally
+ * @param generated the number of freshly generated chunks
+ */
+public record RegionSummary(long minVisit, long maxVisit, int eternal, int generated) {
+
+	/** A summary of a region with no visited chunks. */
+	public static final RegionSummary EMPTY = new RegionSummary(Config.FLAG_DEFAULT, Config.FLAG_DEFAULT, 0, 0);
+
+	/**
+	 * Summarizes a region's timestamps.
+	 *
+	 * @param values the timestamps of the region's chunks
+	 * @return the summary
+	 */
+	public static @NotNull RegionSummary of(long @NotNull [] values) {
+		long min = Long.MAX_VALUE;
+		long max = Config.FLAG_DEFAULT;
+		int eternal = 0;
+		int generated = 0;
+		for (long value : values) {
+			if (value == Long.MAX_VALUE) {
+				++generated;
+				continue;
+			}
+			if (value == Config.FLAG_ETERNAL) {
+				++eternal;
+			}
+			min = Math.min(min, value);
+			max = Math.max(max, value);
+		}
+		return new RegionSummary(min, max, eternal, generated);
+	}
+
+	/**
+	 * Gets a summary including a timestamp.
+	 *
+	 * <p>Timestamps cannot be removed from a summary, so the minimum visit time of the result is a lower bound.
+	 *
+	 * @param value the timestamp
+	 * @return the summary
+	 */
+	public @NotNull RegionSummary with(long value) {
+		if (value == Long.MAX_VALUE) {
+			return new RegionSummary(minVisit, maxVisit, eternal, generated + 1);
+		}
+		return new RegionSummary(
+				Math.min(minVisit, value),
+				Math.max(maxVisit, value),
+				value == Config.FLAG_ETERNAL ? eternal + 1 : eternal,
+				generated);
+	}
+
+	/**
+	 * Combines two summaries of the same region. The result is at least as conservative as either summary.
+	 *
+	 * @param other the other summary
+	 * @return the combined summary
+	 */
+	public @NotNull RegionSummary merge(@NotNull RegionSummary other) {
+		return new RegionSummary(
+				Math.min(minVisit, other.minVisit),
+				Math.max(maxVisit, other.maxVisit),
+				Math.max(eternal, other.eternal),
+				Math.max(generated, other.generated));
+	}
+
+	/**
+	 * Gets whether every chunk in the region is visited. If so, no chunk in the region is eligible for deletion.
+	 *
+	 * @param now the current time
+	 * @param deleteFresh whether freshly generated chunks may be deleted
+	 * @return true if all chunks are visited
+	 */
+	public boolean isVisited(long now, boolean deleteFresh) {
+		return minVisit > now && (generated == 0 || !deleteFresh);
+	}
+
+}
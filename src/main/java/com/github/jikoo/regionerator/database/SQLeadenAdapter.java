@@ -12,13 +12,17 @@ package com.github.jikoo.regionerator.database;
 
 import com.github.jikoo.regionerator.ChunkFlagger;
 import com.github.jikoo.regionerator.Regionerator;
+import com.github.jikoo.regionerator.util.ChunkKeys;
 import com.github.jikoo.regionerator.util.yaml.Config;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.logging.Level;
 import org.jetbrains.annotations.NotNull;
 
@@ -27,12 +31,22 @@ import org.jetbrains.annotations.NotNull;
  */
 public class SQLeadenAdapter implements DatabaseAdapter {
 
+	private static final int QUERY_BATCH_SIZE = 512;
+
 	private final @NotNull Regionerator plugin;
+	final @NotNull DatabaseMetrics metrics;
+	final @NotNull ChunkKeys chunkKeys;
+	final @NotNull ConnectionPool connections;
 	final @NotNull Connection database;
+	private final @NotNull RegionIndex regionIndex;
+	private final @NotNull ProtectionCache protectionCache;
 
-	SQLeadenAdapter(@NotNull Regionerator plugin, @NotNull Connection database) throws SQLException {
+	SQLeadenAdapter(@NotNull Regionerator plugin, @NotNull ChunkKeys chunkKeys, @NotNull ConnectionPool connections) throws SQLException {
 		this.plugin = plugin;
-		this.database = database;
+		this.metrics = new DatabaseMetrics(plugin.getMetrics());
+		this.chunkKeys = chunkKeys;
+		this.connections = connections;
+		this.database = connections.getWriter();
 
 		// Set up database
 		try (Statement st = database.createStatement()) {
@@ -40,52 +54,76 @@ public class SQLeadenAdapter implements DatabaseAdapter {
 		}
 
 		database.setAutoCommit(false);
+
+		regionIndex = new RegionIndex(plugin.getLogger(), chunkKeys, connections);
+		protectionCache = new ProtectionCache(plugin.getLogger(), chunkKeys, connections);
 	}
 
 	@Override
 	public void close() {
-		synchronized (database) {
-			try {
-				database.commit();
-				database.close();
-			} catch (SQLException e) {
-				plugin.getLogger().log(Level.SEVERE, "Exception committing to and closing DB connection", e);
-			}
+		try {
+			regionIndex.flush();
+		} catch (SQLException e) {
+			plugin.getLogger().log(Level.WARNING, "Exception saving region index", e);
+		}
+		try {
+			protectionCache.flush();
+		} catch (SQLException e) {
+			plugin.getLogger().log(Level.WARNING, "Exception saving protection cache", e);
+		}
+		try {
+			connections.close();
+		} catch (SQLException e) {
+			plugin.getLogger().log(Level.SEVERE, "Exception committing to and closing DB connection", e);
 		}
 	}
 
 	@Override
 	public void update(@NotNull Collection<ChunkFlagger.FlagData> flags) throws SQLException {
+		long start = System.nanoTime();
 		synchronized (database) {
 			try (PreparedStatement boyIWishThisWasAnUpsert = database.prepareStatement("INSERT OR REPLACE INTO chunkdata(chunk_id,time) VALUES (?, MAX(COALESCE((SELECT time FROM chunkdata WHERE chunk_id=?),0),?))");
 				PreparedStatement deleteForeverBecauseReplaceEqualsDeleteThenInsertFrownyFace = database.prepareStatement("DELETE FROM chunkdata WHERE chunk_id=?")) {
 				for (ChunkFlagger.FlagData data : flags) {
+					String chunkId = chunkKeys.getLegacyId(data.getChunkKey());
 					if (data.getLastVisit() == Config.FLAG_DEFAULT) {
-						deleteForeverBecauseReplaceEqualsDeleteThenInsertFrownyFace.setString(1, data.getChunkId());
+						deleteForeverBecauseReplaceEqualsDeleteThenInsertFrownyFace.setString(1, chunkId);
 						deleteForeverBecauseReplaceEqualsDeleteThenInsertFrownyFace.addBatch();
 					} else {
-						boyIWishThisWasAnUpsert.setString(1, data.getChunkId());
-						boyIWishThisWasAnUpsert.setString(2, data.getChunkId());
+						boyIWishThisWasAnUpsert.setString(1, chunkId);
+						boyIWishThisWasAnUpsert.setString(2, chunkId);
 						boyIWishThisWasAnUpsert.setLong(3, data.getLastVisit());
 						boyIWishThisWasAnUpsert.addBatch();
 					}
 				}
 				deleteForeverBecauseReplaceEqualsDeleteThenInsertFrownyFace.executeBatch();
 				boyIWishThisWasAnUpsert.executeBatch();
-				this.database.commit();
+				metrics.commit(this.database);
 			}
 		}
+		metrics.recordUpdate(flags.size(), start);
 	}
 
 	@Override
-	public long get(@NotNull String identifier) throws SQLException {
-		synchronized (database) {
-			if (database.isClosed()) {
+	public @NotNull RegionIndex getRegionIndex() {
+		return regionIndex;
+	}
+
+	@Override
+	public @NotNull ProtectionCache getProtectionCache() {
+		return protectionCache;
+	}
+
+	@Override
+	public long get(long chunkKey) throws SQLException {
+		String chunkId = chunkKeys.getLegacyId(chunkKey);
+		return connections.read(connection -> {
+			if (connection.isClosed()) {
 				return Config.FLAG_OH_NO;
 			}
 
-			try (PreparedStatement st = database.prepareStatement("SELECT time FROM chunkdata WHERE chunk_id=?")) {
-				st.setString(1, identifier);
+			try (PreparedStatement st = connection.prepareStatement("SELECT time FROM chunkdata WHERE chunk_id=?")) {
+				st.setString(1, chunkId);
 				try (ResultSet rs = st.executeQuery()) {
 					if (rs.next()) {
 						return rs.getLong(1);
@@ -94,7 +132,74 @@ public class SQLeadenAdapter implements DatabaseAdapter {
 					}
 				}
 			}
+		});
+	}
+
+	@Override
+	public long @NotNull [] getAll(long @NotNull [] keys) throws SQLException {
+		String[] chunkIds = new String[keys.length];
+		for (int i = 0; i < keys.length; ++i) {
+			chunkIds[i] = chunkKeys.getLegacyId(keys[i]);
+		}
+		String[] distinctIds = Arrays.stream(chunkIds).distinct().toArray(String[]::new);
+		Map<String, Long> times = new HashMap<>();
+
+		boolean closed = connections.read(connection -> {
+			if (connection.isClosed()) {
+				return true;
+			}
+
+			// Query in chunks to stay well below SQLite's variable limit.
+			int offset = 0;
+			if (distinctIds.length >= QUERY_BATCH_SIZE) {
+				try (PreparedStatement st = connection.prepareStatement(getInQuery(QUERY_BATCH_SIZE))) {
+					for (; offset + QUERY_BATCH_SIZE <= distinctIds.length; offset += QUERY_BATCH_SIZE) {
+						queryTimes(st, distinctIds, offset, QUERY_BATCH_SIZE, times);
+					}
+				}
+			}
+			if (offset < distinctIds.length) {
+				int size = distinctIds.length - offset;
+				try (PreparedStatement st = connection.prepareStatement(getInQuery(size))) {
+					queryTimes(st, distinctIds, offset, size, times);
+				}
+			}
+			return false;
+		});
+
+		long[] values = new long[keys.length];
+		for (int i = 0; i < chunkIds.length; ++i) {
+			values[i] = closed ? Config.FLAG_OH_NO : times.getOrDefault(chunkIds[i], Config.FLAG_DEFAULT);
+		}
+		return values;
+	}
+
+	private static void queryTimes(@NotNull PreparedStatement statement, String @NotNull [] chunkIds, int offset,
+			int size, @NotNull Map<String, Long> times) throws SQLException {
+		for (int i = 0; i < size; ++i) {
+			statement.setString(i + 1, chunkIds[offset + i]);
+		}
+		try (ResultSet rs = statement.executeQuery()) {
+			while (rs.next()) {
+				times.put(rs.getString(1), rs.getLong(2));
+			}
+		}
+	}
+
+	private static @NotNull String getInQuery(int size) {
+		return "SELECT chunk_id, time FROM chunkdata WHERE chunk_id IN (" + "?,".repeat(size - 1) + "?)";
+	}
+
+	@Override
+	public long @NotNull [] getRegion(long regionKey) throws SQLException {
+		int worldId = ChunkKeys.getWorldId(regionKey);
+		int regionX = ChunkKeys.getChunkX(regionKey) >> ChunkKeys.REGION_BITS;
+		int regionZ = ChunkKeys.getChunkZ(regionKey) >> ChunkKeys.REGION_BITS;
+		long[] keys = new long[1 << (ChunkKeys.REGION_BITS * 2)];
+		for (int index = 0; index < keys.length; ++index) {
+			keys[index] = ChunkKeys.packRegionIndex(worldId, regionX, regionZ, index);
 		}
+		return getAll(keys);
 	}
 
 }
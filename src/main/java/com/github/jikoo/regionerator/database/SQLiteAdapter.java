@@ -12,10 +12,10 @@ package com.github.jikoo.regionerator.database;
 
 import com.github.jikoo.regionerator.ChunkFlagger;
 import com.github.jikoo.regionerator.Regionerator;
+import com.github.jikoo.regionerator.util.ChunkKeys;
 import com.github.jikoo.regionerator.util.yaml.Config;
 import org.jetbrains.annotations.NotNull;
 
-import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -27,8 +27,8 @@ import java.util.Collection;
  */
 public class SQLiteAdapter extends SQLeadenAdapter {
 
-	SQLiteAdapter(@NotNull Regionerator plugin, @NotNull Connection database) throws SQLException {
-		super(plugin, database);
+	SQLiteAdapter(@NotNull Regionerator plugin, @NotNull ChunkKeys chunkKeys, @NotNull ConnectionPool connections) throws SQLException {
+		super(plugin, chunkKeys, connections);
 
 		// Set up triggers
 		try (Statement st = database.createStatement()) {
@@ -55,24 +55,27 @@ public class SQLiteAdapter extends SQLeadenAdapter {
 
 	@Override
 	public void update(@NotNull Collection<ChunkFlagger.FlagData> flags) throws SQLException {
+		long start = System.nanoTime();
 		synchronized (database) {
 			try (PreparedStatement upsert = database.prepareStatement("INSERT INTO chunkdata(chunk_id,time) VALUES (?,?) ON CONFLICT(chunk_id) DO UPDATE SET time=excluded.time WHERE excluded.time>chunkdata.time");
 				PreparedStatement delete = database.prepareStatement("DELETE FROM chunkdata WHERE chunk_id=?")) {
 				for (ChunkFlagger.FlagData data : flags) {
+					String chunkId = chunkKeys.getLegacyId(data.getChunkKey());
 					if (data.getLastVisit() == Config.FLAG_DEFAULT) {
-						delete.setString(1, data.getChunkId());
+						delete.setString(1, chunkId);
 						delete.addBatch();
 					} else {
-						upsert.setString(1, data.getChunkId());
+						upsert.setString(1, chunkId);
 						upsert.setLong(2, data.getLastVisit());
 						upsert.addBatch();
 					}
 				}
 				delete.executeBatch();
 				upsert.executeBatch();
-				this.database.commit();
+				metrics.commit(this.database);
 			}
 		}
+		metrics.recordUpdate(flags.size(), start);
 	}
 
 }
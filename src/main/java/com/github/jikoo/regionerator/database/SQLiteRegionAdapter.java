@@ -0,0 +1,480 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.database;
+
+import com.github.jikoo.regionerator.ChunkFlagger;
+import com.github.jikoo.regionerator.Regionerator;
+import com.github.jikoo.regionerator.util.ChunkKeys;
+import com.github.jikoo.regionerator.util.collection.LongObjectHashMap;
+import com.github.jikoo.regionerator.util.metrics.MetricsRegistry;
+import com.github.jikoo.regionerator.util.yaml.Config;
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Adapter storing the timestamps of all chunks in a region in a single row.
+ */
+public class SQLiteRegionAdapter implements DatabaseAdapter {
+
+	static final int REGION_CHUNKS = 1 << (ChunkKeys.REGION_BITS * 2);
+	private static final int MIGRATION_BATCH_SIZE = 256;
+
+	private final @NotNull Logger logger;
+	private final @NotNull DatabaseMetrics metrics;
+	final @NotNull ChunkKeys chunkKeys;
+	final @NotNull ConnectionPool connections;
+	final @NotNull Connection database;
+	private final @NotNull RegionIndex regionIndex;
+	private final @NotNull ProtectionCache protectionCache;
+
+	SQLiteRegionAdapter(@NotNull Regionerator plugin, @NotNull ChunkKeys chunkKeys, @NotNull ConnectionPool connections) throws SQLException {
+		this(plugin.getLogger(), plugin.getMetrics(), chunkKeys, connections);
+	}
+
+	SQLiteRegionAdapter(@NotNull Logger logger, @NotNull MetricsRegistry metrics, @NotNull ChunkKeys chunkKeys,
+			@NotNull ConnectionPool connections) throws SQLException {
+		this.logger = logger;
+		this.metrics = new DatabaseMetrics(metrics);
+		this.chunkKeys = chunkKeys;
+		this.connections = connections;
+		this.database = connections.getWriter();
+
+		// Set up database
+		try (Statement st = database.createStatement()) {
+			st.executeUpdate("CREATE TABLE IF NOT EXISTS `regiondata`(`world` TEXT NOT NULL, `region_x` INTEGER NOT NULL, `region_z` INTEGER NOT NULL, `data` BLOB NOT NULL, `old_data` BLOB, `min_visit` INTEGER, `max_visit` INTEGER, `eternal` INTEGER, `generated` INTEGER, PRIMARY KEY(`world`, `region_x`, `region_z`))");
+		}
+
+		addSummaryColumns();
+
+		database.setAutoCommit(false);
+
+		regionIndex = new RegionIndex(logger, chunkKeys, connections);
+		protectionCache = new ProtectionCache(logger, chunkKeys, connections);
+
+		convertChunkData();
+	}
+
+	/**
+	 * Converts data stored with the chunk layout.
+	 *
+	 * @throws SQLException if the conversion fails
+	 */
+	private void convertChunkData() throws SQLException {
+		try (Statement st = database.createStatement();
+				ResultSet rs = st.executeQuery("SELECT name FROM sqlite_master WHERE type='table' AND name='chunkdata'")) {
+			if (!rs.next()) {
+				return;
+			}
+		}
+
+		logger.info("Beginning converting chunk data to region storage.");
+
+		LongObjectHashMap<RegionData> pending = new LongObjectHashMap<>();
+		int converted = 0;
+		try (Statement st = database.createStatement();
+				ResultSet rs = st.executeQuery("SELECT chunk_id, time FROM chunkdata")) {
+			while (rs.next()) {
+				long chunkKey = parseChunkId(rs.getString(1));
+				long time = rs.getLong(2);
+				if (chunkKey == -1 || time == Config.FLAG_DEFAULT) {
+					// Invalid data, skip
+					continue;
+				}
+
+				long regionKey = ChunkKeys.getRegionKey(chunkKey);
+				RegionData regionData = pending.get(regionKey);
+				if (regionData == null) {
+					regionData = load(regionKey);
+					pending.put(regionKey, regionData);
+				}
+				regionData.merge(chunkKey, time);
+				++converted;
+
+				if (pending.size() >= MIGRATION_BATCH_SIZE) {
+					save(pending);
+					pending.clear();
+				}
+			}
+		}
+		save(pending);
+
+		try (Statement st = database.createStatement()) {
+			st.executeUpdate("DROP TRIGGER IF EXISTS chunkdataold");
+			st.executeUpdate("DROP TABLE IF EXISTS chunkdata_bak");
+			st.executeUpdate("ALTER TABLE chunkdata RENAME TO chunkdata_bak");
+		}
+		database.commit();
+
+		logger.info(String.format("Finished converting %s chunks, renamed table chunkdata to chunkdata_bak. Drop at convenience if all appears well.", converted));
+	}
+
+	/**
+	 * Adds region summary columns to tables created before summaries were stored. Existing rows are summarized from
+	 * their data when read until they are next saved.
+	 *
+	 * @throws SQLException if the columns cannot be added
+	 */
+	private void addSummaryColumns() throws SQLException {
+		try (Statement st = database.createStatement();
+				ResultSet rs = st.executeQuery("PRAGMA table_info(regiondata)")) {
+			while (rs.next()) {
+				if ("min_visit".equals(rs.getString("name"))) {
+					return;
+				}
+			}
+		}
+
+		try (Statement st = database.createStatement()) {
+			st.executeUpdate("ALTER TABLE regiondata ADD COLUMN `min_visit` INTEGER");
+			st.executeUpdate("ALTER TABLE regiondata ADD COLUMN `max_visit` INTEGER");
+			st.executeUpdate("ALTER TABLE regiondata ADD COLUMN `eternal` INTEGER");
+			st.executeUpdate("ALTER TABLE regiondata ADD COLUMN `generated` INTEGER");
+		}
+	}
+
+	/**
+	 * Parses a chunk identifier in the format {@code world_x_z} or {@code world_x_z_old}.
+	 *
+	 * @param chunkId the chunk identifier
+	 * @return the chunk key or -1 if the identifier is invalid
+	 */
+	long parseChunkId(@Nullable String chunkId) {
+		if (chunkId == null) {
+			return -1;
+		}
+
+		boolean old = chunkId.endsWith("_old");
+		if (old) {
+			chunkId = chunkId.substring(0, chunkId.length() - 4);
+		}
+
+		// World names may contain underscores, so parse coordinates from the end.
+		int zSeparator = chunkId.lastIndexOf('_');
+		int xSeparator = zSeparator > 0 ? chunkId.lastIndexOf('_', zSeparator - 1) : -1;
+		if (xSeparator < 1) {
+			return -1;
+		}
+
+		try {
+			int chunkX = Integer.parseInt(chunkId.substring(xSeparator + 1, zSeparator));
+			int chunkZ = Integer.parseInt(chunkId.substring(zSeparator + 1));
+			long chunkKey = chunkKeys.getKey(chunkId.substring(0, xSeparator), chunkX, chunkZ);
+			return old ? ChunkKeys.toOld(chunkKey) : chunkKey;
+		} catch (IllegalArgumentException e) {
+			// Includes NumberFormatException
+			return -1;
+		}
+	}
+
+	@Override
+	public void close() {
+		try {
+			regionIndex.flush();
+		} catch (SQLException e) {
+			logger.log(Level.WARNING, "Exception saving region index", e);
+		}
+		try {
+			protectionCache.flush();
+		} catch (SQLException e) {
+			logger.log(Level.WARNING, "Exception saving protection cache", e);
+		}
+		try {
+			connections.close();
+		} catch (SQLException e) {
+			logger.log(Level.SEVERE, "Exception committing to and closing DB connection", e);
+		}
+	}
+
+	@Override
+	public void update(@NotNull Collection<ChunkFlagger.FlagData> flags) throws SQLException {
+		long start = System.nanoTime();
+		LongObjectHashMap<List<ChunkFlagger.FlagData>> regions = new LongObjectHashMap<>();
+		for (ChunkFlagger.FlagData data : flags) {
+			regions.computeIfAbsent(ChunkKeys.getRegionKey(data.getChunkKey()), key -> new ArrayList<>()).add(data);
+		}
+
+		synchronized (database) {
+			LongObjectHashMap<RegionData> regionData = new LongObjectHashMap<>(regions.size());
+			for (long regionKey : regions.keys()) {
+				RegionData region = load(regionKey);
+				for (ChunkFlagger.FlagData data : regions.get(regionKey)) {
+					region.update(data.getChunkKey(), data.getLastVisit());
+				}
+				regionData.put(regionKey, region);
+			}
+			save(regionData);
+			metrics.commit(this.database);
+		}
+		metrics.recordUpdate(flags.size(), start);
+	}
+
+	@Override
+	public @NotNull RegionIndex getRegionIndex() {
+		return regionIndex;
+	}
+
+	@Override
+	public @NotNull ProtectionCache getProtectionCache() {
+		return protectionCache;
+	}
+
+	@Override
+	public long get(long chunkKey) throws SQLException {
+		return connections.read(connection -> {
+			if (connection.isClosed()) {
+				return Config.FLAG_OH_NO;
+			}
+
+			try (PreparedStatement st = connection.prepareStatement("SELECT data, old_data FROM regiondata WHERE world=? AND region_x=? AND region_z=?")) {
+				setRegion(st, chunkKey);
+				try (ResultSet rs = st.executeQuery()) {
+					if (!rs.next()) {
+						return Config.FLAG_DEFAULT;
+					}
+					byte[] blob = rs.getBytes(ChunkKeys.isOld(chunkKey) ? 2 : 1);
+					if (blob == null || blob.length != REGION_CHUNKS * Long.BYTES) {
+						return Config.FLAG_DEFAULT;
+					}
+					return ByteBuffer.wrap(blob).getLong(ChunkKeys.getRegionIndex(chunkKey) * Long.BYTES);
+				}
+			}
+		});
+	}
+
+	@Override
+	public long @NotNull [] getRegion(long regionKey) throws SQLException {
+		return connections.read(connection -> {
+			if (connection.isClosed()) {
+				long[] region = new long[REGION_CHUNKS];
+				Arrays.fill(region, Config.FLAG_OH_NO);
+				return region;
+			}
+
+			try (PreparedStatement st = connection.prepareStatement("SELECT data FROM regiondata WHERE world=? AND region_x=? AND region_z=?")) {
+				setRegion(st, regionKey);
+				try (ResultSet rs = st.executeQuery()) {
+					return decode(rs.next() ? rs.getBytes(1) : null);
+				}
+			}
+		});
+	}
+
+	@Override
+	public boolean hasStoredSummaries() {
+		return true;
+	}
+
+	@Override
+	public @NotNull RegionSummary getSummary(long regionKey) throws SQLException {
+		return connections.read(connection -> {
+			if (connection.isClosed()) {
+				return new RegionSummary(Config.FLAG_OH_NO, Config.FLAG_OH_NO, 0, 0);
+			}
+
+			// Only read the data of rows saved before summaries were stored.
+			try (PreparedStatement st = connection.prepareStatement("SELECT min_visit, max_visit, eternal, generated, CASE WHEN min_visit IS NULL THEN data END FROM regiondata WHERE world=? AND region_x=? AND region_z=?")) {
+				setRegion(st, regionKey);
+				try (ResultSet rs = st.executeQuery()) {
+					if (!rs.next()) {
+						return RegionSummary.EMPTY;
+					}
+					long minVisit = rs.getLong(1);
+					if (rs.wasNull()) {
+						return RegionSummary.of(decode(rs.getBytes(5)));
+					}
+					return new RegionSummary(minVisit, rs.getLong(2), rs.getInt(3), rs.getInt(4));
+				}
+			}
+		});
+	}
+
+	@Override
+	public long @NotNull [] getAll(long @NotNull [] keys) throws SQLException {
+		// Group requested keys by region so each row is only read once.
+		LongObjectHashMap<List<Integer>> regions = new LongObjectHashMap<>();
+		for (int i = 0; i < keys.length; ++i) {
+			regions.computeIfAbsent(ChunkKeys.getRegionKey(keys[i]), regionKey -> new ArrayList<>()).add(i);
+		}
+
+		long[] values = new long[keys.length];
+		connections.read(connection -> {
+			if (connection.isClosed()) {
+				Arrays.fill(values, Config.FLAG_OH_NO);
+				return null;
+			}
+
+			try (PreparedStatement st = connection.prepareStatement("SELECT data, old_data FROM regiondata WHERE world=? AND region_x=? AND region_z=?")) {
+				for (long regionKey : regions.keys()) {
+					setRegion(st, regionKey);
+					long[] data;
+					long[] old;
+					try (ResultSet rs = st.executeQuery()) {
+						boolean exists = rs.next();
+						data = decode(exists ? rs.getBytes(1) : null);
+						old = decode(exists ? rs.getBytes(2) : null);
+					}
+					for (int i : regions.get(regionKey)) {
+						long key = keys[i];
+						values[i] = (ChunkKeys.isOld(key) ? old : data)[ChunkKeys.getRegionIndex(key)];
+					}
+				}
+			}
+			return null;
+		});
+		return values;
+	}
+
+	/**
+	 * Sets the first three parameters of a statement to the world and coordinates of a key's region.
+	 *
+	 * @param statement the statement
+	 * @param chunkKey the chunk key
+	 * @throws SQLException if the parameters cannot be set
+	 */
+	void setRegion(@NotNull PreparedStatement statement, long chunkKey) throws SQLException {
+		statement.setString(1, chunkKeys.getWorldName(ChunkKeys.getWorldId(chunkKey)));
+		statement.setInt(2, ChunkKeys.getChunkX(chunkKey) >> ChunkKeys.REGION_BITS);
+		statement.setInt(3, ChunkKeys.getChunkZ(chunkKey) >> ChunkKeys.REGION_BITS);
+	}
+
+	/**
+	 * Loads a region's stored data. Must be called while holding the database lock.
+	 *
+	 * @param regionKey the region key
+	 * @return the region data
+	 * @throws SQLException if the data cannot be loaded
+	 */
+	private @NotNull RegionData load(long regionKey) throws SQLException {
+		try (PreparedStatement st = database.prepareStatement("SELECT data, old_data FROM regiondata WHERE world=? AND region_x=? AND region_z=?")) {
+			setRegion(st, regionKey);
+			try (ResultSet rs = st.executeQuery()) {
+				if (rs.next()) {
+					return new RegionData(decode(rs.getBytes(1)), decode(rs.getBytes(2)));
+				}
+				return new RegionData(decode(null), decode(null));
+			}
+		}
+	}
+
+	/**
+	 * Writes regions' data. Must be called while holding the database lock. Does not commit.
+	 *
+	 * @param regions the regions to write
+	 * @throws SQLException if the data cannot be written
+	 */
+	private void save(@NotNull LongObjectHashMap<RegionData> regions) throws SQLException {
+		if (regions.isEmpty()) {
+			return;
+		}
+
+		try (PreparedStatement replace = database.prepareStatement("INSERT OR REPLACE INTO regiondata(world,region_x,region_z,data,old_data,min_visit,max_visit,eternal,generated) VALUES (?,?,?,?,?,?,?,?,?)");
+				PreparedStatement delete = database.prepareStatement("DELETE FROM regiondata WHERE world=? AND region_x=? AND region_z=?")) {
+			for (long regionKey : regions.keys()) {
+				RegionData region = regions.get(regionKey);
+				boolean hasOld = !isDefault(region.old);
+				if (!hasOld && isDefault(region.data)) {
+					setRegion(delete, regionKey);
+					delete.addBatch();
+				} else {
+					setRegion(replace, regionKey);
+					replace.setBytes(4, encode(region.data));
+					replace.setBytes(5, hasOld ? encode(region.old) : null);
+					RegionSummary summary = RegionSummary.of(region.data);
+					replace.setLong(6, summary.minVisit());
+					replace.setLong(7, summary.maxVisit());
+					replace.setInt(8, summary.eternal());
+					replace.setInt(9, summary.generated());
+					replace.addBatch();
+				}
+			}
+			delete.executeBatch();
+			replace.executeBatch();
+		}
+	}
+
+	private static boolean isDefault(long @NotNull [] values) {
+		for (long value : values) {
+			if (value != Config.FLAG_DEFAULT) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	static long @NotNull [] decode(byte @Nullable [] blob) {
+		long[] values = new long[REGION_CHUNKS];
+		if (blob == null || blob.length != REGION_CHUNKS * Long.BYTES) {
+			Arrays.fill(values, Config.FLAG_DEFAULT);
+		} else {
+			ByteBuffer.wrap(blob).asLongBuffer().get(values);
+		}
+		return values;
+	}
+
+	static byte @NotNull [] encode(long @NotNull [] values) {
+		ByteBuffer buffer = ByteBuffer.allocate(values.length * Long.BYTES);
+		buffer.asLongBuffer().put(values);
+		return buffer.array();
+	}
+
+	/**
+	 * Container for the current and as-of-deletion timestamps of a region's chunks.
+	 */
+	private record RegionData(long @NotNull [] data, long @NotNull [] old) {
+
+		/**
+		 * Applies a flag update. Mirrors the behavior of the chunk layout: timestamps only increase unless reset, and
+		 * reset timestamps are retained as the chunk's timestamp as of deletion.
+		 *
+		 * @param chunkKey the chunk key
+		 * @param time the new timestamp
+		 */
+		void update(long chunkKey, long time) {
+			int index = ChunkKeys.getRegionIndex(chunkKey);
+			if (ChunkKeys.isOld(chunkKey)) {
+				old[index] = Math.max(old[index], time);
+			} else if (time == Config.FLAG_DEFAULT) {
+				if (data[index] != Config.FLAG_DEFAULT) {
+					old[index] = data[index];
+					data[index] = Config.FLAG_DEFAULT;
+				}
+			} else {
+				data[index] = Math.max(data[index], time);
+			}
+		}
+
+		/**
+		 * Merges an imported timestamp.
+		 *
+		 * @param chunkKey the chunk key
+		 * @param time the imported timestamp
+		 */
+		void merge(long chunkKey, long time) {
+			int index = ChunkKeys.getRegionIndex(chunkKey);
+			long[] values = ChunkKeys.isOld(chunkKey) ? old : data;
+			values[index] = Math.max(values[index], time);
+		}
+
+	}
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.database;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+/**
+ * Layouts for storing chunk visit timestamps in the database.
+ */
+public enum StorageLayout {
+
+	/** One row per chunk. */
+	CHUNK,
+	/** One row per region containing all 1024 chunks' timestamps. */
+	REGION;
+
+	public static @NotNull StorageLayout of(@Nullable String value) {
+		// Conversion to the region layout cannot be reversed, so it must never be the result of a typo.
+		if (value == null) return CHUNK;
+
+		try {
+			return valueOf(value.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			return CHUNK;
+		}
+	}
+
+}
@@ -3,11 +3,24 @@ package com.github.jikoo.regionerator.hooks;
 import com.github.jikoo.planarwrappers.util.Coords;
 import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.api.events.island.IslandCreatedEvent;
+import world.bentobox.bentobox.api.events.island.IslandDeleteEvent;
+import world.bentobox.bentobox.api.events.island.IslandResettedEvent;
+import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.managers.IslandsManager;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.function.BiConsumer;
+
 
 /**
  * PluginHook for <a href="https://github.com/BentoBoxWorld/BentoBox">BentoBox</a> and its GameModes.
@@ -59,4 +72,76 @@ public class BentoBoxHook extends PluginHook
 		// Fallthrough.
 		return false;
 	}
+
+	@Override
+	public boolean isSnapshotCapable()
+	{
+		return true;
+	}
+
+	@Override
+	public @NotNull Collection<ProtectedArea> getProtectedAreas(@NotNull World world)
+	{
+		if (!BentoBox.getInstance().getIWM().inWorld(world))
+		{
+			return Collections.emptyList();
+		}
+
+		Collection<ProtectedArea> areas = new ArrayList<>();
+		for (Island island : BentoBox.getInstance().getIslandsManager().getIslands(world))
+		{
+			areas.add(getArea(island));
+		}
+		return areas;
+	}
+
+	@Override
+	public @NotNull Listener createChangeListener(@NotNull BiConsumer<String, ProtectedArea> changeHandler)
+	{
+		return new IslandListener(changeHandler);
+	}
+
+	private static @NotNull ProtectedArea getArea(@NotNull Island island)
+	{
+		// Match IslandsManager#getIslandAt, which covers the island's full space rather than only its protection range.
+		// Maximum coordinates are exclusive.
+		return new ProtectedArea(island.getMinX(), island.getMinZ(), island.getMaxX() - 1, island.getMaxZ() - 1);
+	}
+
+	private record IslandListener(@NotNull BiConsumer<String, ProtectedArea> changeHandler) implements Listener
+	{
+
+		@EventHandler(priority = EventPriority.MONITOR)
+		public void onIslandCreated(@NotNull IslandCreatedEvent event)
+		{
+			handle(event.getIsland());
+		}
+
+		@EventHandler(priority = EventPriority.MONITOR)
+		public void onIslandResetted(@NotNull IslandResettedEvent event)
+		{
+			handle(event.getIsland());
+		}
+
+		@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+		public void onIslandDelete(@NotNull IslandDeleteEvent event)
+		{
+			// The completion event for deletions does not include the island, so handle deletion as it starts.
+			handle(event.getIsland());
+		}
+
+		private void handle(@Nullable Island island)
+		{
+			if (island == null)
+			{
+				return;
+			}
+			World world = island.getWorld();
+			if (world != null)
+			{
+				changeHandler.accept(world.getName(), getArea(island));
+			}
+		}
+
+	}
 }
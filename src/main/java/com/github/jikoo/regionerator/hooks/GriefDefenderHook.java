@@ -13,9 +13,12 @@ package com.github.jikoo.regionerator.hooks;
 import com.griefdefender.api.GriefDefender;
 import com.griefdefender.api.claim.Claim;
 import com.griefdefender.api.claim.ClaimManager;
+import com.github.jikoo.planarwrappers.util.Coords;
 import org.bukkit.World;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.BitSet;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -40,6 +43,35 @@ public class GriefDefenderHook extends PluginHook {
 		return claims != null && !claims.isEmpty();
 	}
 
+	@Override
+	public boolean isRegionCapable() {
+		return true;
+	}
+
+	@Override
+	public @NotNull BitSet getProtectedChunks(@NotNull World world, int regionX, int regionZ) {
+		BitSet protectedChunks = new BitSet(CHUNKS_PER_REGION);
+		if (!GriefDefender.getCore().isEnabled(world.getUID())) {
+			return protectedChunks;
+		}
+		ClaimManager claimManager = GriefDefender.getCore().getClaimManager(world.getUID());
+		if (claimManager == null) {
+			return protectedChunks;
+		}
+
+		// Look up the claim manager's chunk index once for the whole region.
+		Map<Long, Set<Claim>> chunksToClaims = claimManager.getChunksToClaimsMap();
+		int lowestChunkX = Coords.regionToChunk(regionX);
+		int lowestChunkZ = Coords.regionToChunk(regionZ);
+		for (int index = 0; index < CHUNKS_PER_REGION; ++index) {
+			Set<Claim> claims = chunksToClaims.get(getChunkKey(lowestChunkX + index % CHUNKS_PER_AXIS, lowestChunkZ + index / CHUNKS_PER_AXIS));
+			if (claims != null && !claims.isEmpty()) {
+				protectedChunks.set(index);
+			}
+		}
+		return protectedChunks;
+	}
+
 	/**
 	 * Calculate key from chunk coordinates.
 	 * <p>
@@ -10,11 +10,22 @@
 
 package com.github.jikoo.regionerator.hooks;
 
+import com.github.jikoo.planarwrappers.util.Coords;
 import me.ryanhamshire.GriefPrevention.Claim;
 import me.ryanhamshire.GriefPrevention.GriefPrevention;
+import me.ryanhamshire.GriefPrevention.events.ClaimChangeEvent;
+import me.ryanhamshire.GriefPrevention.events.ClaimCreatedEvent;
+import me.ryanhamshire.GriefPrevention.events.ClaimDeletedEvent;
+import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.BitSet;
+import java.util.function.BiConsumer;
+
 /**
  * PluginHook for <a href="http://dev.bukkit.org/bukkit-plugins/grief-prevention/">GriefPrevention</a>.
  */
@@ -38,9 +49,73 @@ public class GriefPreventionHook extends PluginHook {
 		return false;
 	}
 
+	@Override
+	public boolean isRegionCapable() {
+		return true;
+	}
+
+	@Override
+	public @NotNull BitSet getProtectedChunks(@NotNull World world, int regionX, int regionZ) {
+		BitSet protectedChunks = new BitSet(CHUNKS_PER_REGION);
+		if (!GriefPrevention.instance.claimsEnabledForWorld(world)) {
+			return protectedChunks;
+		}
+
+		int lowestChunkX = Coords.regionToChunk(regionX);
+		int lowestChunkZ = Coords.regionToChunk(regionZ);
+		for (int index = protectedChunks.nextClearBit(0); index < CHUNKS_PER_REGION; index = protectedChunks.nextClearBit(index + 1)) {
+			int chunkX = lowestChunkX + index % CHUNKS_PER_AXIS;
+			int chunkZ = lowestChunkZ + index / CHUNKS_PER_AXIS;
+			for (Claim claim : GriefPrevention.instance.dataStore.getClaims(chunkX, chunkZ)) {
+				Location max = claim.getGreaterBoundaryCorner();
+				if (world.equals(max.getWorld())) {
+					// Claims are rectangular. Mark the entire claim at once to skip looking up its other chunks.
+					Location min = claim.getLesserBoundaryCorner();
+					markArea(protectedChunks, regionX, regionZ, min.getBlockX(), min.getBlockZ(), max.getBlockX(), max.getBlockZ());
+				}
+			}
+		}
+		return protectedChunks;
+	}
+
 	@Override
 	public boolean isAsyncCapable() {
 		return true;
 	}
 
+	@Override
+	public @NotNull Listener createChangeListener(@NotNull BiConsumer<String, ProtectedArea> changeHandler) {
+		return new ClaimListener(changeHandler);
+	}
+
+	private record ClaimListener(@NotNull BiConsumer<String, ProtectedArea> changeHandler) implements Listener {
+
+		@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+		public void onClaimCreated(@NotNull ClaimCreatedEvent event) {
+			handle(event.getClaim());
+		}
+
+		@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+		public void onClaimChange(@NotNull ClaimChangeEvent event) {
+			// Resizing frees the old area and protects the new one.
+			handle(event.getFrom());
+			handle(event.getTo());
+		}
+
+		@EventHandler(priority = EventPriority.MONITOR)
+		public void onClaimDeleted(@NotNull ClaimDeletedEvent event) {
+			handle(event.getClaim());
+		}
+
+		private void handle(@NotNull Claim claim) {
+			Location min = claim.getLesserBoundaryCorner();
+			Location max = claim.getGreaterBoundaryCorner();
+			World world = min.getWorld();
+			if (world != null) {
+				changeHandler.accept(world.getName(), new ProtectedArea(min.getBlockX(), min.getBlockZ(), max.getBlockX(), max.getBlockZ()));
+			}
+		}
+
+	}
+
 }
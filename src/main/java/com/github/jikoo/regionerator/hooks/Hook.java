@@ -11,15 +11,28 @@
 package com.github.jikoo.regionerator.hooks;
 
 import com.github.jikoo.planarwrappers.util.Coords;
+import com.github.jikoo.regionerator.util.ChunkKeys;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.event.Listener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.function.BiConsumer;
 
 /**
  * A framework for adapters allowing Regionerator to respect other systems.
  */
 public abstract class Hook {
 
+	/** The number of chunks along each axis of a region. */
+	protected static final int CHUNKS_PER_AXIS = 1 << ChunkKeys.REGION_BITS;
+	/** The number of chunks in a region. */
+	protected static final int CHUNKS_PER_REGION = CHUNKS_PER_AXIS * CHUNKS_PER_AXIS;
+
 	private final String protectionName;
 
 	/**
@@ -87,4 +100,112 @@ public abstract class Hook {
 	 */
 	public abstract boolean isChunkProtected(World chunkWorld, int chunkX, int chunkZ);
 
+	/**
+	 * Returns whether the Hook can check an entire region more efficiently than checking each chunk.
+	 *
+	 * @return true if {@link #getProtectedChunks(World, int, int)} is implemented natively
+	 */
+	public boolean isRegionCapable() {
+		return false;
+	}
+
+	/**
+	 * Gets the chunks in a region that contain data from the hooked system.
+	 *
+	 * <p>By default, each chunk is checked individually. Hooks backed by a spatial index should override this to query
+	 * the whole region at once and override {@link #isRegionCapable()} to return true.
+	 *
+	 * @param world the region {@link World}
+	 * @param regionX the region X coordinate
+	 * @param regionZ the region Z coordinate
+	 * @return a bitmap of protected chunks by index within the region
+	 * @see ChunkKeys#getRegionIndex(long)
+	 */
+	public @NotNull BitSet getProtectedChunks(@NotNull World world, int regionX, int regionZ) {
+		int lowestChunkX = Coords.regionToChunk(regionX);
+		int lowestChunkZ = Coords.regionToChunk(regionZ);
+		BitSet protectedChunks = new BitSet(CHUNKS_PER_REGION);
+		for (int index = 0; index < CHUNKS_PER_REGION; ++index) {
+			int chunkX = lowestChunkX + index % CHUNKS_PER_AXIS;
+			int chunkZ = lowestChunkZ + index / CHUNKS_PER_AXIS;
+			if (isChunkProtected(world, chunkX, chunkZ)) {
+				protectedChunks.set(index);
+			}
+		}
+		return protectedChunks;
+	}
+
+	/**
+	 * Returns whether the Hook can export a snapshot of the areas it protects for a {@link ProtectionIndex}. Snapshots
+	 * are only used if the Hook also reports changes via {@link #createChangeListener(BiConsumer)}.
+	 *
+	 * @return true if {@link #getProtectedAreas(World)} is supported
+	 */
+	public boolean isSnapshotCapable() {
+		return false;
+	}
+
+	/**
+	 * Gets a snapshot of the areas protected in a world. Only called on the main thread.
+	 *
+	 * @param world the {@link World}
+	 * @return the bounding boxes of all protected areas in the world
+	 * @throws UnsupportedOperationException if the Hook is not capable of exporting snapshots
+	 */
+	public @NotNull Collection<ProtectedArea> getProtectedAreas(@NotNull World world) {
+		throw new UnsupportedOperationException(getProtectionName() + " does not support snapshots");
+	}
+
+	/**
+	 * Creates a {@link Listener} reporting changes to the areas protected by the hooked system so that cached results
+	 * can be discarded. Changes should include both the previous and new bounds of any modified protection.
+	 *
+	 * @param changeHandler the handler accepting the world name and bounds of each changed area
+	 * @return the listener or null if the hooked system does not report changes
+	 */
+	public @Nullable Listener createChangeListener(@NotNull BiConsumer<String, ProtectedArea> changeHandler) {
+		return null;
+	}
+
+	/**
+	 * Gets the index of a chunk within its region.
+	 *
+	 * @param chunkX the chunk X coordinate
+	 * @param chunkZ the chunk Z coordinate
+	 * @return the index of the chunk within its region
+	 * @see ChunkKeys#getRegionIndex(long)
+	 */
+	protected static int getRegionIndex(int chunkX, int chunkZ) {
+		return (chunkZ & CHUNKS_PER_AXIS - 1) << ChunkKeys.REGION_BITS | chunkX & CHUNKS_PER_AXIS - 1;
+	}
+
+	/**
+	 * Marks all chunks of a region overlapping an area as protected.
+	 *
+	 * @param protectedChunks the bitmap of protected chunks in the region
+	 * @param regionX the region X coordinate
+	 * @param regionZ the region Z coordinate
+	 * @param minBlockX the minimum block X coordinate of the area, inclusive
+	 * @param minBlockZ the minimum block Z coordinate of the area, inclusive
+	 * @param maxBlockX the maximum block X coordinate of the area, inclusive
+	 * @param maxBlockZ the maximum block Z coordinate of the area, inclusive
+	 */
+	protected static void markArea(@NotNull BitSet protectedChunks, int regionX, int regionZ,
+			int minBlockX, int minBlockZ, int maxBlockX, int maxBlockZ) {
+		int lowestChunkX = Coords.regionToChunk(regionX);
+		int lowestChunkZ = Coords.regionToChunk(regionZ);
+		int minX = Math.max(0, Coords.blockToChunk(minBlockX) - lowestChunkX);
+		int minZ = Math.max(0, Coords.blockToChunk(minBlockZ) - lowestChunkZ);
+		int maxX = Math.min(CHUNKS_PER_AXIS - 1, Coords.blockToChunk(maxBlockX) - lowestChunkX);
+		int maxZ = Math.min(CHUNKS_PER_AXIS - 1, Coords.blockToChunk(maxBlockZ) - lowestChunkZ);
+		if (minX > maxX) {
+			// Area does not overlap region.
+			return;
+		}
+		for (int localZ = minZ; localZ <= maxZ; ++localZ) {
+			int rowStart = localZ << ChunkKeys.REGION_BITS;
+			protectedChunks.set(rowStart + minX, rowStart + maxX + 1);
+		}
+	}
+
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.hooks;
+
+import com.github.jikoo.regionerator.util.metrics.Counter;
+import com.github.jikoo.regionerator.util.metrics.Gauge;
+import com.github.jikoo.regionerator.util.metrics.Histogram;
+import com.github.jikoo.regionerator.util.metrics.MetricsRegistry;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metrics recording the cost and selectivity of queries made to {@link Hook Hooks}.
+ *
+ * <p>Metrics are registered per hook under {@code hooks.<name>.}, so hooks that slow down deletion can be identified.
+ * Queries should be made through this class rather than directly so that they are recorded.
+ */
+public class HookMetrics {
+
+	private final @NotNull MetricsRegistry registry;
+	private final @NotNull Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+	public HookMetrics(@NotNull MetricsRegistry registry) {
+		this.registry = registry;
+	}
+
+	/**
+	 * Checks whether a chunk is protected by a {@link Hook}, recording the query.
+	 *
+	 * @param hook the hook
+	 * @param world the chunk {@link World}
+	 * @param chunkX the chunk X coordinate
+	 * @param chunkZ the chunk Z coordinate
+	 * @return true if the chunk is protected
+	 * @see Hook#isChunkProtected(World, int, int)
+	 */
+	public boolean isChunkProtected(@NotNull Hook hook, @NotNull World world, int chunkX, int chunkZ) {
+		long start = System.nanoTime();
+		boolean isProtected = hook.isChunkProtected(world, chunkX, chunkZ);
+		long elapsed = System.nanoTime() - start;
+
+		Stats hookStats = getStats(hook);
+		hookStats.chunkLatency().record(elapsed);
+		hookStats.totalNanos().add(elapsed);
+		hookStats.recordCall();
+		hookStats.chunks().increment();
+		if (isProtected) {
+			hookStats.protectedChunks().increment();
+		}
+		return isProtected;
+	}
+
+	/**
+	 * Gets the chunks in a region protected by a {@link Hook}, recording the query.
+	 *
+	 * @param hook the hook
+	 * @param world the region {@link World}
+	 * @param regionX the region X coordinate
+	 * @param regionZ the region Z coordinate
+	 * @return a bitmap of protected chunks by index within the region
+	 * @see Hook#getProtectedChunks(World, int, int)
+	 */
+	public @NotNull BitSet getProtectedChunks(@NotNull Hook hook, @NotNull World world, int regionX, int regionZ) {
+		long start = System.nanoTime();
+		BitSet protectedChunks = hook.getProtectedChunks(world, regionX, regionZ);
+		long elapsed = System.nanoTime() - start;
+
+		Stats hookStats = getStats(hook);
+		hookStats.regionLatency().record(TimeUnit.NANOSECONDS.toMicros(elapsed));
+		hookStats.totalNanos().add(elapsed);
+		hookStats.recordCall();
+		hookStats.chunks().add(Hook.CHUNKS_PER_REGION);
+		hookStats.protectedChunks().add(protectedChunks.cardinality());
+		return protectedChunks;
+	}
+
+	/**
+	 * Gets the recorded metrics for a {@link Hook}.
+	 *
+	 * @param hook the hook
+	 * @return the metrics
+	 */
+	public @NotNull Stats getStats(@NotNull Hook hook) {
+		return stats.computeIfAbsent(getMetricName(hook), this::createStats);
+	}
+
+	private @NotNull Stats createStats(@NotNull String name) {
+		String prefix = "hooks." + name + '.';
+		Stats created = new Stats(
+				registry.counter(prefix + "calls.main"),
+				registry.counter(prefix + "calls.async"),
+				registry.counter(prefix + "chunks"),
+				registry.counter(prefix + "protected"),
+				registry.counter(prefix + "total-nanos"),
+				registry.histogram(prefix + "latency-nanos"),
+				registry.histogram(prefix + "region-latency-micros"));
+		registry.register(prefix + "protected-ratio", (Gauge) created::getProtectedRatio);
+		return created;
+	}
+
+	private static @NotNull String getMetricName(@NotNull Hook hook) {
+		// Metric names are period-separated, so hook names must not contain periods.
+		return hook.getProtectionName().toLowerCase(Locale.ROOT).replace(' ', '-').replace('.', '-');
+	}
+
+	/**
+	 * Metrics for a single {@link Hook}.
+	 *
+	 * @param mainCalls the number of queries made on the main thread
+	 * @param asyncCalls the number of queries made on other threads
+	 * @param chunks the number of chunks checked
+	 * @param protectedChunks the number of checked chunks that were protected
+	 * @param totalNanos the total time spent querying the hook in nanoseconds
+	 * @param chunkLatency the time taken by single chunk queries in nanoseconds
+	 * @param regionLatency the time taken by whole region queries in microseconds
+	 */
+	public record Stats(
+			@NotNull Counter mainCalls,
+			@NotNull Counter asyncCalls,
+			@NotNull Counter chunks,
+			@NotNull Counter protectedChunks,
+			@NotNull Counter totalNanos,
+			@NotNull Histogram chunkLatency,
+			@NotNull Histogram regionLatency) {
+
+		private void recordCall() {
+			(Bukkit.isPrimaryThread() ? mainCalls : asyncCalls).increment();
+		}
+
+		/**
+		 * Gets the fraction of checked chunks that were protected.
+		 *
+		 * @return the protected fraction, from 0 to 1
+		 */
+		public double getProtectedRatio() {
+			long checked = chunks.getCount();
+			return checked == 0 ? 0 : (double) protectedChunks.getCount() / checked;
+		}
+
+	}
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.hooks;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.BitSet;
+
+/**
+ * The result of checking some or all chunks in a region against a {@link Hook}.
+ *
+ * <p>Chunks are indexed by their position within the region. Bitmaps must not be modified once the result is created.
+ *
+ * @param checked the chunks that were checked
+ * @param protectedChunks the checked chunks that are protected
+ */
+public record HookResult(@NotNull BitSet checked, @NotNull BitSet protectedChunks) {
+
+	/**
+	 * Creates a result for an entire region.
+	 *
+	 * @param protectedChunks the protected chunks
+	 * @return the result
+	 */
+	public static @NotNull HookResult ofRegion(@NotNull BitSet protectedChunks) {
+		BitSet checked = new BitSet(Hook.CHUNKS_PER_REGION);
+		checked.set(0, Hook.CHUNKS_PER_REGION);
+		return new HookResult(checked, protectedChunks);
+	}
+
+	/**
+	 * Creates a result for a single chunk.
+	 *
+	 * @param index the index of the chunk within the region
+	 * @param isProtected whether the chunk is protected
+	 * @return the result
+	 */
+	public static @NotNull HookResult ofChunk(int index, boolean isProtected) {
+		BitSet checked = new BitSet(Hook.CHUNKS_PER_REGION);
+		checked.set(index);
+		BitSet protectedChunks = new BitSet(Hook.CHUNKS_PER_REGION);
+		protectedChunks.set(index, isProtected);
+		return new HookResult(checked, protectedChunks);
+	}
+
+	/**
+	 * Combines this result with a newer result. Chunks checked by the newer result use its value.
+	 *
+	 * @param newer the newer result
+	 * @return the combined result
+	 */
+	public @NotNull HookResult merge(@NotNull HookResult newer) {
+		BitSet mergedChecked = (BitSet) checked.clone();
+		mergedChecked.or(newer.checked());
+		BitSet mergedProtected = (BitSet) protectedChunks.clone();
+		mergedProtected.andNot(newer.checked());
+		mergedProtected.or(newer.protectedChunks());
+		return new HookResult(mergedChecked, mergedProtected);
+	}
+
+	/**
+	 * Gets whether every chunk in the region was checked.
+	 *
+	 * @return true if the result covers the entire region
+	 */
+	public boolean isComplete() {
+		return checked.cardinality() == Hook.CHUNKS_PER_REGION;
+	}
+
+	/**
+	 * Gets whether a chunk was checked.
+	 *
+	 * @param index the index of the chunk within the region
+	 * @return true if the chunk was checked
+	 */
+	public boolean isChecked(int index) {
+		return checked.get(index);
+	}
+
+	/**
+	 * Gets whether a checked chunk is protected.
+	 *
+	 * @param index the index of the chunk within the region
+	 * @return true if the chunk is protected
+	 */
+	public boolean isProtected(int index) {
+		return protectedChunks.get(index);
+	}
+
+}
@@ -18,6 +18,8 @@ import com.sk89q.worldedit.regions.CuboidRegion;
 import org.bukkit.World;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.BitSet;
+
 public class PlotSquaredHook extends PluginHook {
 
   public PlotSquaredHook() {
@@ -45,6 +47,36 @@ public class PlotSquaredHook extends PluginHook {
     return false;
   }
 
+  @Override
+  public boolean isRegionCapable() {
+    return true;
+  }
+
+  @Override
+  public @NotNull BitSet getProtectedChunks(@NotNull World world, int regionX, int regionZ) {
+    int regionBlockX = Coords.chunkToBlock(Coords.regionToChunk(regionX));
+    int regionBlockZ = Coords.chunkToBlock(Coords.regionToChunk(regionZ));
+
+    BlockVector3 bottom = BlockVector3.at(regionBlockX, 0, regionBlockZ);
+    BlockVector3 top = BlockVector3.at(regionBlockX + 511, 255, regionBlockZ + 511);
+
+    PlotArea[] plotAreas = PlotSquared.platform().plotAreaManager().getPlotAreas(world.getName(), new CuboidRegion(bottom, top));
+
+    BitSet protectedChunks = new BitSet(CHUNKS_PER_REGION);
+    for (PlotArea plotArea : plotAreas) {
+      if (plotArea.getPlots().isEmpty()) {
+        continue;
+      }
+      // Any chunk overlapping a plot area with plots is protected.
+      CuboidRegion areaRegion = plotArea.getRegion();
+      BlockVector3 min = areaRegion.getMinimumPoint();
+      BlockVector3 max = areaRegion.getMaximumPoint();
+      markArea(protectedChunks, regionX, regionZ, min.getX(), min.getZ(), max.getX(), max.getZ());
+    }
+
+    return protectedChunks;
+  }
+
   @Override
   public boolean isAsyncCapable() {
     return true;
@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.hooks;
+
+/**
+ * A bounding box of an area protected by a {@link Hook}.
+ *
+ * @param minBlockX the minimum block X coordinate, inclusive
+ * @param minBlockZ the minimum block Z coordinate, inclusive
+ * @param maxBlockX the maximum block X coordinate, inclusive
+ * @param maxBlockZ the maximum block Z coordinate, inclusive
+ */
+public record ProtectedArea(int minBlockX, int minBlockZ, int maxBlockX, int maxBlockZ) {}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.hooks;
+
+import com.github.jikoo.planarwrappers.util.Coords;
+import com.github.jikoo.regionerator.DebugLevel;
+import com.github.jikoo.regionerator.Regionerator;
+import com.github.jikoo.regionerator.util.collection.LongObjectHashMap;
+import org.bukkit.World;
+import org.bukkit.plugin.IllegalPluginAccessException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * An index of areas protected by {@link Hook Hooks} capable of exporting snapshots of their protections.
+ *
+ * <p>Snapshots are taken on the main thread and merged into a grid of protected chunks per region, allowing protections
+ * to be checked from any thread without querying the hooked system. Protections created after the latest snapshot are
+ * not known until the index is refreshed, so only hooks reporting changes to their protections are indexed, and a
+ * refresh is requested whenever they do.
+ */
+public class ProtectionIndex {
+
+	private static final Snapshot EMPTY = new Snapshot(Set.of(), Map.of());
+
+	private final @NotNull Regionerator plugin;
+	private final AtomicLong generation = new AtomicLong();
+	private final AtomicBoolean refreshQueued = new AtomicBoolean();
+	private volatile @NotNull Snapshot snapshot = EMPTY;
+
+	public ProtectionIndex(@NotNull Regionerator plugin) {
+		this.plugin = plugin;
+	}
+
+	/**
+	 * Refreshes the index. Must be called on the main thread. Snapshots are taken immediately and the index is rebuilt
+	 * asynchronously.
+	 */
+	public void refresh() {
+		long current = generation.incrementAndGet();
+
+		Set<Hook> indexed = new HashSet<>();
+		Map<String, List<ProtectedArea>> areas = new HashMap<>();
+		for (Hook hook : plugin.getProtectionHooks()) {
+			// Indexed hooks are not queried directly, so protections added between refreshes must be reported.
+			if (!hook.isSnapshotCapable() || !plugin.isChangeTracked(hook)) {
+				continue;
+			}
+
+			Map<String, Collection<ProtectedArea>> hookAreas = new HashMap<>();
+			try {
+				for (String worldName : plugin.config().enabledWorlds()) {
+					World world = plugin.getServer().getWorld(worldName);
+					if (world != null) {
+						hookAreas.put(worldName, hook.getProtectedAreas(world));
+					}
+				}
+			} catch (RuntimeException e) {
+				plugin.getLogger().log(Level.WARNING, "Unable to snapshot protections for " + hook.getProtectionName()
+						+ "! Protections will be checked individually instead.", e);
+				continue;
+			}
+
+			indexed.add(hook);
+			hookAreas.forEach((world, worldAreas) -> areas.computeIfAbsent(world, key -> new ArrayList<>()).addAll(worldAreas));
+		}
+
+		if (indexed.isEmpty()) {
+			snapshot = EMPTY;
+			return;
+		}
+
+		try {
+			plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+				Map<String, LongObjectHashMap<BitSet>> worlds = new HashMap<>();
+				areas.forEach((world, worldAreas) -> worlds.put(world, index(worldAreas)));
+
+				// Don't replace a newer index if refreshes complete out of order.
+				synchronized (this) {
+					if (generation.get() == current) {
+						snapshot = new Snapshot(Set.copyOf(indexed), Map.copyOf(worlds));
+					}
+				}
+
+				plugin.debug(DebugLevel.MEDIUM, () -> String.format("Indexed %s protected areas from %s hooks",
+						areas.values().stream().mapToInt(List::size).sum(), indexed.size()));
+			});
+		} catch (IllegalPluginAccessException e) {
+			// Plugin disabling, index will not be used.
+		}
+	}
+
+	/**
+	 * Queues a refresh of the index on the next tick. Multiple requests made during the same tick are combined.
+	 */
+	public void requestRefresh() {
+		if (!refreshQueued.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			plugin.getServer().getScheduler().runTask(plugin, () -> {
+				refreshQueued.set(false);
+				refresh();
+			});
+		} catch (IllegalPluginAccessException e) {
+			// Plugin disabling, index will not be used.
+			refreshQueued.set(false);
+		}
+	}
+
+	/**
+	 * Clears the index. Hooks will be queried directly until the index is refreshed.
+	 */
+	public void clear() {
+		synchronized (this) {
+			generation.incrementAndGet();
+			snapshot = EMPTY;
+		}
+	}
+
+	private static @NotNull LongObjectHashMap<BitSet> index(@NotNull Collection<ProtectedArea> areas) {
+		LongObjectHashMap<BitSet> regions = new LongObjectHashMap<>();
+		for (ProtectedArea area : areas) {
+			int minRegionX = Coords.chunkToRegion(Coords.blockToChunk(area.minBlockX()));
+			int minRegionZ = Coords.chunkToRegion(Coords.blockToChunk(area.minBlockZ()));
+			int maxRegionX = Coords.chunkToRegion(Coords.blockToChunk(area.maxBlockX()));
+			int maxRegionZ = Coords.chunkToRegion(Coords.blockToChunk(area.maxBlockZ()));
+			for (int regionX = minRegionX; regionX <= maxRegionX; ++regionX) {
+				for (int regionZ = minRegionZ; regionZ <= maxRegionZ; ++regionZ) {
+					long key = pack(regionX, regionZ);
+					BitSet protectedChunks = regions.get(key);
+					if (protectedChunks == null) {
+						protectedChunks = new BitSet(Hook.CHUNKS_PER_REGION);
+						regions.put(key, protectedChunks);
+					}
+					Hook.markArea(protectedChunks, regionX, regionZ,
+							area.minBlockX(), area.minBlockZ(), area.maxBlockX(), area.maxBlockZ());
+				}
+			}
+		}
+		return regions;
+	}
+
+	/**
+	 * Gets whether a {@link Hook} is included in the index. Indexed hooks do not need to be queried directly.
+	 *
+	 * @param hook the hook
+	 * @return true if the hook is indexed
+	 */
+	public boolean isIndexed(@NotNull Hook hook) {
+		return snapshot.hooks().contains(hook);
+	}
+
+	/**
+	 * Gets whether a chunk is protected by any indexed {@link Hook}.
+	 *
+	 * @param world the name of the world
+	 * @param chunkX the chunk X coordinate
+	 * @param chunkZ the chunk Z coordinate
+	 * @return true if the chunk is protected
+	 */
+	public boolean isProtected(@NotNull String world, int chunkX, int chunkZ) {
+		LongObjectHashMap<BitSet> regions = snapshot.worlds().get(world);
+		if (regions == null) {
+			return false;
+		}
+		BitSet protectedChunks = regions.get(pack(Coords.chunkToRegion(chunkX), Coords.chunkToRegion(chunkZ)));
+		return protectedChunks != null && protectedChunks.get(Hook.getRegionIndex(chunkX, chunkZ));
+	}
+
+	private static long pack(int regionX, int regionZ) {
+		return (long) regionX << Integer.SIZE | regionZ & 0xFFFF_FFFFL;
+	}
+
+	private record Snapshot(@NotNull Set<Hook> hooks, @NotNull Map<String, LongObjectHashMap<BitSet>> worlds) {}
+
+}
@@ -12,12 +12,21 @@ package com.github.jikoo.regionerator.hooks;
 
 import br.net.fabiozumbi12.RedProtect.Bukkit.RedProtect;
 import br.net.fabiozumbi12.RedProtect.Bukkit.Region;
+import br.net.fabiozumbi12.RedProtect.Bukkit.events.CreateRegionEvent;
+import br.net.fabiozumbi12.RedProtect.Bukkit.events.DeleteRegionEvent;
 import com.github.jikoo.planarwrappers.util.Coords;
 import com.github.jikoo.regionerator.world.DummyChunk;
 import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.function.BiConsumer;
+
 /**
  * PluginHook for <a href="https://www.spigotmc.org/resources/redprotect.15841/">RedProtect</a>.
  */
@@ -69,4 +78,46 @@ public class RedProtectHook extends PluginHook {
 		return false;
 	}
 
+	@Override
+	public boolean isSnapshotCapable() {
+		return !needAPI;
+	}
+
+	@Override
+	public @NotNull Collection<ProtectedArea> getProtectedAreas(@NotNull World world) {
+		Collection<ProtectedArea> areas = new ArrayList<>();
+		for (Region region : RedProtect.get().getRegionManager().getRegionsByWorld(world.getName())) {
+			Location min = region.getMinLocation();
+			Location max = region.getMaxLocation();
+			areas.add(new ProtectedArea(min.getBlockX(), min.getBlockZ(), max.getBlockX(), max.getBlockZ()));
+		}
+		return areas;
+	}
+
+	@Override
+	public @NotNull Listener createChangeListener(@NotNull BiConsumer<String, ProtectedArea> changeHandler) {
+		return new RegionListener(changeHandler);
+	}
+
+	private record RegionListener(@NotNull BiConsumer<String, ProtectedArea> changeHandler) implements Listener {
+
+		@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+		public void onCreateRegion(@NotNull CreateRegionEvent event) {
+			handle(event.getRegion());
+		}
+
+		@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+		public void onDeleteRegion(@NotNull DeleteRegionEvent event) {
+			handle(event.getRegion());
+		}
+
+		private void handle(@NotNull Region region) {
+			Location min = region.getMinLocation();
+			Location max = region.getMaxLocation();
+			changeHandler.accept(region.getWorld(),
+					new ProtectedArea(min.getBlockX(), min.getBlockZ(), max.getBlockX(), max.getBlockZ()));
+		}
+
+	}
+
 }
@@ -12,12 +12,20 @@ package com.github.jikoo.regionerator.hooks;
 
 import com.github.jikoo.planarwrappers.util.Coords;
 import com.palmergames.bukkit.towny.TownyAPI;
+import com.palmergames.bukkit.towny.event.TownClaimEvent;
+import com.palmergames.bukkit.towny.event.town.TownUnclaimEvent;
 import com.palmergames.bukkit.towny.object.Coord;
 import com.palmergames.bukkit.towny.object.TownBlock;
 import com.palmergames.bukkit.towny.object.WorldCoord;
 import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.BitSet;
+import java.util.function.BiConsumer;
+
 /**
  * PluginHook for <a href="https://github.com/LlmDl/Towny">Towny</a>.
  */
@@ -53,4 +61,66 @@ public class TownyHook extends PluginHook {
 		return false;
 	}
 
+	@Override
+	public boolean isRegionCapable() {
+		return true;
+	}
+
+	@Override
+	public @NotNull BitSet getProtectedChunks(@NotNull World world, int regionX, int regionZ) {
+		BitSet protectedChunks = new BitSet(CHUNKS_PER_REGION);
+		if (!TownyAPI.getInstance().isTownyWorld(world)) {
+			return protectedChunks;
+		}
+
+		int minX = Coords.chunkToBlock(Coords.regionToChunk(regionX));
+		int maxX = minX + 511;
+		int minZ = Coords.chunkToBlock(Coords.regionToChunk(regionZ));
+		int maxZ = minZ + 511;
+
+		Coord lowCoord = Coord.parseCoord(minX, minZ);
+		Coord highCoord = Coord.parseCoord(maxX, maxZ);
+		int cellSize = Coord.getCellSize();
+
+		// Visit each town block overlapping the region once rather than once per chunk it overlaps.
+		for (int x = lowCoord.getX(); x <= highCoord.getX(); ++x) {
+			for (int z = lowCoord.getZ(); z <= highCoord.getZ(); ++z) {
+				WorldCoord worldCoord = new WorldCoord(world.getName(), x, z);
+				TownBlock townBlock = worldCoord.getTownBlockOrNull();
+				if (townBlock != null && townBlock.hasTown()) {
+					markArea(protectedChunks, regionX, regionZ, x * cellSize, z * cellSize,
+							x * cellSize + cellSize - 1, z * cellSize + cellSize - 1);
+				}
+			}
+		}
+		return protectedChunks;
+	}
+
+	@Override
+	public @NotNull Listener createChangeListener(@NotNull BiConsumer<String, ProtectedArea> changeHandler) {
+		return new ClaimListener(changeHandler);
+	}
+
+	private record ClaimListener(@NotNull BiConsumer<String, ProtectedArea> changeHandler) implements Listener {
+
+		@EventHandler(priority = EventPriority.MONITOR)
+		public void onTownClaim(@NotNull TownClaimEvent event) {
+			handle(event.getTownBlock().getWorldCoord());
+		}
+
+		@EventHandler(priority = EventPriority.MONITOR)
+		public void onTownUnclaim(@NotNull TownUnclaimEvent event) {
+			handle(event.getWorldCoord());
+		}
+
+		private void handle(@NotNull WorldCoord worldCoord) {
+			int cellSize = Coord.getCellSize();
+			int minX = worldCoord.getX() * cellSize;
+			int minZ = worldCoord.getZ() * cellSize;
+			changeHandler.accept(worldCoord.getWorldName(),
+					new ProtectedArea(minX, minZ, minX + cellSize - 1, minZ + cellSize - 1));
+		}
+
+	}
+
 }
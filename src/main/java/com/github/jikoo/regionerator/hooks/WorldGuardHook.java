@@ -16,9 +16,14 @@ import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldguard.WorldGuard;
 import com.sk89q.worldguard.protection.managers.RegionManager;
 import com.sk89q.worldguard.protection.regions.ProtectedCuboidRegion;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+import com.sk89q.worldguard.protection.regions.RegionType;
 import org.bukkit.World;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.BitSet;
+import java.util.List;
+
 /**
  * PluginHook for <a href="http://dev.bukkit.org/bukkit-plugins/worldguard/">WorldGuard</a>.
  */
@@ -45,6 +50,61 @@ public class WorldGuardHook extends PluginHook {
 		return regionManager.getApplicableRegions(new ProtectedCuboidRegion("REGIONERATOR_TMP", bottom, top)).size() > 0;
 	}
 
+	@Override
+	public boolean isRegionCapable() {
+		return true;
+	}
+
+	@Override
+	public @NotNull BitSet getProtectedChunks(@NotNull World world, int regionX, int regionZ) {
+		BitSet protectedChunks = new BitSet(CHUNKS_PER_REGION);
+		RegionManager regionManager = WorldGuard.getInstance().getPlatform().getRegionContainer().get(BukkitAdapter.adapt(world));
+
+		if (regionManager == null) {
+			return protectedChunks;
+		}
+
+		int regionBlockX = Coords.chunkToBlock(Coords.regionToChunk(regionX));
+		int regionBlockZ = Coords.chunkToBlock(Coords.regionToChunk(regionZ));
+
+		BlockVector3 bottom = BlockVector3.at(regionBlockX, 0, regionBlockZ);
+		BlockVector3 top = BlockVector3.at(regionBlockX + 511, 255, regionBlockZ + 511);
+
+		for (ProtectedRegion protectedRegion : regionManager.getApplicableRegions(new ProtectedCuboidRegion("REGIONERATOR_TMP", bottom, top))) {
+			BlockVector3 min = protectedRegion.getMinimumPoint();
+			BlockVector3 max = protectedRegion.getMaximumPoint();
+
+			if (protectedRegion.getType() != RegionType.POLYGON) {
+				// Cuboid regions cover their entire bounding box.
+				markArea(protectedChunks, regionX, regionZ, min.getX(), min.getZ(), max.getX(), max.getZ());
+				continue;
+			}
+
+			// Polygonal regions may not cover every chunk in their bounding box. Check remaining chunks individually.
+			int minChunkX = Math.max(Coords.blockToChunk(min.getX()), Coords.regionToChunk(regionX));
+			int minChunkZ = Math.max(Coords.blockToChunk(min.getZ()), Coords.regionToChunk(regionZ));
+			int maxChunkX = Math.min(Coords.blockToChunk(max.getX()), Coords.regionToChunk(regionX + 1) - 1);
+			int maxChunkZ = Math.min(Coords.blockToChunk(max.getZ()), Coords.regionToChunk(regionZ + 1) - 1);
+			for (int chunkX = minChunkX; chunkX <= maxChunkX; ++chunkX) {
+				for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; ++chunkZ) {
+					int index = getRegionIndex(chunkX, chunkZ);
+					if (protectedChunks.get(index)) {
+						continue;
+					}
+					int chunkBlockX = Coords.chunkToBlock(chunkX);
+					int chunkBlockZ = Coords.chunkToBlock(chunkZ);
+					ProtectedRegion chunkRegion = new ProtectedCuboidRegion("REGIONERATOR_TMP",
+							BlockVector3.at(chunkBlockX, 0, chunkBlockZ), BlockVector3.at(chunkBlockX + 15, 255, chunkBlockZ + 15));
+					if (!protectedRegion.getIntersectingRegions(List.of(chunkRegion)).isEmpty()) {
+						protectedChunks.set(index);
+					}
+				}
+			}
+		}
+
+		return protectedChunks;
+	}
+
 	@Override
 	public boolean isAsyncCapable() {
 		return true;
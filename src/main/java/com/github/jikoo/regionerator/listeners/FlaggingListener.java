@@ -14,6 +14,7 @@ import com.github.jikoo.planarwrappers.scheduler.AsyncBatch;
 import com.github.jikoo.planarwrappers.scheduler.DistributedTask;
 import com.github.jikoo.planarwrappers.util.Coords;
 import com.github.jikoo.regionerator.Regionerator;
+import com.github.jikoo.regionerator.util.collection.LongHashSet;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -25,12 +26,14 @@ import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.world.ChunkPopulateEvent;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -94,38 +97,109 @@ public class FlaggingListener implements Listener {
 	@EventHandler
 	private void onPlayerQuit(@NotNull PlayerQuitEvent event) {
 		flagger.remove(event.getPlayer());
+		flagger.forget(event.getPlayer());
 	}
 
 	/**
 	 * DistributedTask for periodically marking chunks near players as visited.
+	 *
+	 * <p>Each player's last flagged square is remembered. Players who move only flag the chunks they newly
+	 * approached, and players who have not moved only re-flag their square once the refresh interval has passed.
 	 */
 	private static class FlaggingRunnable extends DistributedTask<Player> {
 
+		private final @NotNull Map<UUID, FlaggedSquare> squares;
+
 		FlaggingRunnable(@NotNull Regionerator plugin) {
+			this(plugin, new HashMap<>());
+		}
+
+		private FlaggingRunnable(@NotNull Regionerator plugin, @NotNull Map<UUID, FlaggedSquare> squares) {
 			super(plugin.config().getFlaggingInterval() * 50, TimeUnit.MILLISECONDS, players -> {
-				List<ChunkId> flagged = new ArrayList<>();
+				// Merge all players' squares per world so overlapping chunks are only flagged once.
+				Map<String, LongHashSet> flagged = new HashMap<>();
+				long now = System.currentTimeMillis();
+				int radius = plugin.config().getFlaggingRadius();
 				for (Player player : players) {
 					if (player.getGameMode().name().equals("SPECTATOR")
 							|| !plugin.config().isEnabled(player.getWorld().getName())) {
 						continue;
 					}
 
-					flagged.add(new ChunkId(player.getWorld(), player.getLocation()));
+					ChunkId chunk = new ChunkId(player.getWorld(), player.getLocation());
+					FlaggedSquare previous = squares.get(player.getUniqueId());
+
+					if (previous == null || !previous.worldName.equals(chunk.worldName) || previous.radius != radius
+							|| now - previous.flagged >= plugin.config().getFlagRefreshMillis(chunk.worldName)) {
+						// Flag entire square.
+						squares.put(player.getUniqueId(), new FlaggedSquare(chunk.worldName, chunk.chunkX, chunk.chunkZ, radius, now));
+						addSquare(plugin, flagged, chunk, radius, null);
+						continue;
+					}
+
+					if (previous.chunkX == chunk.chunkX && previous.chunkZ == chunk.chunkZ) {
+						// Player has not moved, existing flags are still fresh.
+						continue;
+					}
+
+					// Flag newly entered chunks. Retain the time of the last full flag so the square is refreshed on schedule.
+					squares.put(player.getUniqueId(), new FlaggedSquare(chunk.worldName, chunk.chunkX, chunk.chunkZ, radius, previous.flagged));
+					addSquare(plugin, flagged, chunk, radius, previous);
 				}
 
 				if (!flagged.isEmpty()) {
-					plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-						for (ChunkId chunk : flagged) {
-							plugin.getFlagger().flagChunksInRadius(chunk.worldName, chunk.chunkX, chunk.chunkZ);
-						}
-					});
+					plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> flagged.forEach((worldName, keys) ->
+							plugin.getFlagger().flagChunks(keys.toArray(), plugin.config().getFlagVisit(worldName))));
 				}
 
 			});
+			this.squares = squares;
+		}
+
+		/**
+		 * Adds the keys of chunks in a square around a chunk to the world's set of chunks to flag.
+		 *
+		 * @param plugin the Regionerator instance
+		 * @param flagged the sets of chunk keys to flag by world
+		 * @param chunk the center chunk
+		 * @param radius the radius of the square
+		 * @param previous the previously flagged square to exclude, or null to add the entire square
+		 */
+		private static void addSquare(@NotNull Regionerator plugin, @NotNull Map<String, LongHashSet> flagged,
+				@NotNull ChunkId chunk, int radius, @Nullable FlaggedSquare previous) {
+			LongHashSet keys = flagged.computeIfAbsent(chunk.worldName, name -> new LongHashSet());
+			for (int x = chunk.chunkX - radius; x <= chunk.chunkX + radius; x++) {
+				boolean outsideX = previous == null || Math.abs(x - previous.chunkX) > radius;
+				for (int z = chunk.chunkZ - radius; z <= chunk.chunkZ + radius; z++) {
+					if (outsideX || Math.abs(z - previous.chunkZ) > radius) {
+						keys.add(plugin.getFlagger().getChunkKey(chunk.worldName, x, z));
+					}
+				}
+			}
+		}
+
+		/**
+		 * Forgets a player's last flagged square.
+		 *
+		 * @param player the player
+		 */
+		void forget(@NotNull Player player) {
+			squares.remove(player.getUniqueId());
 		}
 
 	}
 
+	/**
+	 * The square of chunks last flagged around a player.
+	 *
+	 * @param worldName the world name
+	 * @param chunkX the center chunk X coordinate
+	 * @param chunkZ the center chunk Z coordinate
+	 * @param radius the radius of the square
+	 * @param flagged the time the entire square was last flagged
+	 */
+	private record FlaggedSquare(@NotNull String worldName, int chunkX, int chunkZ, int radius, long flagged) {}
+
 	private static class ChunkId {
 		private final @NotNull String worldName;
 		private final int chunkX;
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.util;
+
+import com.github.jikoo.regionerator.util.yaml.Config;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A throttle for deletion based on the load of the main thread.
+ *
+ * <p>Must be run every tick on the main thread while adaptive recovery is enabled. The time between runs is averaged to estimate tick duration. Once per
+ * second the recovery time is doubled if ticks are taking too long and otherwise slowly reduced.
+ *
+ * <p>Recovery windows are shared by all deletion cycles, so cycles running in several worlds at once split the same
+ * budget rather than each adding their own disk load.
+ */
+public class AdaptiveRecovery implements Runnable {
+
+	private static final double TICK_WEIGHT = 0.1;
+	private static final int TICKS_PER_ADJUSTMENT = 20;
+	private static final double BACK_OFF = 2.0;
+	private static final double SPEED_UP = 0.9;
+
+	private final @NotNull Config config;
+	private final AtomicLong nextRecovery = new AtomicLong();
+	private long lastTick = 0;
+	private int ticks = 0;
+	private volatile double tickMillis = 50;
+	private volatile double recoveryMillis;
+
+	public AdaptiveRecovery(@NotNull Config config) {
+		this.config = config;
+		this.recoveryMillis = clamp(config.getDeletionRecoveryMillis());
+	}
+
+	@Override
+	public void run() {
+		long now = System.nanoTime();
+		if (lastTick != 0) {
+			double elapsed = (double) (now - lastTick) / TimeUnit.MILLISECONDS.toNanos(1);
+			tickMillis += (elapsed - tickMillis) * TICK_WEIGHT;
+		}
+		lastTick = now;
+
+		if (++ticks < TICKS_PER_ADJUSTMENT) {
+			return;
+		}
+		ticks = 0;
+
+		if (tickMillis > config.getRecoveryTargetTickMillis()) {
+			// Back off sharply. Recovery may have reached 0, so always increase by at least a millisecond.
+			recoveryMillis = clamp(Math.max(1, recoveryMillis * BACK_OFF));
+		} else {
+			recoveryMillis = clamp(recoveryMillis * SPEED_UP);
+		}
+	}
+
+	/**
+	 * Resets tick measurement. Must be called before resuming runs after they have been stopped so that the time
+	 * elapsed while stopped is not treated as a tick.
+	 */
+	public void reset() {
+		lastTick = 0;
+		ticks = 0;
+		recoveryMillis = clamp(config.getDeletionRecoveryMillis());
+	}
+
+	private double clamp(double recovery) {
+		return Math.max(config.getMinimumRecoveryMillis(), Math.min(config.getMaximumRecoveryMillis(), recovery));
+	}
+
+	/**
+	 * Gets the time to wait between expensive deletion operations.
+	 *
+	 * @return the recovery time in milliseconds
+	 */
+	public long getRecoveryMillis() {
+		if (!config.isAdaptiveRecovery()) {
+			return config.getDeletionRecoveryMillis();
+		}
+		return Math.round(recoveryMillis);
+	}
+
+	/**
+	 * Reserves the next recovery window after any already reserved.
+	 *
+	 * @return the time in milliseconds since the epoch at which the reserved window ends
+	 */
+	public long reserveRecovery() {
+		long now = System.currentTimeMillis();
+		long recoveryTime = getRecoveryMillis();
+		if (recoveryTime <= 0) {
+			return now;
+		}
+		return nextRecovery.accumulateAndGet(now, (next, current) -> Math.max(next, current) + recoveryTime);
+	}
+
+	/**
+	 * Gets the average time between ticks.
+	 *
+	 * @return the average tick duration in milliseconds
+	 */
+	public double getTickMillis() {
+		return tickMillis;
+	}
+
+}
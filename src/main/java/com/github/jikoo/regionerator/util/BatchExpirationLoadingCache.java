@@ -10,47 +10,87 @@
 
 package com.github.jikoo.regionerator.util;
 
+import com.github.jikoo.regionerator.util.collection.ConcurrentLongObjectMap;
+import com.github.jikoo.regionerator.util.collection.LongArrayQueue;
+import com.github.jikoo.regionerator.util.collection.LongHashSet;
+import com.github.jikoo.regionerator.util.metrics.Gauge;
+import com.github.jikoo.regionerator.util.metrics.Histogram;
+import com.github.jikoo.regionerator.util.metrics.MetricsRegistry;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
-import java.util.Map;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
-import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * A cache system designed to load values automatically and minimize write operations by expiring values in batches.
  *
- * @param <K> the key type
+ * <p>Keys are primitive {@code long} values to avoid allocating and hashing key objects on every access.
+ *
+ * <p>Expired values are handed off to a single long-lived worker thread. A key is only queued once no matter how many
+ * times it expires before being written. If the queue exceeds the maximum backlog, loads wait for the worker to catch
+ * up rather than allowing unwritten data to grow without bound.
+ *
  * @param <V> the value stored
  */
-public class BatchExpirationLoadingCache<K, V> {
-
-	private final Map<K, V> internal = new ConcurrentHashMap<>();
-	private final Collection<K> expired = Collections.synchronizedSet(new LinkedHashSet<>());
-	private final AtomicBoolean expirationQueued = new AtomicBoolean();
-	private final @NotNull ExpirationMap<K> expirationMap;
-	private final @NotNull Function<K, V> load;
+public class BatchExpirationLoadingCache<V> {
+
+	private final ConcurrentLongObjectMap<V> internal = new ConcurrentLongObjectMap<>();
+	private final ConcurrentLongObjectMap<CompletableFuture<V>> pending = new ConcurrentLongObjectMap<>();
+	private final LongArrayQueue expiredOrder = new LongArrayQueue();
+	private final LongHashSet expired = new LongHashSet();
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition queueChanged = lock.newCondition();
+	private final Condition batchWritten = lock.newCondition();
+	private final AtomicLong backPressureCount = new AtomicLong();
+	private final AtomicLong backPressureNanos = new AtomicLong();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final Histogram loadLatency = new Histogram();
+	private final Histogram loadBatchSize = new Histogram();
+	private final Histogram writeBatchSize = new Histogram();
+	private final Histogram writeLatency = new Histogram();
+	private final @NotNull ExpirationMap expirationMap;
+	private final @NotNull LongFunction<V> load;
+	private final @NotNull BatchLoader<V> batchLoad;
+	private final @NotNull Executor loadExecutor;
 	private final @NotNull Consumer<Collection<V>> expirationConsumer;
+	private final @NotNull Logger logger;
 	private final int maxBatchSize;
 	private final long batchDelay;
+	private final int maxBacklog;
+	private final @NotNull Thread worker;
+	private boolean flushRequested = false;
+	private boolean writing = false;
+	private boolean closed = false;
+	private int peakQueued = 0;
 
 	/**
 	 * Constructs a new BatchExpirationLoadingCache using the default max batch size and delay.
 	 *
 	 * @param retention the cache retention duration
-	 * @param load the {@link Function} used to load values into the cache
+	 * @param load the {@link LongFunction} used to load values into the cache
 	 * @param expirationConsumer the {@link Consumer} accepting batches of expired values
 	 */
 	public BatchExpirationLoadingCache(
 			final long retention,
-			@NotNull final Function<K, V> load,
+			@NotNull final LongFunction<V> load,
 			@NotNull final Consumer<Collection<V>> expirationConsumer) {
 		this(retention, load, expirationConsumer, 1024, 5000);
 	}
@@ -59,18 +99,19 @@ public class BatchExpirationLoadingCache<K, V> {
 	 * Constructs a new BatchExpirationLoadingCache.
 	 *
 	 * @param retention the cache retention duration
-	 * @param load the {@link Function} used to load values into the cache
+	 * @param load the {@link LongFunction} used to load values into the cache
 	 * @param expirationConsumer the {@link Consumer} accepting batches of expired values
 	 * @param maxBatchSize the maximum batch size to expire simultaneously
 	 * @param batchDelay the delay to await a full batch for expiration
 	 */
 	public BatchExpirationLoadingCache(
 			final long retention,
-			@NotNull final Function<K, V> load,
+			@NotNull final LongFunction<V> load,
 			@NotNull final Consumer<Collection<V>> expirationConsumer,
 			int maxBatchSize,
 			long batchDelay) {
-		this(new ExpirationMap<>(retention), load, expirationConsumer, maxBatchSize, batchDelay);
+		this(new ExpirationMap(retention), load, expirationConsumer, maxBatchSize, batchDelay, 65_536, ForkJoinPool.commonPool(), null,
+				Logger.getLogger(BatchExpirationLoadingCache.class.getName()));
 	}
 
 	/**
@@ -81,47 +122,228 @@ public class BatchExpirationLoadingCache<K, V> {
 	 * @param expirationConsumer a consumer for expired values
 	 * @param maxBatchSize the maximum batch size to expire simultaneously
 	 * @param batchDelay the delay between batches expiring
+	 * @param maxBacklog the maximum number of queued values before loads wait for values to be written
+	 * @param loadExecutor the executor used to load values
+	 * @param batchLoad the function used to load multiple values at once, or {@code null} to load individually
+	 * @param logger the logger used to report failures to write expired values
 	 */
 	private BatchExpirationLoadingCache(
-			@NotNull final ExpirationMap<K> expirationMap,
-			@NotNull final Function<K, V> load,
+			@NotNull final ExpirationMap expirationMap,
+			@NotNull final LongFunction<V> load,
 			@NotNull final Consumer<Collection<V>> expirationConsumer,
 			int maxBatchSize,
-			long batchDelay) {
+			long batchDelay,
+			int maxBacklog,
+			@NotNull Executor loadExecutor,
+			@Nullable BatchLoader<V> batchLoad,
+			@NotNull Logger logger) {
 
 		this.expirationMap = expirationMap;
+		this.loadExecutor = loadExecutor;
+		this.load = load;
 
-		// Wrap load function to update expiration when used
-		this.load = key -> {
-			V value = load.apply(key);
-			if (value != null) {
-				// Only update expiration when loading yields a result.
-				expirationMap.add(key);
-			}
-			checkExpiration();
-			return value;
-		};
+		if (batchLoad != null) {
+			this.batchLoad = batchLoad;
+		} else {
+			this.batchLoad = keys -> {
+				List<V> values = new ArrayList<>(keys.length);
+				for (long key : keys) {
+					values.add(load.apply(key));
+				}
+				return values;
+			};
+		}
 
 		this.expirationConsumer = expirationConsumer;
+		this.logger = logger;
 		if (maxBatchSize < 1) {
 			throw new IllegalArgumentException("Max batch size cannot be smaller than 1");
 		}
 		this.maxBatchSize = maxBatchSize;
 		this.batchDelay = batchDelay;
+		this.maxBacklog = Math.max(maxBatchSize, maxBacklog);
+
+		this.worker = new Thread(this::runWorker, "BatchExpiration");
+		this.worker.setDaemon(true);
+		this.worker.start();
 	}
 
 	/**
 	 * Gets a {@link CompletableFuture} which either gets or loads a value for the specified key as necessary.
 	 *
+	 * <p>Concurrent requests for a key that is not cached share a single load.
+	 *
 	 * @param key the key
 	 * @return a {@link CompletableFuture} providing the requested value
 	 */
-	public @NotNull CompletableFuture<V> get(@NotNull K key) {
+	public @NotNull CompletableFuture<V> get(long key) {
 		V value = getIfPresent(key);
 		if (value != null) {
+			hits.increment();
 			return CompletableFuture.completedFuture(value);
 		}
-		return CompletableFuture.supplyAsync(() -> load.apply(key));
+		misses.increment();
+
+		CompletableFuture<V> future = new CompletableFuture<>();
+		CompletableFuture<V> existing = pending.putIfAbsent(key, future);
+		if (existing != null) {
+			return existing;
+		}
+
+		// A load may have completed between checking the cache and registering the pending load.
+		value = internal.get(key);
+		if (value != null) {
+			pending.remove(key, future);
+			future.complete(value);
+			return future;
+		}
+
+		try {
+			loadExecutor.execute(() -> {
+				V loaded;
+				try {
+					awaitBacklog();
+					long start = System.nanoTime();
+					loaded = cacheLoaded(key, load.apply(key));
+					loadLatency.recordSince(start, TimeUnit.MICROSECONDS);
+					loadBatchSize.record(1);
+					checkExpiration();
+				} catch (Throwable throwable) {
+					pending.remove(key, future);
+					future.completeExceptionally(throwable);
+					return;
+				}
+				// Loaded values are already cached, so later requests do not need the pending load.
+				pending.remove(key, future);
+				future.complete(loaded);
+			});
+		} catch (RejectedExecutionException e) {
+			pending.remove(key, future);
+			future.completeExceptionally(e);
+		}
+
+		return future;
+	}
+
+	/**
+	 * Gets a {@link CompletableFuture} which either gets or loads values for the specified keys as necessary.
+	 *
+	 * <p>Values that are not cached or already being loaded are loaded together using the batch loader.
+	 *
+	 * @param keys the keys
+	 * @return a {@link CompletableFuture} providing the requested values in the order of the keys
+	 */
+	public @NotNull CompletableFuture<List<V>> getAll(long @NotNull [] keys) {
+		List<CompletableFuture<V>> futures = new ArrayList<>(keys.length);
+		long[] toLoad = new long[keys.length];
+		List<CompletableFuture<V>> loadFutures = new ArrayList<>();
+
+		for (long key : keys) {
+			V value = internal.get(key);
+			if (value != null) {
+				hits.increment();
+				expirationMap.add(key);
+				futures.add(CompletableFuture.completedFuture(value));
+				continue;
+			}
+			misses.increment();
+
+			CompletableFuture<V> future = new CompletableFuture<>();
+			CompletableFuture<V> existing = pending.putIfAbsent(key, future);
+			if (existing != null) {
+				futures.add(existing);
+				continue;
+			}
+
+			// A load may have completed between checking the cache and registering the pending load.
+			value = internal.get(key);
+			if (value != null) {
+				pending.remove(key, future);
+				future.complete(value);
+			} else {
+				toLoad[loadFutures.size()] = key;
+				loadFutures.add(future);
+			}
+			futures.add(future);
+		}
+		checkExpiration();
+
+		if (!loadFutures.isEmpty()) {
+			long[] batch = Arrays.copyOf(toLoad, loadFutures.size());
+			try {
+				loadExecutor.execute(() -> loadBatch(batch, loadFutures));
+			} catch (RejectedExecutionException e) {
+				for (int i = 0; i < batch.length; ++i) {
+					pending.remove(batch[i], loadFutures.get(i));
+					loadFutures.get(i).completeExceptionally(e);
+				}
+			}
+		}
+
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+				.thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+	}
+
+	/**
+	 * Load a batch of keys and complete their pending loads.
+	 *
+	 * @param keys the keys to load
+	 * @param futures the pending loads in the order of the keys
+	 */
+	private void loadBatch(long @NotNull [] keys, @NotNull List<CompletableFuture<V>> futures) {
+		List<V> values;
+		try {
+			awaitBacklog();
+			long start = System.nanoTime();
+			values = batchLoad.load(keys);
+			loadLatency.recordSince(start, TimeUnit.MICROSECONDS);
+			loadBatchSize.record(keys.length);
+			if (values.size() != keys.length) {
+				throw new IllegalStateException("Batch loader returned " + values.size() + " values for " + keys.length + " keys");
+			}
+		} catch (Throwable throwable) {
+			for (int i = 0; i < keys.length; ++i) {
+				pending.remove(keys[i], futures.get(i));
+				futures.get(i).completeExceptionally(throwable);
+			}
+			return;
+		}
+
+		for (int i = 0; i < keys.length; ++i) {
+			V value = cacheLoaded(keys[i], values.get(i));
+			pending.remove(keys[i], futures.get(i));
+			futures.get(i).complete(value);
+		}
+		checkExpiration();
+	}
+
+	/**
+	 * Insert a freshly loaded value into the cache.
+	 *
+	 * @param key the key
+	 * @param value the loaded value
+	 * @return the cached value
+	 */
+	private @Nullable V cacheLoaded(long key, @Nullable V value) {
+		if (value != null) {
+			// Don't clobber a value inserted while loading - it is more recent than stored data.
+			V existing = internal.putIfAbsent(key, value);
+			if (existing != null) {
+				value = existing;
+			}
+			// Only update expiration when loading yields a result.
+			expirationMap.add(key);
+		}
+		return value;
+	}
+
+	/**
+	 * Get the current number of values being loaded.
+	 *
+	 * @return the number of pending loads
+	 */
+	public int getLoading() {
+		return pending.size();
 	}
 
 	/**
@@ -130,7 +352,7 @@ public class BatchExpirationLoadingCache<K, V> {
 	 * @param key the key
 	 * @return the loaded value or {@code null}
 	 */
-	public @Nullable V getIfPresent(@NotNull K key) {
+	public @Nullable V getIfPresent(long key) {
 		V value = internal.get(key);
 		if (value != null) {
 			expirationMap.add(key);
@@ -145,7 +367,7 @@ public class BatchExpirationLoadingCache<K, V> {
 	 * @param key the key
 	 * @return the loaded value or {@code null}
 	 */
-	public @NotNull V computeIfAbsent(@NotNull K key, @NotNull Function<K, V> supplier) {
+	public @NotNull V computeIfAbsent(long key, @NotNull LongFunction<V> supplier) {
 		V value = getIfPresent(key);
 		if (value != null) {
 			return value;
@@ -161,94 +383,233 @@ public class BatchExpirationLoadingCache<K, V> {
 	 * @param key the key associated with the value
 	 * @param value the value to be inserted
 	 */
-	public void put(@NotNull K key, @NotNull V value) {
+	public void put(long key, @NotNull V value) {
 		internal.put(key, value);
 		expirationMap.add(key);
 	}
 
+	/**
+	 * Insert a value into the cache if no value is already present.
+	 *
+	 * @param key the key associated with the value
+	 * @param value the value to be inserted
+	 * @return true if the value was inserted
+	 */
+	public boolean putIfAbsent(long key, @NotNull V value) {
+		if (internal.putIfAbsent(key, value) != null) {
+			return false;
+		}
+		expirationMap.add(key);
+		return true;
+	}
+
 	/**
 	 * Remove an existing cached mapping.
 	 *
 	 * @param key the key whose mapping is to be removed
 	 */
-	public void remove(@NotNull K key) {
+	public void remove(long key) {
 		if (internal.remove(key) != null) {
 			expirationMap.remove(key);
-			expired.remove(key);
+			lock.lock();
+			try {
+				expired.remove(key);
+			} finally {
+				lock.unlock();
+			}
 		}
 	}
 
 	/**
-	 * Invalidate all expired keys that are not considered in use.
+	 * Queue all expired keys for the worker.
 	 */
 	private void checkExpiration() {
-		if (!expirationQueued.get()) {
-			expired.addAll(expirationMap.doExpiration());
-		}
+		markExpired(expirationMap.doExpiration());
+	}
 
-		if (expired.isEmpty() || !expirationQueued.compareAndSet(false, true)) {
-			return;
-		}
+	/**
+	 * Write queued values in batches until closed.
+	 */
+	private void runWorker() {
+		while (true) {
+			ArrayList<V> expiredValues = new ArrayList<>();
+			lock.lock();
+			try {
+				while (expired.isEmpty() && !closed) {
+					queueChanged.await();
+				}
 
-		new Thread(
-				() -> {
-					// If not yet at maximum batch size, wait before
-					if (expired.size() < maxBatchSize) {
-						try {
-							Thread.sleep(batchDelay);
-							expired.addAll(expirationMap.doExpiration());
-						} catch (InterruptedException e) {
-							System.err.println("Encountered exception while attempting to await larger batch:");
-							e.printStackTrace();
-						}
-					}
+				if (expired.isEmpty()) {
+					// Closed and nothing left to write.
+					return;
+				}
+
+				// If not yet at maximum batch size, wait for a larger batch unless values must be written now.
+				long remaining = TimeUnit.MILLISECONDS.toNanos(batchDelay);
+				while (remaining > 0 && expired.size() < maxBatchSize && !flushRequested && !closed) {
+					remaining = queueChanged.awaitNanos(remaining);
+				}
 
-					ArrayList<V> expiredValues = new ArrayList<>();
-					Iterator<K> expiredIterator = expired.iterator();
-					while (expiredValues.size() < maxBatchSize && expiredIterator.hasNext()) {
-						K expiredKey = expiredIterator.next();
-						expiredIterator.remove();
-						// Don't remove if still in expiration map - still active.
-						V value = expirationMap.contains(expiredKey) ? internal.get(expiredKey) : internal.remove(expiredKey);
-						if (value != null) {
-							expiredValues.add(value);
-						}
+				while (expiredValues.size() < maxBatchSize && !expiredOrder.isEmpty()) {
+					long expiredKey = expiredOrder.poll();
+					if (!expired.remove(expiredKey)) {
+						// Key was removed from the cache after being queued.
+						continue;
 					}
+					// Don't remove if still in expiration map - still active.
+					V value = expirationMap.contains(expiredKey) ? internal.get(expiredKey) : internal.remove(expiredKey);
+					if (value != null) {
+						expiredValues.add(value);
+					}
+				}
+				writing = true;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} finally {
+				lock.unlock();
+			}
 
+			try {
+				if (!expiredValues.isEmpty()) {
+					writeBatchSize.record(expiredValues.size());
+					long start = System.nanoTime();
 					expirationConsumer.accept(expiredValues);
-					expirationQueued.set(false);
+					writeLatency.recordSince(start, TimeUnit.MILLISECONDS);
+				}
+			} catch (RuntimeException e) {
+				// Values have already been removed from the cache, so the failure must be visible.
+				logger.log(Level.SEVERE, "Encountered exception while writing expired values", e);
+			} finally {
+				lock.lock();
+				try {
+					writing = false;
+					if (expired.isEmpty()) {
+						flushRequested = false;
+					}
+					batchWritten.signalAll();
+				} finally {
+					lock.unlock();
+				}
+			}
+		}
+	}
 
-					// Re-run expiration check to queue next batch if necessary
-					checkExpiration();
-				}, "BatchExpiration"
-		).start();
+	/**
+	 * Wait for the worker to reduce the queue to the maximum backlog.
+	 */
+	private void awaitBacklog() {
+		lock.lock();
+		try {
+			if (expired.size() <= maxBacklog || closed || Thread.currentThread() == worker) {
+				return;
+			}
+			backPressureCount.incrementAndGet();
+			long start = System.nanoTime();
+			try {
+				while (expired.size() > maxBacklog && !closed && worker.isAlive()) {
+					batchWritten.await();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			backPressureNanos.addAndGet(System.nanoTime() - start);
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
 	 * Mark all keys for removal using the internal expiration system.
 	 */
 	public void lazyExpireAll() {
-		expired.addAll(internal.keySet());
-		checkExpiration();
+		markExpired(internal.keys());
+	}
+
+	/**
+	 * Queue keys for expiration, ignoring keys that are already queued.
+	 *
+	 * @param keys the keys to queue
+	 */
+	private void markExpired(long @NotNull [] keys) {
+		if (keys.length == 0) {
+			return;
+		}
+		lock.lock();
+		try {
+			for (long key : keys) {
+				if (expired.add(key)) {
+					expiredOrder.add(key);
+				}
+			}
+			peakQueued = Math.max(peakQueued, expired.size());
+			queueChanged.signal();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Write all queued values immediately and wait for them to be written.
+	 */
+	public void flush() {
+		lock.lock();
+		try {
+			flushRequested = true;
+			queueChanged.signal();
+			while ((!expired.isEmpty() || writing) && worker.isAlive()) {
+				batchWritten.await();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Write all queued values, stop the worker, and wait for it to finish.
+	 *
+	 * <p>Values remaining in the cache are not written. Use {@link #expireAll()} after closing to write them.
+	 */
+	public void close() {
+		lock.lock();
+		try {
+			closed = true;
+			queueChanged.signal();
+		} finally {
+			lock.unlock();
+		}
+
+		try {
+			worker.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
 	}
 
 	/**
 	 * Expire all keys immediately.
 	 */
 	public void expireAll() {
-		expired.clear();
-		if (internal.size() <= maxBatchSize) {
-			expirationConsumer.accept(internal.values());
-			internal.clear();
+		lock.lock();
+		try {
+			expired.clear();
+			expiredOrder.clear();
+		} finally {
+			lock.unlock();
+		}
+		Collection<V> values = internal.drain();
+		if (values.size() <= maxBatchSize) {
+			expirationConsumer.accept(values);
 		} else {
-			Iterator<V> iterator = internal.values().iterator();
+			Iterator<V> iterator = values.iterator();
 
 			Collection<Collection<V>> subsets = new ArrayList<>();
 			while (iterator.hasNext()) {
 				ArrayList<V> subset = new ArrayList<>(maxBatchSize);
 				for (int i = 0; i < maxBatchSize && iterator.hasNext(); ++i) {
 					subset.add(iterator.next());
-					iterator.remove();
 				}
 				subsets.add(subset);
 			}
@@ -260,6 +621,16 @@ public class BatchExpirationLoadingCache<K, V> {
 		expirationMap.clear();
 	}
 
+	/**
+	 * Count cached values matching a predicate. Weakly consistent.
+	 *
+	 * @param predicate the predicate
+	 * @return the number of matching values
+	 */
+	public int count(@NotNull Predicate<? super V> predicate) {
+		return internal.count(predicate);
+	}
+
 	/**
 	 * Get the current number of values in the cache.
 	 *
@@ -275,20 +646,115 @@ public class BatchExpirationLoadingCache<K, V> {
 	 * @return the expiration queue size
 	 */
 	public int getQueued() {
-		return expired.size();
+		lock.lock();
+		try {
+			return expired.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Get the largest number of values that have been queued for expiration at once.
+	 *
+	 * @return the peak expiration queue size
+	 */
+	public int getPeakQueued() {
+		lock.lock();
+		try {
+			return peakQueued;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Get the number of times a load waited for the expiration queue to shrink below the maximum backlog.
+	 *
+	 * @return the number of waits
+	 */
+	public long getBackPressureCount() {
+		return backPressureCount.get();
+	}
+
+	/**
+	 * Get the total time loads have spent waiting for the expiration queue to shrink below the maximum backlog.
+	 *
+	 * @return the total wait in milliseconds
+	 */
+	public long getBackPressureMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(backPressureNanos.get());
+	}
+
+	/**
+	 * Get the number of requests for values that were already cached.
+	 *
+	 * @return the number of cache hits
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Get the number of requests for values that were not cached.
+	 *
+	 * @return the number of cache misses
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * Get the number of values removed from the cache due to exceeding the maximum size.
+	 *
+	 * @return the number of evictions
+	 */
+	public long getEvictionCount() {
+		return expirationMap.getEvictionCount();
+	}
+
+	/**
+	 * Register the cache's metrics.
+	 *
+	 * @param registry the registry to add metrics to
+	 * @param prefix the prefix for metric names, i.e. {@code cache.}
+	 */
+	public void registerMetrics(@NotNull MetricsRegistry registry, @NotNull String prefix) {
+		registry.register(prefix + "cached", (Gauge) this::getCached);
+		registry.register(prefix + "loading", (Gauge) this::getLoading);
+		registry.register(prefix + "queued", (Gauge) this::getQueued);
+		registry.register(prefix + "queued-peak", (Gauge) this::getPeakQueued);
+		registry.register(prefix + "hits", (Gauge) this::getHitCount);
+		registry.register(prefix + "misses", (Gauge) this::getMissCount);
+		registry.register(prefix + "hit-rate", (Gauge) () -> {
+			long hitCount = getHitCount();
+			long requests = hitCount + getMissCount();
+			return requests == 0 ? 0D : (double) hitCount / requests;
+		});
+		registry.register(prefix + "evictions", (Gauge) this::getEvictionCount);
+		registry.register(prefix + "back-pressure.count", (Gauge) this::getBackPressureCount);
+		registry.register(prefix + "back-pressure.millis", (Gauge) this::getBackPressureMillis);
+		registry.register(prefix + "load-latency-micros", loadLatency);
+		registry.register(prefix + "load-batch-size", loadBatchSize);
+		registry.register(prefix + "write-batch-size", writeBatchSize);
+		registry.register(prefix + "write-latency-millis", writeLatency);
 	}
 
 	/**
 	 * A builder for a {@link BatchExpirationLoadingCache}.
-	 * @param <K> the type of key
 	 * @param <V> the type of value
 	 */
-	public static class Builder<K, V> {
+	public static class Builder<V> {
 		private long retention = 600_000L;
 		private int cacheMax = 640_000;
 		private long frequency = 10_000L;
 		private int batchMax = 1_024;
 		private long batchDelay = 500L;
+		private int maxBacklog = 65_536;
+		private @NotNull Executor loadExecutor = ForkJoinPool.commonPool();
+		private @Nullable BatchLoader<V> batchLoader;
+		private @NotNull EvictionPolicy evictionPolicy = EvictionPolicy.TINY_LFU;
+		private @NotNull Logger logger = Logger.getLogger(BatchExpirationLoadingCache.class.getName());
 
 		/**
 		 * Construct a {@link BatchExpirationLoadingCache}.
@@ -297,11 +763,11 @@ public class BatchExpirationLoadingCache<K, V> {
 		 * @param expirationConsumer the consumer of expired values
 		 * @return the constructed cache
 		 */
-		public @NotNull BatchExpirationLoadingCache<K, V> build(
-				@NotNull final Function<K, V> load,
+		public @NotNull BatchExpirationLoadingCache<V> build(
+				@NotNull final LongFunction<V> load,
 				@NotNull final Consumer<Collection<V>> expirationConsumer) {
-			ExpirationMap<K> map = new ExpirationMap<>(retention, cacheMax, frequency);
-			return new BatchExpirationLoadingCache<>(map, load, expirationConsumer, batchMax, batchDelay);
+			ExpirationMap map = new ExpirationMap(retention, cacheMax, frequency, evictionPolicy);
+			return new BatchExpirationLoadingCache<>(map, load, expirationConsumer, batchMax, batchDelay, maxBacklog, loadExecutor, batchLoader, logger);
 		}
 
 		/**
@@ -312,7 +778,7 @@ public class BatchExpirationLoadingCache<K, V> {
 		 * @param retention the retention duration
 		 * @return the builder
 		 */
-		public @NotNull Builder<K, V> setRetention(long retention) {
+		public @NotNull Builder<V> setRetention(long retention) {
 			this.retention = retention;
 			return this;
 		}
@@ -325,7 +791,7 @@ public class BatchExpirationLoadingCache<K, V> {
 		 * @param cacheMax the maximum cache size
 		 * @return the builder
 		 */
-		public @NotNull Builder<K, V> setCacheMax(int cacheMax) {
+		public @NotNull Builder<V> setCacheMax(int cacheMax) {
 			this.cacheMax = cacheMax;
 			return this;
 		}
@@ -338,7 +804,7 @@ public class BatchExpirationLoadingCache<K, V> {
 		 * @param frequency the maximum frequency of expiration checks
 		 * @return the builder
 		 */
-		public @NotNull Builder<K, V> setFrequency(long frequency) {
+		public @NotNull Builder<V> setFrequency(long frequency) {
 			this.frequency = frequency;
 			return this;
 		}
@@ -351,7 +817,7 @@ public class BatchExpirationLoadingCache<K, V> {
 		 * @param batchMax the maximum batch size
 		 * @return the builder
 		 */
-		public @NotNull Builder<K, V> setBatchMax(int batchMax) {
+		public @NotNull Builder<V> setBatchMax(int batchMax) {
 			this.batchMax = batchMax;
 			return this;
 		}
@@ -362,10 +828,93 @@ public class BatchExpirationLoadingCache<K, V> {
 		 * @param batchDelay the delay between batches
 		 * @return the builder
 		 */
-		public @NotNull Builder<K, V> setBatchDelay(long batchDelay) {
+		public @NotNull Builder<V> setBatchDelay(long batchDelay) {
 			this.batchDelay = batchDelay;
 			return this;
 		}
+
+		/**
+		 * Set the maximum number of values queued for expiration before loads wait for values to be written.
+		 *
+		 * <p>Defaults to 65,536 (64 regions worth of chunks).
+		 *
+		 * @param maxBacklog the maximum backlog
+		 * @return the builder
+		 */
+		public @NotNull Builder<V> setMaxBacklog(int maxBacklog) {
+			this.maxBacklog = maxBacklog;
+			return this;
+		}
+
+		/**
+		 * Set the executor used to load values.
+		 *
+		 * <p>Defaults to the common {@link ForkJoinPool}.
+		 *
+		 * @param loadExecutor the executor
+		 * @return the builder
+		 */
+		public @NotNull Builder<V> setLoadExecutor(@NotNull Executor loadExecutor) {
+			this.loadExecutor = loadExecutor;
+			return this;
+		}
+
+		/**
+		 * Set the policy used to choose values to remove when the cache exceeds its maximum size.
+		 *
+		 * <p>Defaults to {@link EvictionPolicy#TINY_LFU}.
+		 *
+		 * @param evictionPolicy the eviction policy
+		 * @return the builder
+		 */
+		public @NotNull Builder<V> setEvictionPolicy(@NotNull EvictionPolicy evictionPolicy) {
+			this.evictionPolicy = evictionPolicy;
+			return this;
+		}
+
+		/**
+		 * Set the function used to load multiple values at once.
+		 *
+		 * <p>Defaults to loading each value individually.
+		 *
+		 * @param batchLoader the batch loading function
+		 * @return the builder
+		 */
+		public @NotNull Builder<V> setBatchLoader(@Nullable BatchLoader<V> batchLoader) {
+			this.batchLoader = batchLoader;
+			return this;
+		}
+
+		/**
+		 * Set the logger used to report failures to write expired values.
+		 *
+		 * <p>Defaults to a logger named after the cache class.
+		 *
+		 * @param logger the logger
+		 * @return the builder
+		 */
+		public @NotNull Builder<V> setLogger(@NotNull Logger logger) {
+			this.logger = logger;
+			return this;
+		}
+	}
+
+	/**
+	 * A function loading values for multiple keys at once.
+	 *
+	 * @param <V> the type of value
+	 */
+	@FunctionalInterface
+	public interface BatchLoader<V> {
+
+		/**
+		 * Load values for keys.
+		 *
+		 * @param keys the keys
+		 * @return the loaded values in the order of the keys
+		 */
+		@NotNull List<V> load(long @NotNull [] keys);
+
 	}
 
 }
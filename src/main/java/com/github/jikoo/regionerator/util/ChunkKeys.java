@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.util;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Utility for packing a world and chunk coordinates into a single primitive key.
+ *
+ * <p>Worlds are assigned a numeric ID the first time they are seen. IDs are only stable for the lifetime of the
+ * instance and must not be persisted.
+ *
+ * <p>Key layout, from most to least significant bit:
+ * <ul>
+ *   <li>1 bit: whether the key refers to the chunk's visit time as of its last deletion</li>
+ *   <li>19 bits: world ID</li>
+ *   <li>22 bits: chunk X coordinate</li>
+ *   <li>22 bits: chunk Z coordinate</li>
+ * </ul>
+ * 22 signed bits comfortably covers the vanilla world border of 30 million blocks (1,875,000 chunks).
+ */
+public class ChunkKeys {
+
+	private static final int COORD_BITS = 22;
+	private static final int WORLD_BITS = 19;
+	private static final long COORD_MASK = (1L << COORD_BITS) - 1;
+	private static final long WORLD_MASK = (1L << WORLD_BITS) - 1;
+	private static final int MIN_COORD = -(1 << (COORD_BITS - 1));
+	private static final int MAX_COORD = (1 << (COORD_BITS - 1)) - 1;
+	private static final int X_SHIFT = COORD_BITS;
+	private static final int WORLD_SHIFT = COORD_BITS * 2;
+	private static final long OLD_FLAG = 1L << 63;
+	/** Number of bits used for chunk coordinates within a region. */
+	public static final int REGION_BITS = 5;
+	private static final int REGION_MASK = (1 << REGION_BITS) - 1;
+
+	private final Map<String, Integer> worldIds = new ConcurrentHashMap<>();
+	private final CopyOnWriteArrayList<String> worldNames = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Gets the numeric ID of a world, assigning one if necessary.
+	 *
+	 * @param worldName the world name
+	 * @return the world ID
+	 */
+	public int getWorldId(@NotNull String worldName) {
+		Integer id = worldIds.get(worldName);
+		if (id != null) {
+			return id;
+		}
+
+		synchronized (worldNames) {
+			return worldIds.computeIfAbsent(worldName, name -> {
+				if (worldNames.size() > WORLD_MASK) {
+					throw new IllegalStateException("Too many worlds to assign an ID to " + name);
+				}
+				worldNames.add(name);
+				return worldNames.size() - 1;
+			});
+		}
+	}
+
+	/**
+	 * Gets the name of the world with the given numeric ID.
+	 *
+	 * @param worldId the world ID
+	 * @return the world name
+	 * @throws IndexOutOfBoundsException if the ID has not been assigned
+	 */
+	public @NotNull String getWorldName(int worldId) {
+		return worldNames.get(worldId);
+	}
+
+	/**
+	 * Gets the key of a chunk.
+	 *
+	 * @param worldName the world name
+	 * @param chunkX the chunk X coordinate
+	 * @param chunkZ the chunk Z coordinate
+	 * @return the chunk key
+	 */
+	public long getKey(@NotNull String worldName, int chunkX, int chunkZ) {
+		return pack(getWorldId(worldName), chunkX, chunkZ);
+	}
+
+	/**
+	 * Gets the legacy database identifier of a chunk key, i.e. {@code world_x_z} or {@code world_x_z_old}.
+	 *
+	 * @param key the chunk key
+	 * @return the database identifier
+	 */
+	public @NotNull String getLegacyId(long key) {
+		String id = getWorldName(getWorldId(key)) + '_' + getChunkX(key) + '_' + getChunkZ(key);
+		return isOld(key) ? id + "_old" : id;
+	}
+
+	/**
+	 * Packs a world ID and chunk coordinates into a key.
+	 *
+	 * @param worldId the world ID
+	 * @param chunkX the chunk X coordinate
+	 * @param chunkZ the chunk Z coordinate
+	 * @return the chunk key
+	 * @throws IllegalArgumentException if the chunk coordinates are out of range
+	 */
+	@Contract(pure = true)
+	public static long pack(int worldId, int chunkX, int chunkZ) {
+		if (chunkX < MIN_COORD || chunkX > MAX_COORD || chunkZ < MIN_COORD || chunkZ > MAX_COORD) {
+			throw new IllegalArgumentException(String.format("Chunk %s, %s is out of range", chunkX, chunkZ));
+		}
+		return (worldId & WORLD_MASK) << WORLD_SHIFT | (chunkX & COORD_MASK) << X_SHIFT | chunkZ & COORD_MASK;
+	}
+
+	/**
+	 * Gets the world ID of a key.
+	 *
+	 * @param key the chunk key
+	 * @return the world ID
+	 */
+	@Contract(pure = true)
+	public static int getWorldId(long key) {
+		return (int) (key >>> WORLD_SHIFT & WORLD_MASK);
+	}
+
+	/**
+	 * Gets the chunk X coordinate of a key.
+	 *
+	 * @param key the chunk key
+	 * @return the chunk X coordinate
+	 */
+	@Contract(pure = true)
+	public static int getChunkX(long key) {
+		// Shift sign bit to the top of an int and back down to sign-extend.
+		return (int) (key >>> X_SHIFT) << (Integer.SIZE - COORD_BITS) >> (Integer.SIZE - COORD_BITS);
+	}
+
+	/**
+	 * Gets the chunk Z coordinate of a key.
+	 *
+	 * @param key the chunk key
+	 * @return the chunk Z coordinate
+	 */
+	@Contract(pure = true)
+	public static int getChunkZ(long key) {
+		return (int) key << (Integer.SIZE - COORD_BITS) >> (Integer.SIZE - COORD_BITS);
+	}
+
+	/**
+	 * Gets the index of a key's chunk within its region.
+	 *
+	 * <p>Indices match the order of chunks in a region file's header.
+	 *
+	 * @param key the chunk key
+	 * @return the index of the chunk within its region
+	 */
+	@Contract(pure = true)
+	public static int getRegionIndex(long key) {
+		return (getChunkZ(key) & REGION_MASK) << REGION_BITS | getChunkX(key) & REGION_MASK;
+	}
+
+	/**
+	 * Gets the key identifying the region containing a key's chunk.
+	 *
+	 * <p>The region key is the key of the region's first chunk, ignoring whether the original key is an old key.
+	 *
+	 * @param key the chunk key
+	 * @return the region key
+	 */
+	@Contract(pure = true)
+	public static long getRegionKey(long key) {
+		return key & ~OLD_FLAG & ~((long) REGION_MASK << X_SHIFT | REGION_MASK);
+	}
+
+	/**
+	 * Packs a world ID, region coordinates, and index of a chunk within the region into a key.
+	 *
+	 * @param worldId the world ID
+	 * @param regionX the region X coordinate
+	 * @param regionZ the region Z coordinate
+	 * @param index the index of the chunk within the region
+	 * @return the chunk key
+	 */
+	@Contract(pure = true)
+	public static long packRegionIndex(int worldId, int regionX, int regionZ, int index) {
+		return pack(worldId, regionX << REGION_BITS | index & REGION_MASK, regionZ << REGION_BITS | index >> REGION_BITS & REGION_MASK);
+	}
+
+	/**
+	 * Gets the key representing a chunk's visit time as of its last deletion.
+	 *
+	 * @param key the chunk key
+	 * @return the old chunk key
+	 */
+	@Contract(pure = true)
+	public static long toOld(long key) {
+		return key | OLD_FLAG;
+	}
+
+	/**
+	 * Checks whether a key represents a chunk's visit time as of its last deletion.
+	 *
+	 * @param key the chunk key
+	 * @return true if the key is an old key
+	 */
+	@Contract(pure = true)
+	public static boolean isOld(long key) {
+		return (key & OLD_FLAG) != 0;
+	}
+
+}
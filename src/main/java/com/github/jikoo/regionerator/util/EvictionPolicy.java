@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+/**
+ * Policies for choosing which keys to evict when an {@link ExpirationMap} exceeds its maximum size.
+ */
+public enum EvictionPolicy {
+
+	/** Evict the least recently used keys. */
+	LRU,
+	/**
+	 * Admit new keys into the main cache only if they are used more frequently than the key they would replace.
+	 * New keys are held in a small recency window first so that bursts of fresh keys are not rejected outright.
+	 */
+	TINY_LFU;
+
+	public static @NotNull EvictionPolicy of(@Nullable String value) {
+		if (value == null) return TINY_LFU;
+
+		try {
+			return valueOf(value.toUpperCase(Locale.ROOT).replace('-', '_'));
+		} catch (IllegalArgumentException e) {
+			return TINY_LFU;
+		}
+	}
+
+}
@@ -10,136 +10,404 @@
 
 package com.github.jikoo.regionerator.util;
 
-import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentSkipListMap;
+import com.github.jikoo.regionerator.util.collection.LongObjectHashMap;
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
- * Wrapper for mapping keys to timestamps for expiration.
+ * Wrapper for mapping primitive keys to timestamps for expiration.
+ *
+ * <p>Keys are stored in a timing wheel: a ring of buckets, each covering one expiration frequency's worth of
+ * expiration times. As every key is retained for the same duration, a touched key always moves to the newest bucket
+ * and buckets are naturally ordered oldest to newest. Touching a key is constant time and expiration only visits
+ * buckets that have come due.
+ *
+ * <p>If a maximum size is set, keys over the limit are evicted according to an {@link EvictionPolicy}. For
+ * {@link EvictionPolicy#TINY_LFU}, keys are additionally tracked in two recency-ordered segments: a small window for
+ * new keys and a main segment. Keys leaving the window only displace the least recently used main key if a
+ * {@link FrequencySketch} estimates that they are used more often.
  */
-public class ExpirationMap<V> {
+public class ExpirationMap {
+
+	private static final long[] NONE = new long[0];
+	private static final int MAX_BUCKETS = 4096;
 
-	private final ConcurrentSkipListMap<Long, Collection<V>> multiMap = new ConcurrentSkipListMap<>();
-	private final ConcurrentHashMap<V, Long> inverse = new ConcurrentHashMap<>();
+	private final LongObjectHashMap<Node> nodes = new LongObjectHashMap<>();
+	private final Node[] buckets;
 	private final long durationMillis;
+	private final long bucketMillis;
 	private final int maxSize;
 	private final long expirationFrequency;
+	private final @NotNull EvictionPolicy policy;
+	private final @Nullable FrequencySketch sketch;
+	private final @NotNull Segment window = new Segment();
+	private final @NotNull Segment main = new Segment();
+	private final int windowMax;
+	private final @NotNull LongSupplier clock;
 	private final AtomicLong lastExpiration = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+	private long lastExpiredTick;
 
 	public ExpirationMap(long durationMillis) {
 		this(durationMillis, -1, 10_000L);
 	}
 
 	public ExpirationMap(long durationMillis, int maxSize, long expirationFrequency) {
+		this(durationMillis, maxSize, expirationFrequency, EvictionPolicy.LRU);
+	}
+
+	public ExpirationMap(long durationMillis, int maxSize, long expirationFrequency, @NotNull EvictionPolicy policy) {
+		this(durationMillis, maxSize, expirationFrequency, policy, System::currentTimeMillis);
+	}
+
+	ExpirationMap(long durationMillis, int maxSize, long expirationFrequency, @NotNull EvictionPolicy policy,
+			@NotNull LongSupplier clock) {
 		this.durationMillis = durationMillis;
 		this.maxSize = maxSize;
 		this.expirationFrequency = expirationFrequency;
+		this.clock = clock;
+		this.policy = maxSize < 0 ? EvictionPolicy.LRU : policy;
+		if (this.policy == EvictionPolicy.TINY_LFU) {
+			this.sketch = new FrequencySketch(maxSize);
+			// A window of 1% of the cache absorbs bursts of new keys that have not had a chance to gain frequency.
+			this.windowMax = Math.min(maxSize, Math.max(1, maxSize / 100));
+		} else {
+			this.sketch = null;
+			this.windowMax = 0;
+		}
+
+		// Expiration is never checked more often than the frequency, so finer buckets would not increase accuracy.
+		this.bucketMillis = Math.max(1, Math.max(expirationFrequency, durationMillis / (MAX_BUCKETS - 2)));
+		// Keys can expire up to one full duration in the future. Ensure the newest bucket never wraps into the current.
+		this.buckets = new Node[(int) (durationMillis / bucketMillis) + 2];
+		this.lastExpiredTick = clock.getAsLong() / bucketMillis;
 	}
 
 	/**
-	 * Check and collect all values which have expired.
+	 * Check and collect all keys which have expired.
 	 *
-	 * @return a {@link Set} of expired values
+	 * @return an array of expired keys
 	 */
-	public @NotNull Set<V> doExpiration() {
-		long now = System.currentTimeMillis();
+	public long @NotNull [] doExpiration() {
+		long now = clock.getAsLong();
+		long last = lastExpiration.get();
 
-		if (lastExpiration.get() >= now - expirationFrequency) {
-			return Collections.emptySet();
+		if (last >= now - expirationFrequency || !lastExpiration.compareAndSet(last, now)) {
+			return NONE;
 		}
 
-		lastExpiration.set(now);
+		synchronized (this) {
+			Expired expired = new Expired();
+			long currentTick = now / bucketMillis;
 
-		Iterator<Map.Entry<Long, Collection<V>>> iterator = multiMap.descendingMap().entrySet().iterator();
-		int count = 0;
-		Set<V> values = new HashSet<>();
-
-		while (iterator.hasNext()) {
-			Map.Entry<Long, Collection<V>> next = iterator.next();
+			// Expire due buckets. If expiration has not run for a full rotation, every bucket is due.
+			long firstTick = Math.max(lastExpiredTick + 1, currentTick - buckets.length + 1);
+			for (long tick = firstTick; tick <= currentTick; ++tick) {
+				expireBucket(bucketIndex(tick), currentTick, expired);
+			}
+			lastExpiredTick = Math.max(lastExpiredTick, currentTick);
 
-			if (next.getKey() > now && (count += next.getValue().size()) <= maxSize) {
-				continue;
+			// Enforce maximum size.
+			if (policy == EvictionPolicy.TINY_LFU) {
+				evictTinyLfu(expired);
+			} else if (maxSize >= 0 && nodes.size() > maxSize) {
+				// Expire the oldest keys.
+				for (long tick = currentTick + 1; nodes.size() > maxSize && tick <= currentTick + buckets.length; ++tick) {
+					int index = bucketIndex(tick);
+					while (nodes.size() > maxSize && buckets[index] != null) {
+						evict(buckets[index], expired);
+					}
+				}
 			}
 
-			values.addAll(next.getValue());
+			return expired.toArray();
+		}
+	}
+
+	/**
+	 * Adds or updates a key's expiration.
+	 *
+	 * @param key the key to add
+	 */
+	public synchronized void add(long key) {
+		// Never bucket a key in a tick that has already been expired.
+		long tick = Math.max(lastExpiredTick + 1, (clock.getAsLong() + durationMillis) / bucketMillis);
+		Node node = nodes.get(key);
 
-			for (V key : next.getValue()) {
-				inverse.remove(key);
+		if (sketch != null) {
+			sketch.increment(key);
+		}
+
+		if (node == null) {
+			node = new Node(key);
+			nodes.put(key, node);
+			if (sketch != null) {
+				window.addLast(node);
+			}
+		} else {
+			if (sketch != null) {
+				segment(node).moveToLast(node);
 			}
+			if (node.tick == tick) {
+				// Already bucketed at the current expiration time.
+				return;
+			}
+			unlink(node);
+		}
+
+		node.tick = tick;
+		link(node);
+	}
 
-			iterator.remove();
+	/**
+	 * Removes a mapped key.
+	 *
+	 * @param key the key to remove
+	 */
+	public synchronized void remove(long key) {
+		Node node = nodes.get(key);
+		if (node != null) {
+			discard(node);
 		}
+	}
 
-		return values;
+	/**
+	 * Gets the number of keys evicted due to exceeding the maximum size.
+	 *
+	 * @return the number of evicted keys
+	 */
+	public long getEvictionCount() {
+		return evictions.get();
 	}
 
 	/**
-	 * Adds or updates a value's expiration.
+	 * Checks if the specified key is currently mapped.
 	 *
-	 * @param value the value to add
+	 * @param key the key to check for
+	 * @return true if the key is present
 	 */
-	public void add(V value) {
-		// Potential (slight) optimization: Bucket to nearest expiration frequency
-		// Would need a max frequency cap.
-		Long timestamp = System.currentTimeMillis() + durationMillis;
-		Long replacedTimestamp = inverse.replace(value, timestamp);
-
-		if (replacedTimestamp != null) {
-			// Key was already set to expire. Remove old expiration entry.
-			multiMap.computeIfPresent(replacedTimestamp, (oldTimestamp, collection) -> {
-				collection.remove(value);
-				return collection.isEmpty() ? null : collection;
-			});
-		}
-
-		// Add new expiration entry.
-		multiMap.compute(timestamp, (newTimestamp, collection) -> {
-			if (collection == null) {
-				collection = new HashSet<>();
-			}
-			collection.add(value);
-			return collection;
-		});
+	public synchronized boolean contains(long key) {
+		return nodes.containsKey(key);
+	}
+
+	/**
+	 * Gets the number of mapped keys.
+	 *
+	 * @return the number of keys
+	 */
+	public synchronized int size() {
+		return nodes.size();
+	}
+
+	/**
+	 * Clears all mapped keys.
+	 */
+	public synchronized void clear() {
+		nodes.clear();
+		Arrays.fill(buckets, null);
+		window.clear();
+		main.clear();
 	}
 
 	/**
-	 * Removes a mapped value.
+	 * Moves keys leaving the window into the main segment, evicting whichever of the key and the main segment's
+	 * least recently used key is used less frequently if the main segment is full.
 	 *
-	 * @param value the value to remove
+	 * @param expired the collection of expired keys
 	 */
-	public void remove(V value) {
-		Long removedTimestamp = inverse.remove(value);
-		if (removedTimestamp != null) {
-			multiMap.computeIfPresent(removedTimestamp, (oldTimestamp, collection) -> {
-				collection.remove(value);
-				return collection.isEmpty() ? null : collection;
-			});
+	private void evictTinyLfu(@NotNull Expired expired) {
+		int mainMax = maxSize - windowMax;
+		while (window.size > windowMax) {
+			Node candidate = window.head;
+			window.unlink(candidate);
+
+			if (main.size < mainMax) {
+				candidate.main = true;
+				main.addLast(candidate);
+				continue;
+			}
+
+			Node victim = main.head;
+			if (victim != null && sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+				evict(victim, expired);
+				candidate.main = true;
+				main.addLast(candidate);
+			} else {
+				evict(candidate, expired);
+			}
 		}
 	}
 
+	private void evict(@NotNull Node node, @NotNull Expired expired) {
+		discard(node);
+		expired.add(node.key);
+		evictions.incrementAndGet();
+	}
+
 	/**
-	 * Checks if the specified value is currently mapped.
+	 * Removes a node from its bucket, its segment, and the node mapping.
 	 *
-	 * @param value the value to check for
-	 * @return true if the value is present
+	 * @param node the node
+	 */
+	private void discard(@NotNull Node node) {
+		unlink(node);
+		if (node.segmentLinked) {
+			segment(node).unlink(node);
+		}
+		nodes.remove(node.key);
+	}
+
+	private @NotNull Segment segment(@NotNull Node node) {
+		return node.main ? main : window;
+	}
+
+	private int bucketIndex(long tick) {
+		return (int) Math.floorMod(tick, (long) buckets.length);
+	}
+
+	private void expireBucket(int index, long currentTick, @NotNull Expired expired) {
+		Node node = buckets[index];
+		while (node != null) {
+			Node next = node.next;
+			// Buckets may contain keys from a later rotation if expiration has not run recently.
+			if (node.tick <= currentTick) {
+				discard(node);
+				expired.add(node.key);
+			}
+			node = next;
+		}
+	}
+
+	/**
+	 * Appends a node to the tail of its bucket. Buckets are circular doubly linked lists, so the head's previous
+	 * node is the tail.
+	 */
+	private void link(@NotNull Node node) {
+		int index = bucketIndex(node.tick);
+		Node head = buckets[index];
+		if (head == null) {
+			node.previous = node;
+			node.next = null;
+			buckets[index] = node;
+			return;
+		}
+
+		Node tail = head.previous;
+		tail.next = node;
+		node.previous = tail;
+		node.next = null;
+		head.previous = node;
+	}
+
+	private void unlink(@NotNull Node node) {
+		int index = bucketIndex(node.tick);
+		Node head = buckets[index];
+
+		if (node == head) {
+			buckets[index] = node.next;
+			if (node.next != null) {
+				node.next.previous = node.previous;
+			}
+		} else {
+			node.previous.next = node.next;
+			if (node.next != null) {
+				node.next.previous = node.previous;
+			} else {
+				head.previous = node.previous;
+			}
+		}
+
+		node.previous = null;
+		node.next = null;
+	}
+
+	private static final class Node {
+		private final long key;
+		private long tick;
+		private @Nullable Node previous;
+		private @Nullable Node next;
+		private @Nullable Node older;
+		private @Nullable Node newer;
+		private boolean main;
+		private boolean segmentLinked;
+
+		private Node(long key) {
+			this.key = key;
+		}
+	}
+
+	/**
+	 * A doubly linked list of nodes ordered from least to most recently used.
 	 */
-	public boolean contains(V value) {
-		return inverse.containsKey(value);
+	private static final class Segment {
+		private @Nullable Node head;
+		private @Nullable Node tail;
+		private int size;
+
+		private void addLast(@NotNull Node node) {
+			node.older = tail;
+			node.newer = null;
+			if (tail == null) {
+				head = node;
+			} else {
+				tail.newer = node;
+			}
+			tail = node;
+			node.segmentLinked = true;
+			++size;
+		}
+
+		private void unlink(@NotNull Node node) {
+			if (node.older == null) {
+				head = node.newer;
+			} else {
+				node.older.newer = node.newer;
+			}
+			if (node.newer == null) {
+				tail = node.older;
+			} else {
+				node.newer.older = node.older;
+			}
+			node.older = null;
+			node.newer = null;
+			node.segmentLinked = false;
+			--size;
+		}
+
+		private void moveToLast(@NotNull Node node) {
+			if (node != tail) {
+				unlink(node);
+				addLast(node);
+			}
+		}
+
+		private void clear() {
+			head = null;
+			tail = null;
+			size = 0;
+		}
 	}
 
 	/**
-	 * Clears all mapped values.
+	 * Minimal growable array of expired keys.
 	 */
-	public void clear() {
-		multiMap.clear();
-		inverse.clear();
+	private static final class Expired {
+		private long[] keys = NONE;
+		private int size;
+
+		private void add(long key) {
+			if (size == keys.length) {
+				keys = Arrays.copyOf(keys, Math.max(16, size << 1));
+			}
+			keys[size++] = key;
+		}
+
+		private long @NotNull [] toArray() {
+			return size == keys.length ? keys : Arrays.copyOf(keys, size);
+		}
 	}
 
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.util;
+
+/**
+ * A Count-Min sketch estimating how often keys are used.
+ *
+ * <p>Each key maps to one 4-bit counter in each of four rows, and its estimated frequency is the smallest of those
+ * counters. Once the number of increments reaches ten times the expected number of keys, all counters are halved so
+ * that estimates favor recent use.
+ *
+ * <p>Not thread-safe.
+ */
+final class FrequencySketch {
+
+	private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+	private static final long RESET_MASK = 0x7777777777777777L;
+	private static final int MAX_COUNT = 15;
+
+	private final long[] table;
+	private final int tableMask;
+	private final int sampleSize;
+	private int additions;
+
+	/**
+	 * Constructs a new FrequencySketch.
+	 *
+	 * @param expectedKeys the expected number of distinct keys
+	 */
+	FrequencySketch(int expectedKeys) {
+		// Each long holds 16 counters, so a table with one long per 4 keys keeps collisions reasonably low.
+		int capacity = Math.max(2, Math.min(expectedKeys, 1 << 28));
+		int size = Math.max(8, Integer.highestOneBit(capacity - 1) << 1 >> 2);
+		this.table = new long[size];
+		this.tableMask = size - 1;
+		this.sampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * Math.max(1, expectedKeys));
+	}
+
+	/**
+	 * Gets the estimated number of times a key has been used, to a maximum of 15.
+	 *
+	 * @param key the key
+	 * @return the estimated frequency
+	 */
+	int frequency(long key) {
+		int frequency = MAX_COUNT;
+		for (int row = 0; row < SEEDS.length; ++row) {
+			long hash = hash(key, row);
+			frequency = Math.min(frequency, (int) (table[index(hash)] >>> shift(hash)) & MAX_COUNT);
+		}
+		return frequency;
+	}
+
+	/**
+	 * Records a use of a key.
+	 *
+	 * @param key the key
+	 */
+	void increment(long key) {
+		boolean added = false;
+		for (int row = 0; row < SEEDS.length; ++row) {
+			long hash = hash(key, row);
+			int index = index(hash);
+			int shift = shift(hash);
+			if ((table[index] >>> shift & MAX_COUNT) < MAX_COUNT) {
+				table[index] += 1L << shift;
+				added = true;
+			}
+		}
+
+		if (added && ++additions >= sampleSize) {
+			reset();
+		}
+	}
+
+	/**
+	 * Halves all counters.
+	 */
+	private void reset() {
+		for (int i = 0; i < table.length; ++i) {
+			table[i] = table[i] >>> 1 & RESET_MASK;
+		}
+		additions >>>= 1;
+	}
+
+	private int index(long hash) {
+		return (int) (hash >>> 32) & tableMask;
+	}
+
+	private static int shift(long hash) {
+		// Select one of 16 4-bit counters within the long.
+		return ((int) hash & 15) << 2;
+	}
+
+	private static long hash(long key, int row) {
+		// Murmur3 finalizer over a per-row seeded key.
+		long hash = key + SEEDS[row];
+		hash = (hash ^ hash >>> 33) * 0xff51afd7ed558ccdL;
+		hash = (hash ^ hash >>> 33) * 0xc4ceb9fe1a85ec53L;
+		return hash ^ hash >>> 33;
+	}
+
+}
@@ -16,9 +16,10 @@ import com.github.jikoo.regionerator.DebugLevel;
 import com.github.jikoo.regionerator.Regionerator;
 import com.github.jikoo.regionerator.VisitStatus;
 import com.github.jikoo.regionerator.hooks.Hook;
+import com.github.jikoo.regionerator.hooks.HookResult;
+import com.github.jikoo.regionerator.hooks.ProtectionIndex;
 import com.github.jikoo.regionerator.util.yaml.Config;
 import com.github.jikoo.regionerator.world.ChunkInfo;
-import com.github.jikoo.regionerator.world.WorldInfo;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.jetbrains.annotations.NotNull;
@@ -39,14 +40,15 @@ public class VisitStatusCache extends CachingSupplier<VisitStatus> {
 
 			long now = System.currentTimeMillis();
 			final World bukkitWorld = chunkInfo.getWorld();
-			ChunkFlagger.FlagData flagData = plugin.getFlagger()
-					.getChunkFlag(bukkitWorld, chunkInfo.getChunkX(), chunkInfo.getChunkZ()).join();
+			int chunkX = chunkInfo.getChunkX();
+			int chunkZ = chunkInfo.getChunkZ();
+			ChunkFlagger.FlagData flagData = plugin.getFlagger().getChunkFlag(bukkitWorld, chunkX, chunkZ).join();
 			long lastVisit = flagData.getLastVisit();
 			boolean isFresh = !plugin.config().isDeleteFreshChunks(bukkitWorld) && lastVisit == plugin.config().getFlagGenerated(bukkitWorld);
 
 			// If chunk is visited, don't waste time processing hooks.
 			if (!isFresh && now <= lastVisit) {
-				plugin.debug(DebugLevel.HIGH, () -> String.format("Chunk %s is visited until %s", flagData.getChunkId(), lastVisit));
+				plugin.debug(DebugLevel.HIGH, () -> String.format("Chunk %s_%s_%s is visited until %s", bukkitWorld.getName(), chunkX, chunkZ, lastVisit));
 
 				// Handle visit status magic values.
 				if (lastVisit == Config.FLAG_ETERNAL) {
@@ -60,17 +62,38 @@ public class VisitStatusCache extends CachingSupplier<VisitStatus> {
 
 			// If chunk is recently modified, prioritize that over protections for the sake of speed/calculation load.
 			if (!isFresh && now - plugin.config().getFlagDuration(bukkitWorld) <= chunkInfo.getLastModified()) {
-				plugin.debug(DebugLevel.HIGH, () -> String.format("Chunk %s is modified until %s", flagData.getChunkId(), lastVisit));
+				plugin.debug(DebugLevel.HIGH, () -> String.format("Chunk %s_%s_%s is modified until %s", bukkitWorld.getName(), chunkX, chunkZ, lastVisit));
 				return VisitStatus.VISITED;
 			}
 
+			// Check snapshots of hooks' protections before querying hooks directly.
+			ProtectionIndex protectionIndex = plugin.getProtectionIndex();
+			if (protectionIndex.isProtected(bukkitWorld.getName(), chunkX, chunkZ)) {
+				plugin.debug(DebugLevel.HIGH, () -> String.format("Chunk %s_%s_%s contains indexed protections",
+						bukkitWorld.getName(), chunkX, chunkZ));
+				return VisitStatus.PROTECTED;
+			}
+
 			Collection<Hook> syncHooks = Bukkit.isPrimaryThread() ? null : new ArrayList<>();
-			WorldInfo world = chunkInfo.getRegionInfo().getWorldInfo();
-			int chunkX = chunkInfo.getChunkX();
-			int chunkZ = chunkInfo.getChunkZ();
 
 			// Check available hooks.
 			for (Hook hook : plugin.getProtectionHooks()) {
+				if (protectionIndex.isIndexed(hook)) {
+					continue;
+				}
+
+				// Use the region's known result if the chunk has already been checked.
+				HookResult result = chunkInfo.getRegionInfo().getHookResult(hook);
+				int index = chunkInfo.getRegionIndex();
+				if (result != null && result.isChecked(index)) {
+					if (result.isProtected(index)) {
+						plugin.debug(DebugLevel.HIGH, () -> String.format("Chunk %s_%s_%s contains protections by %s",
+								bukkitWorld.getName(), chunkX, chunkZ, hook.getProtectionName()));
+						return VisitStatus.PROTECTED;
+					}
+					continue;
+				}
+
 				// If hook must be queried on the main thread, add to the sync hook list.
 				if (syncHooks != null && !hook.isAsyncCapable()) {
 					syncHooks.add(hook);
@@ -78,9 +101,9 @@ public class VisitStatusCache extends CachingSupplier<VisitStatus> {
 				}
 
 				// Otherwise query the hook immediately.
-				if (hook.isChunkProtected(world.getWorld(), chunkX, chunkZ)) {
-					plugin.debug(DebugLevel.HIGH, () -> String.format("Chunk %s contains protections by %s",
-							flagData.getChunkId(), hook.getProtectionName()));
+				if (isProtected(plugin, hook, chunkInfo)) {
+					plugin.debug(DebugLevel.HIGH, () -> String.format("Chunk %s_%s_%s contains protections by %s",
+							bukkitWorld.getName(), chunkX, chunkZ, hook.getProtectionName()));
 					return VisitStatus.PROTECTED;
 				}
 			}
@@ -97,9 +120,9 @@ public class VisitStatusCache extends CachingSupplier<VisitStatus> {
 					// Query remaining hooks on main thread.
 					VisitStatus visitStatus = Bukkit.getScheduler().callSyncMethod(plugin, () -> {
 						for (Hook hook : syncHooks) {
-							if (hook.isChunkProtected(world.getWorld(), chunkX, chunkZ)) {
-								plugin.debug(DebugLevel.HIGH, () -> String.format("Chunk %s contains protections by %s",
-										flagData.getChunkId(), hook.getProtectionName()));
+							if (isProtected(plugin, hook, chunkInfo)) {
+								plugin.debug(DebugLevel.HIGH, () -> String.format("Chunk %s_%s_%s contains protections by %s",
+										bukkitWorld.getName(), chunkX, chunkZ, hook.getProtectionName()));
 								return VisitStatus.PROTECTED;
 							}
 						}
@@ -116,15 +139,34 @@ public class VisitStatusCache extends CachingSupplier<VisitStatus> {
 
 			// If chunk is fresh and nothing else overwrote status, fall through to generated status.
 			if (isFresh) {
-				plugin.debug(DebugLevel.HIGH, () -> "Chunk " + flagData.getChunkId() + " has not been visited since it was generated.");
+				plugin.debug(DebugLevel.HIGH, () -> String.format("Chunk %s_%s_%s has not been visited since it was generated.", bukkitWorld.getName(), chunkX, chunkZ));
 				return VisitStatus.GENERATED;
 			}
 
-			plugin.debug(DebugLevel.HIGH, () -> "Chunk " + flagData.getChunkId() + " has not been visited.");
+			plugin.debug(DebugLevel.HIGH, () -> String.format("Chunk %s_%s_%s has not been visited.", bukkitWorld.getName(), chunkX, chunkZ));
 			return VisitStatus.UNVISITED;
 		}, calcCacheDuration(plugin), TimeUnit.MINUTES);
 	}
 
+	/**
+	 * Checks whether a chunk is protected by a hook. Hooks capable of checking entire regions are queried once per region.
+	 * Results are stored in the region so that they can be reused.
+	 *
+	 * @param plugin the Regionerator instance
+	 * @param hook the hook
+	 * @param chunkInfo the chunk
+	 * @return true if the chunk is protected
+	 */
+	private static boolean isProtected(@NotNull Regionerator plugin, @NotNull Hook hook, @NotNull ChunkInfo chunkInfo) {
+		if (hook.isRegionCapable()) {
+			return chunkInfo.getRegionInfo().getProtectedChunks(hook).get(chunkInfo.getRegionIndex());
+		}
+		boolean isProtected = plugin.getHookMetrics().isChunkProtected(hook, chunkInfo.getWorld(), chunkInfo.getChunkX(),
+				chunkInfo.getChunkZ());
+		chunkInfo.getRegionInfo().addHookResult(hook, HookResult.ofChunk(chunkInfo.getRegionIndex(), isProtected));
+		return isProtected;
+	}
+
 	/**
 	 * Calculates the duration to cache VisitStatus values to prevent excess load.
 	 *
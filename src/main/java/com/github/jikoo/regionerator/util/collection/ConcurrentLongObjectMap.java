@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.util.collection;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+
+/**
+ * A thread-safe map from primitive {@code long} keys to objects.
+ *
+ * <p>Keys are striped across a fixed number of independently locked {@link LongObjectHashMap LongObjectHashMaps}
+ * so that concurrent callers rarely contend. Null values are not permitted.
+ *
+ * @param <V> the type of value
+ */
+public class ConcurrentLongObjectMap<V> {
+
+	private static final int SEGMENT_BITS = 5;
+
+	private final LongObjectHashMap<V>[] segments;
+
+	public ConcurrentLongObjectMap() {
+		this(0);
+	}
+
+	@SuppressWarnings("unchecked")
+	public ConcurrentLongObjectMap(int expected) {
+		segments = new LongObjectHashMap[1 << SEGMENT_BITS];
+		int perSegment = expected >> SEGMENT_BITS;
+		for (int i = 0; i < segments.length; ++i) {
+			segments[i] = new LongObjectHashMap<>(perSegment);
+		}
+	}
+
+	private @NotNull LongObjectHashMap<V> segment(long key) {
+		// Use high bits to select segment; low bits are used for the slot within the segment.
+		return segments[LongHashing.mix(key) >>> (Integer.SIZE - SEGMENT_BITS)];
+	}
+
+	public @Nullable V get(long key) {
+		LongObjectHashMap<V> segment = segment(key);
+		synchronized (segment) {
+			return segment.get(key);
+		}
+	}
+
+	public boolean containsKey(long key) {
+		LongObjectHashMap<V> segment = segment(key);
+		synchronized (segment) {
+			return segment.containsKey(key);
+		}
+	}
+
+	public @Nullable V put(long key, @NotNull V value) {
+		LongObjectHashMap<V> segment = segment(key);
+		synchronized (segment) {
+			return segment.put(key, value);
+		}
+	}
+
+	public @Nullable V putIfAbsent(long key, @NotNull V value) {
+		LongObjectHashMap<V> segment = segment(key);
+		synchronized (segment) {
+			return segment.putIfAbsent(key, value);
+		}
+	}
+
+	/**
+	 * Get the value mapped to a key, computing and inserting it if not present.
+	 *
+	 * <p>The function is called while holding the key's lock and should be short.
+	 *
+	 * @param key the key
+	 * @param function the function used to compute a new value
+	 * @return the existing or computed value
+	 */
+	public @NotNull V computeIfAbsent(long key, @NotNull LongFunction<? extends V> function) {
+		LongObjectHashMap<V> segment = segment(key);
+		synchronized (segment) {
+			return segment.computeIfAbsent(key, function);
+		}
+	}
+
+	public @Nullable V remove(long key) {
+		LongObjectHashMap<V> segment = segment(key);
+		synchronized (segment) {
+			return segment.remove(key);
+		}
+	}
+
+	public boolean remove(long key, @NotNull V value) {
+		LongObjectHashMap<V> segment = segment(key);
+		synchronized (segment) {
+			return segment.remove(key, value);
+		}
+	}
+
+	/**
+	 * Get the number of mappings. Concurrent modification may cause the result to be slightly inaccurate.
+	 *
+	 * @return the number of mappings
+	 */
+	public int size() {
+		int size = 0;
+		for (LongObjectHashMap<V> segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	public void clear() {
+		for (LongObjectHashMap<V> segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+
+	/**
+	 * Get a weakly consistent snapshot of all mapped keys.
+	 *
+	 * @return an array of keys
+	 */
+	public long @NotNull [] keys() {
+		long[][] segmentKeys = new long[segments.length][];
+		int total = 0;
+		for (int i = 0; i < segments.length; ++i) {
+			synchronized (segments[i]) {
+				segmentKeys[i] = segments[i].keys();
+			}
+			total += segmentKeys[i].length;
+		}
+		long[] keys = new long[total];
+		int offset = 0;
+		for (long[] segment : segmentKeys) {
+			System.arraycopy(segment, 0, keys, offset, segment.length);
+			offset += segment.length;
+		}
+		return keys;
+	}
+
+	/**
+	 * Get a weakly consistent snapshot of all mapped values.
+	 *
+	 * @return a list of values
+	 */
+	public @NotNull List<V> values() {
+		List<V> values = new ArrayList<>(size());
+		for (LongObjectHashMap<V> segment : segments) {
+			synchronized (segment) {
+				segment.forEach((key, value) -> values.add(value));
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Count mapped values matching a predicate. Weakly consistent.
+	 *
+	 * @param predicate the predicate
+	 * @return the number of matching values
+	 */
+	public int count(@NotNull Predicate<? super V> predicate) {
+		int count = 0;
+		for (LongObjectHashMap<V> segment : segments) {
+			int[] segmentCount = new int[1];
+			synchronized (segment) {
+				segment.forEach((key, value) -> {
+					if (predicate.test(value)) {
+						++segmentCount[0];
+					}
+				});
+			}
+			count += segmentCount[0];
+		}
+		return count;
+	}
+
+	/**
+	 * Remove all mappings, returning the removed values.
+	 *
+	 * @return the removed values
+	 */
+	public @NotNull Collection<V> drain() {
+		List<V> values = new ArrayList<>(size());
+		for (LongObjectHashMap<V> segment : segments) {
+			synchronized (segment) {
+				segment.forEach((key, value) -> values.add(value));
+				segment.clear();
+			}
+		}
+		return values;
+	}
+
+}
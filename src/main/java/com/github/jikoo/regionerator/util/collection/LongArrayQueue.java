@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.util.collection;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A growable first-in-first-out queue of primitive {@code long} values backed by a ring buffer.
+ *
+ * <p>This class is not thread-safe.
+ */
+public class LongArrayQueue {
+
+	private long[] elements;
+	private int head;
+	private int size;
+
+	public LongArrayQueue() {
+		this(LongHashing.MIN_CAPACITY);
+	}
+
+	public LongArrayQueue(int expected) {
+		elements = new long[Math.max(LongHashing.MIN_CAPACITY, expected)];
+	}
+
+	/**
+	 * Get the number of queued values.
+	 *
+	 * @return the number of values
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Get whether the queue is empty.
+	 *
+	 * @return true if no values are queued
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Add a value to the tail of the queue.
+	 *
+	 * @param value the value
+	 */
+	public void add(long value) {
+		if (size == elements.length) {
+			grow();
+		}
+		elements[(head + size) % elements.length] = value;
+		++size;
+	}
+
+	/**
+	 * Remove and return the value at the head of the queue.
+	 *
+	 * @return the value
+	 * @throws NoSuchElementException if the queue is empty
+	 */
+	public long poll() {
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+		long value = elements[head];
+		head = (head + 1) % elements.length;
+		--size;
+		return value;
+	}
+
+	/**
+	 * Remove all values.
+	 */
+	public void clear() {
+		head = 0;
+		size = 0;
+	}
+
+	private void grow() {
+		long[] grown = new long[elements.length << 1];
+		int firstPart = Math.min(size, elements.length - head);
+		System.arraycopy(elements, head, grown, 0, firstPart);
+		System.arraycopy(elements, 0, grown, firstPart, size - firstPart);
+		elements = grown;
+		head = 0;
+	}
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.util.collection;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * An open-addressed hash set of primitive {@code long} values.
+ *
+ * <p>This class is not thread-safe.
+ */
+public class LongHashSet {
+
+	private long[] keys;
+	private int mask;
+	private int maxFill;
+	private int size;
+	private boolean hasZeroKey;
+
+	public LongHashSet() {
+		this(LongHashing.MIN_CAPACITY);
+	}
+
+	public LongHashSet(int expected) {
+		allocate(LongHashing.capacityFor(expected));
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		mask = capacity - 1;
+		maxFill = LongHashing.maxFill(capacity);
+	}
+
+	/**
+	 * Get the number of values.
+	 *
+	 * @return the number of values
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Get whether the set contains no values.
+	 *
+	 * @return true if the set is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Check if a value is present.
+	 *
+	 * @param key the value
+	 * @return true if the value is present
+	 */
+	public boolean contains(long key) {
+		if (key == 0) {
+			return hasZeroKey;
+		}
+		return find(key) >= 0;
+	}
+
+	/**
+	 * Add a value.
+	 *
+	 * @param key the value
+	 * @return true if the value was not already present
+	 */
+	public boolean add(long key) {
+		if (key == 0) {
+			if (hasZeroKey) {
+				return false;
+			}
+			hasZeroKey = true;
+			++size;
+			return true;
+		}
+
+		int index = find(key);
+		if (index >= 0) {
+			return false;
+		}
+
+		keys[-index - 1] = key;
+		if (++size > maxFill) {
+			rehash(keys.length << 1);
+		}
+		return true;
+	}
+
+	/**
+	 * Remove a value.
+	 *
+	 * @param key the value
+	 * @return true if the value was present
+	 */
+	public boolean remove(long key) {
+		if (key == 0) {
+			if (!hasZeroKey) {
+				return false;
+			}
+			hasZeroKey = false;
+			--size;
+			return true;
+		}
+
+		int index = find(key);
+		if (index < 0) {
+			return false;
+		}
+		removeAt(index);
+		return true;
+	}
+
+	/**
+	 * Remove all values.
+	 */
+	public void clear() {
+		if (size == 0) {
+			return;
+		}
+		Arrays.fill(keys, 0);
+		hasZeroKey = false;
+		size = 0;
+	}
+
+	/**
+	 * Perform an action for each value. The set must not be modified by the action.
+	 *
+	 * @param consumer the action
+	 */
+	public void forEach(@NotNull LongConsumer consumer) {
+		if (hasZeroKey) {
+			consumer.accept(0);
+		}
+		for (long key : keys) {
+			if (key != 0) {
+				consumer.accept(key);
+			}
+		}
+	}
+
+	/**
+	 * Get a snapshot of all values.
+	 *
+	 * @return an array of values
+	 */
+	public long @NotNull [] toArray() {
+		long[] result = new long[size];
+		int resultIndex = 0;
+		if (hasZeroKey) {
+			result[resultIndex++] = 0;
+		}
+		for (long key : keys) {
+			if (key != 0) {
+				result[resultIndex++] = key;
+			}
+		}
+		return result;
+	}
+
+	private int find(long key) {
+		int index = LongHashing.mix(key) & mask;
+		long current;
+		while ((current = keys[index]) != 0) {
+			if (current == key) {
+				return index;
+			}
+			index = (index + 1) & mask;
+		}
+		return -index - 1;
+	}
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		allocate(capacity);
+		for (long key : oldKeys) {
+			if (key == 0) {
+				continue;
+			}
+			int index = LongHashing.mix(key) & mask;
+			while (keys[index] != 0) {
+				index = (index + 1) & mask;
+			}
+			keys[index] = key;
+		}
+	}
+
+	private void removeAt(int index) {
+		--size;
+		int last;
+		long current;
+		while (true) {
+			index = ((last = index) + 1) & mask;
+			while (true) {
+				if ((current = keys[index]) == 0) {
+					keys[last] = 0;
+					return;
+				}
+				int slot = LongHashing.mix(current) & mask;
+				if (last <= index ? last >= slot || slot > index : last >= slot && slot > index) {
+					break;
+				}
+				index = (index + 1) & mask;
+			}
+			keys[last] = current;
+		}
+	}
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.util.collection;
+
+/**
+ * Shared helpers for open-addressed primitive hash tables.
+ */
+final class LongHashing {
+
+	/** Maximum fraction of slots that may be occupied before a table grows. */
+	static final float LOAD_FACTOR = 0.75F;
+	/** Smallest table capacity. Must be a power of two. */
+	static final int MIN_CAPACITY = 16;
+	/** Largest table capacity. Must be a power of two. */
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	/**
+	 * Scramble a key so that packed coordinates spread evenly across a power-of-two table.
+	 *
+	 * @param key the key
+	 * @return the mixed hash
+	 */
+	static int mix(long key) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		hash ^= hash >>> 32;
+		return (int) (hash ^ hash >>> 16);
+	}
+
+	/**
+	 * Get a power-of-two table capacity able to hold the expected number of elements.
+	 *
+	 * @param expected the expected number of elements
+	 * @return the table capacity
+	 */
+	static int capacityFor(int expected) {
+		long needed = (long) Math.ceil(Math.max(expected, 1) / LOAD_FACTOR);
+		if (needed >= MAX_CAPACITY) {
+			return MAX_CAPACITY;
+		}
+		return Math.max(MIN_CAPACITY, Integer.highestOneBit((int) needed - 1) << 1);
+	}
+
+	/**
+	 * Get the number of elements a table may contain before it must grow.
+	 *
+	 * @param capacity the table capacity
+	 * @return the maximum fill
+	 */
+	static int maxFill(int capacity) {
+		return Math.min(capacity - 1, (int) Math.ceil(capacity * LOAD_FACTOR));
+	}
+
+	private LongHashing() {}
+
+}
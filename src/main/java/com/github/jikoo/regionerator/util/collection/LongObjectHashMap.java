@@ -0,0 +1,368 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.util.collection;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+/**
+ * An open-addressed hash map from primitive {@code long} keys to objects.
+ *
+ * <p>Keys are stored unboxed, so lookups and insertions do not allocate. Null values are not permitted.
+ * This class is not thread-safe.
+ *
+ * @param <V> the type of value
+ */
+public class LongObjectHashMap<V> {
+
+	private long[] keys;
+	private V[] values;
+	private int mask;
+	private int maxFill;
+	private int size;
+	private boolean hasZeroKey;
+	private @Nullable V zeroValue;
+
+	public LongObjectHashMap() {
+		this(LongHashing.MIN_CAPACITY);
+	}
+
+	public LongObjectHashMap(int expected) {
+		allocate(LongHashing.capacityFor(expected));
+	}
+
+	@SuppressWarnings("unchecked")
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = (V[]) new Object[capacity];
+		mask = capacity - 1;
+		maxFill = LongHashing.maxFill(capacity);
+	}
+
+	/**
+	 * Get the number of mappings.
+	 *
+	 * @return the number of mappings
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Get whether the map contains no mappings.
+	 *
+	 * @return true if the map is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Check if a key is mapped.
+	 *
+	 * @param key the key
+	 * @return true if the key is mapped
+	 */
+	public boolean containsKey(long key) {
+		if (key == 0) {
+			return hasZeroKey;
+		}
+		return find(key) >= 0;
+	}
+
+	/**
+	 * Get the value mapped to a key.
+	 *
+	 * @param key the key
+	 * @return the value or {@code null} if not mapped
+	 */
+	public @Nullable V get(long key) {
+		if (key == 0) {
+			return zeroValue;
+		}
+		int index = find(key);
+		return index < 0 ? null : values[index];
+	}
+
+	/**
+	 * Map a key to a value.
+	 *
+	 * @param key the key
+	 * @param value the value
+	 * @return the previously mapped value or {@code null}
+	 */
+	public @Nullable V put(long key, @NotNull V value) {
+		if (key == 0) {
+			V previous = zeroValue;
+			if (!hasZeroKey) {
+				hasZeroKey = true;
+				++size;
+			}
+			zeroValue = value;
+			return previous;
+		}
+
+		int index = find(key);
+		if (index >= 0) {
+			V previous = values[index];
+			values[index] = value;
+			return previous;
+		}
+
+		insert(-index - 1, key, value);
+		return null;
+	}
+
+	/**
+	 * Map a key to a value if it is not already mapped.
+	 *
+	 * @param key the key
+	 * @param value the value
+	 * @return the existing value or {@code null} if the new value was inserted
+	 */
+	public @Nullable V putIfAbsent(long key, @NotNull V value) {
+		V existing = get(key);
+		if (existing != null) {
+			return existing;
+		}
+		put(key, value);
+		return null;
+	}
+
+	/**
+	 * Get the value mapped to a key, computing and inserting it if not present.
+	 *
+	 * @param key the key
+	 * @param function the function used to compute a new value
+	 * @return the existing or computed value
+	 */
+	public @NotNull V computeIfAbsent(long key, @NotNull LongFunction<? extends V> function) {
+		V existing = get(key);
+		if (existing != null) {
+			return existing;
+		}
+		V value = function.apply(key);
+		put(key, value);
+		return value;
+	}
+
+	/**
+	 * Remove a key's mapping.
+	 *
+	 * @param key the key
+	 * @return the removed value or {@code null}
+	 */
+	public @Nullable V remove(long key) {
+		if (key == 0) {
+			if (!hasZeroKey) {
+				return null;
+			}
+			V previous = zeroValue;
+			hasZeroKey = false;
+			zeroValue = null;
+			--size;
+			return previous;
+		}
+
+		int index = find(key);
+		if (index < 0) {
+			return null;
+		}
+		V previous = values[index];
+		removeAt(index);
+		return previous;
+	}
+
+	/**
+	 * Remove a key's mapping only if it is mapped to the specified value.
+	 *
+	 * @param key the key
+	 * @param value the expected value
+	 * @return true if the mapping was removed
+	 */
+	public boolean remove(long key, @NotNull V value) {
+		if (!value.equals(get(key))) {
+			return false;
+		}
+		remove(key);
+		return true;
+	}
+
+	/**
+	 * Remove all mappings.
+	 */
+	public void clear() {
+		if (size == 0) {
+			return;
+		}
+		Arrays.fill(keys, 0);
+		Arrays.fill(values, null);
+		hasZeroKey = false;
+		zeroValue = null;
+		size = 0;
+	}
+
+	/**
+	 * Perform an action for each mapping. The map must not be modified by the action.
+	 *
+	 * @param consumer the action
+	 */
+	public void forEach(@NotNull EntryConsumer<? super V> consumer) {
+		if (hasZeroKey) {
+			consumer.accept(0, zeroValue);
+		}
+		for (int index = 0; index < keys.length; ++index) {
+			if (keys[index] != 0) {
+				consumer.accept(keys[index], values[index]);
+			}
+		}
+	}
+
+	/**
+	 * Remove all mappings matching a predicate.
+	 *
+	 * @param predicate the predicate
+	 * @return the number of mappings removed
+	 */
+	public int removeIf(@NotNull EntryPredicate<? super V> predicate) {
+		int removed = 0;
+		if (hasZeroKey && predicate.test(0, zeroValue)) {
+			remove(0);
+			++removed;
+		}
+		int index = 0;
+		while (index < keys.length) {
+			if (keys[index] != 0 && predicate.test(keys[index], values[index])) {
+				// Removal may shift a later entry into this slot; re-check the same index.
+				removeAt(index);
+				++removed;
+			} else {
+				++index;
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * Get a snapshot of all mapped keys.
+	 *
+	 * @return an array of keys
+	 */
+	public long @NotNull [] keys() {
+		long[] result = new long[size];
+		int resultIndex = 0;
+		if (hasZeroKey) {
+			result[resultIndex++] = 0;
+		}
+		for (long key : keys) {
+			if (key != 0) {
+				result[resultIndex++] = key;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Find a key's slot.
+	 *
+	 * @param key the non-zero key
+	 * @return the slot index if present, otherwise {@code -(insertion index) - 1}
+	 */
+	private int find(long key) {
+		int index = LongHashing.mix(key) & mask;
+		long current;
+		while ((current = keys[index]) != 0) {
+			if (current == key) {
+				return index;
+			}
+			index = (index + 1) & mask;
+		}
+		return -index - 1;
+	}
+
+	private void insert(int index, long key, @NotNull V value) {
+		keys[index] = key;
+		values[index] = value;
+		if (++size > maxFill) {
+			rehash(keys.length << 1);
+		}
+	}
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		V[] oldValues = values;
+		allocate(capacity);
+		for (int oldIndex = 0; oldIndex < oldKeys.length; ++oldIndex) {
+			long key = oldKeys[oldIndex];
+			if (key == 0) {
+				continue;
+			}
+			int index = LongHashing.mix(key) & mask;
+			while (keys[index] != 0) {
+				index = (index + 1) & mask;
+			}
+			keys[index] = key;
+			values[index] = oldValues[oldIndex];
+		}
+	}
+
+	/**
+	 * Remove the entry at a slot, shifting subsequent colliding entries back to keep probe chains intact.
+	 *
+	 * @param index the slot index
+	 */
+	private void removeAt(int index) {
+		--size;
+		int last;
+		long current;
+		while (true) {
+			index = ((last = index) + 1) & mask;
+			while (true) {
+				if ((current = keys[index]) == 0) {
+					keys[last] = 0;
+					values[last] = null;
+					return;
+				}
+				int slot = LongHashing.mix(current) & mask;
+				if (last <= index ? last >= slot || slot > index : last >= slot && slot > index) {
+					break;
+				}
+				index = (index + 1) & mask;
+			}
+			keys[last] = current;
+			values[last] = values[index];
+		}
+	}
+
+	/**
+	 * A consumer of map entries.
+	 *
+	 * @param <V> the type of value
+	 */
+	@FunctionalInterface
+	public interface EntryConsumer<V> {
+		void accept(long key, V value);
+	}
+
+	/**
+	 * A predicate for map entries.
+	 *
+	 * @param <V> the type of value
+	 */
+	@FunctionalInterface
+	public interface EntryPredicate<V> {
+		boolean test(long key, V value);
+	}
+
+}
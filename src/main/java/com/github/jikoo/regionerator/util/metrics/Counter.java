@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.util.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A metric counting occurrences of an event.
+ */
+public class Counter implements Metric {
+
+	private final LongAdder count = new LongAdder();
+
+	/**
+	 * Increments the count by one.
+	 */
+	public void increment() {
+		count.increment();
+	}
+
+	/**
+	 * Increments the count.
+	 *
+	 * @param amount the amount to add
+	 */
+	public void add(long amount) {
+		count.add(amount);
+	}
+
+	/**
+	 * Gets the current count.
+	 *
+	 * @return the count
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	@Override
+	public void snapshot(@NotNull String name, @NotNull Map<String, Number> values) {
+		values.put(name, getCount());
+	}
+
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.util.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ * A metric reading a current value on demand.
+ */
+@FunctionalInterface
+public interface Gauge extends Metric {
+
+	/**
+	 * Gets the current value.
+	 *
+	 * @return the value
+	 */
+	@NotNull Number getValue();
+
+	@Override
+	default void snapshot(@NotNull String name, @NotNull Map<String, Number> values) {
+		values.put(name, getValue());
+	}
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.util.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A metric recording the distribution of values.
+ *
+ * <p>Values are counted in buckets by power of two, so percentiles are reported as the upper bound of the bucket
+ * containing them and are accurate to within a factor of two.
+ */
+public class Histogram implements Metric {
+
+	private final LongAdder[] buckets = new LongAdder[Long.SIZE];
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	public Histogram() {
+		for (int i = 0; i < buckets.length; ++i) {
+			buckets[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Records a value. Negative values are recorded as 0.
+	 *
+	 * @param value the value
+	 */
+	public void record(long value) {
+		value = Math.max(0, value);
+		// Bucket 0 holds 0, bucket n holds [2^(n-1), 2^n).
+		buckets[Math.min(buckets.length - 1, Long.SIZE - Long.numberOfLeadingZeros(value))].increment();
+		count.increment();
+		sum.add(value);
+		max.accumulate(value);
+	}
+
+	/**
+	 * Records the time elapsed since the specified {@link System#nanoTime()}.
+	 *
+	 * @param startNanos the start time in nanoseconds
+	 * @param unit the unit to record the elapsed time in
+	 */
+	public void recordSince(long startNanos, @NotNull TimeUnit unit) {
+		record(unit.convert(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS));
+	}
+
+	/**
+	 * Gets the number of recorded values.
+	 *
+	 * @return the number of values
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * Gets the mean of recorded values.
+	 *
+	 * @return the mean, or 0 if no values have been recorded
+	 */
+	public double getMean() {
+		long total = count.sum();
+		return total == 0 ? 0 : (double) sum.sum() / total;
+	}
+
+	/**
+	 * Gets the largest recorded value.
+	 *
+	 * @return the maximum value
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Gets an estimate of the value below which the specified fraction of recorded values fall.
+	 *
+	 * @param percentile the fraction, from 0 to 1
+	 * @return the estimated value
+	 */
+	public long getPercentile(double percentile) {
+		long total = count.sum();
+		if (total == 0) {
+			return 0;
+		}
+
+		long target = (long) Math.ceil(total * percentile);
+		long seen = 0;
+		for (int i = 0; i < buckets.length; ++i) {
+			seen += buckets[i].sum();
+			if (seen >= target) {
+				long upperBound = i == 0 ? 0 : (1L << i) - 1;
+				return Math.min(upperBound, getMax());
+			}
+		}
+		return getMax();
+	}
+
+	@Override
+	public void snapshot(@NotNull String name, @NotNull Map<String, Number> values) {
+		values.put(name + ".count", getCount());
+		values.put(name + ".mean", getMean());
+		values.put(name + ".p50", getPercentile(0.5));
+		values.put(name + ".p95", getPercentile(0.95));
+		values.put(name + ".p99", getPercentile(0.99));
+		values.put(name + ".max", getMax());
+	}
+
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.util.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ * A measurement registered in a {@link MetricsRegistry}.
+ */
+public interface Metric {
+
+	/**
+	 * Adds the metric's current values to a snapshot.
+	 *
+	 * <p>Metrics with a single value should add it under their own name. Metrics with several values should add
+	 * them under their name followed by a period and a suffix.
+	 *
+	 * @param name the name the metric is registered under
+	 * @param values the snapshot values
+	 */
+	void snapshot(@NotNull String name, @NotNull Map<String, Number> values);
+
+}
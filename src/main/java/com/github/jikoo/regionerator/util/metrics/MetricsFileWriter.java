@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.util.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Writes the current values of a {@link MetricsRegistry} to a file in {@code name=value} format.
+ *
+ * <p>The file is replaced atomically where supported so that readers never see a partial write.
+ */
+public class MetricsFileWriter {
+
+	private final @NotNull MetricsRegistry registry;
+	private final @NotNull Path file;
+
+	/**
+	 * Constructs a new MetricsFileWriter.
+	 *
+	 * @param registry the registry to write
+	 * @param file the file to write to
+	 */
+	public MetricsFileWriter(@NotNull MetricsRegistry registry, @NotNull Path file) {
+		this.registry = registry;
+		this.file = file;
+	}
+
+	/**
+	 * Writes the current metric values.
+	 *
+	 * @throws IOException if the file cannot be written
+	 */
+	public void write() throws IOException {
+		Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (BufferedWriter writer = Files.newBufferedWriter(temp)) {
+			writer.write("# Regionerator metrics at " + Instant.now());
+			writer.newLine();
+			for (Map.Entry<String, Number> entry : registry.snapshot().entrySet()) {
+				writer.write(entry.getKey());
+				writer.write('=');
+				writer.write(String.valueOf(entry.getValue()));
+				writer.newLine();
+			}
+		}
+
+		try {
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.util.metrics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanException;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+/**
+ * A {@link DynamicMBean} exposing every value of a {@link MetricsRegistry} as a read-only attribute.
+ */
+public class MetricsMBean implements DynamicMBean {
+
+	private final @NotNull MetricsRegistry registry;
+
+	/**
+	 * Constructs a new MetricsMBean.
+	 *
+	 * @param registry the registry to expose
+	 */
+	public MetricsMBean(@NotNull MetricsRegistry registry) {
+		this.registry = registry;
+	}
+
+	/**
+	 * Registers the registry with the platform MBean server, replacing any existing registration.
+	 *
+	 * @param registry the registry to expose
+	 * @param name the object name
+	 * @throws JMException if the MBean cannot be registered
+	 */
+	public static void register(@NotNull MetricsRegistry registry, @NotNull ObjectName name) throws JMException {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		if (server.isRegistered(name)) {
+			server.unregisterMBean(name);
+		}
+		server.registerMBean(new MetricsMBean(registry), name);
+	}
+
+	/**
+	 * Removes a registration from the platform MBean server if present.
+	 *
+	 * @param name the object name
+	 * @throws JMException if the MBean cannot be unregistered
+	 */
+	public static void unregister(@NotNull ObjectName name) throws JMException {
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+		} catch (InstanceNotFoundException ignored) {
+			// Not registered.
+		}
+	}
+
+	@Override
+	public @NotNull Object getAttribute(@NotNull String attribute) throws AttributeNotFoundException {
+		Number value = registry.snapshot().get(attribute);
+		if (value == null) {
+			throw new AttributeNotFoundException(attribute);
+		}
+		return value;
+	}
+
+	@Override
+	public void setAttribute(@NotNull Attribute attribute) throws AttributeNotFoundException {
+		throw new AttributeNotFoundException("Metrics are read-only");
+	}
+
+	@Override
+	public @NotNull AttributeList getAttributes(@NotNull String @NotNull [] attributes) {
+		Map<String, Number> snapshot = registry.snapshot();
+		AttributeList list = new AttributeList();
+		for (String attribute : attributes) {
+			Number value = snapshot.get(attribute);
+			if (value != null) {
+				list.add(new Attribute(attribute, value));
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public @NotNull AttributeList setAttributes(@Nullable AttributeList attributes) {
+		return new AttributeList();
+	}
+
+	@Override
+	public @Nullable Object invoke(@NotNull String actionName, @Nullable Object @Nullable [] params,
+			@Nullable String @Nullable [] signature) throws MBeanException, ReflectionException {
+		throw new ReflectionException(new NoSuchMethodException(actionName));
+	}
+
+	@Override
+	public @NotNull MBeanInfo getMBeanInfo() {
+		Map<String, Number> snapshot = registry.snapshot();
+		MBeanAttributeInfo[] attributes = snapshot.entrySet().stream()
+				.map(entry -> new MBeanAttributeInfo(entry.getKey(), entry.getValue().getClass().getName(),
+						entry.getKey(), true, false, false))
+				.toArray(MBeanAttributeInfo[]::new);
+		return new MBeanInfo(getClass().getName(), "Regionerator metrics", attributes, null, null, null);
+	}
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.util.metrics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * A named collection of {@link Metric Metrics}.
+ *
+ * <p>Names are period-separated, i.e. {@code cache.hits}, and are kept in alphabetical order so that related
+ * metrics are listed together.
+ */
+public class MetricsRegistry {
+
+	private final Map<String, Metric> metrics = new ConcurrentSkipListMap<>();
+
+	/**
+	 * Gets or creates a {@link Counter}.
+	 *
+	 * @param name the name of the counter
+	 * @return the counter
+	 * @throws IllegalStateException if a different type of metric is registered under the name
+	 */
+	public @NotNull Counter counter(@NotNull String name) {
+		return getOrCreate(name, Counter.class, new Counter());
+	}
+
+	/**
+	 * Gets or creates a {@link Histogram}.
+	 *
+	 * @param name the name of the histogram
+	 * @return the histogram
+	 * @throws IllegalStateException if a different type of metric is registered under the name
+	 */
+	public @NotNull Histogram histogram(@NotNull String name) {
+		return getOrCreate(name, Histogram.class, new Histogram());
+	}
+
+	/**
+	 * Registers a metric, replacing any existing metric with the same name.
+	 *
+	 * @param name the name of the metric
+	 * @param metric the metric
+	 */
+	public void register(@NotNull String name, @NotNull Metric metric) {
+		metrics.put(name, metric);
+	}
+
+	/**
+	 * Gets a registered metric.
+	 *
+	 * @param name the name of the metric
+	 * @return the metric or null if no metric is registered under the name
+	 */
+	public @Nullable Metric get(@NotNull String name) {
+		return metrics.get(name);
+	}
+
+	/**
+	 * Removes all metrics whose names start with the specified prefix.
+	 *
+	 * @param prefix the name prefix
+	 */
+	public void removeAll(@NotNull String prefix) {
+		metrics.keySet().removeIf(name -> name.startsWith(prefix));
+	}
+
+	/**
+	 * Gets the current values of all metrics.
+	 *
+	 * @return the values, ordered by name
+	 */
+	public @NotNull Map<String, Number> snapshot() {
+		Map<String, Number> values = new TreeMap<>();
+		metrics.forEach((name, metric) -> metric.snapshot(name, values));
+		return values;
+	}
+
+	private <T extends Metric> @NotNull T getOrCreate(@NotNull String name, @NotNull Class<T> type, @NotNull T created) {
+		Metric metric = metrics.putIfAbsent(name, created);
+		if (metric == null) {
+			return created;
+		}
+		if (!type.isInstance(metric)) {
+			throw new IllegalStateException(String.format("Metric %s is a %s, not a %s",
+					name, metric.getClass().getSimpleName(), type.getSimpleName()));
+		}
+		return type.cast(metric);
+	}
+
+}
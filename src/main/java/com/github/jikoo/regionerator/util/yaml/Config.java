@@ -11,6 +11,9 @@
 package com.github.jikoo.regionerator.util.yaml;
 
 import com.github.jikoo.regionerator.DebugLevel;
+import com.github.jikoo.regionerator.database.StorageLayout;
+import com.github.jikoo.regionerator.util.EvictionPolicy;
+import com.github.jikoo.regionerator.world.RegionOrder;
 import com.google.common.collect.ImmutableMap;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
@@ -38,15 +41,26 @@ public class Config extends ConfigYamlData {
 	public static final long FLAG_ETERNAL = Long.MAX_VALUE - 1;
 	/** Constant representing a failure to load data. */
 	public static final long FLAG_OH_NO = Long.MAX_VALUE - 2;
+	/** Fraction of the flag duration that may pass before a stationary player's chunks are flagged again. */
+	private static final int FLAG_REFRESH_DIVISOR = 10;
 
 	private final Object lock = new Object();
 	private DebugLevel debugLevel;
+	private RegionOrder regionOrder;
 	private Map<String, Long> worlds;
 	private final AtomicLong ticksPerFlag = new AtomicLong();
+	private final AtomicLong flagRefreshMillis = new AtomicLong();
 	private final AtomicLong millisBetweenCycles = new AtomicLong();
 	private final AtomicLong deletionRecovery = new AtomicLong();
+	private final AtomicBoolean adaptiveRecovery = new AtomicBoolean();
+	private final AtomicLong recoveryTargetTickMillis = new AtomicLong();
+	private final AtomicLong minimumRecovery = new AtomicLong();
+	private final AtomicLong maximumRecovery = new AtomicLong();
 	private final AtomicInteger flaggingRadius = new AtomicInteger();
 	private final AtomicInteger deletionChunkCount = new AtomicInteger();
+	private final AtomicInteger deletionThreads = new AtomicInteger();
+	private final AtomicInteger concurrentWorlds = new AtomicInteger();
+	private final AtomicLong syncHookMicrosPerTick = new AtomicLong();
 	private final AtomicBoolean rememberCycleDelay = new AtomicBoolean();
 	private final AtomicBoolean deleteFreshChunks = new AtomicBoolean();
 	private long cacheExpirationFrequency;
@@ -54,6 +68,17 @@ public class Config extends ConfigYamlData {
 	private int cacheBatchMax;
 	private long cacheBatchDelay;
 	private int cacheMaxSize;
+	private int cacheMaxBacklog;
+	private int cacheLoadThreads;
+	private EvictionPolicy cacheEvictionPolicy;
+	private StorageLayout storageLayout;
+	private int databaseReadConnections;
+	private boolean metricsJmxEnabled;
+	private boolean protectionIndexEnabled;
+	private long protectionIndexRefreshTicks;
+	private boolean protectionCacheEnabled;
+	private long protectionCacheMillis;
+	private long metricsFileInterval;
 
 	public Config(@NotNull Plugin plugin) {
 		super(plugin);
@@ -81,9 +106,20 @@ public class Config extends ConfigYamlData {
 		} else {
 			ticksPerFlag.set(20L * secondsPerFlag);
 		}
+		flagRefreshMillis.set(TimeUnit.SECONDS.toMillis(getInt("flagging.stationary-refresh-seconds")));
 
 		deletionRecovery.set(Math.max(0, getLong("deletion.recovery-time")));
+		adaptiveRecovery.set(getBoolean("deletion.adaptive-recovery.enabled"));
+		recoveryTargetTickMillis.set(Math.max(50, getLong("deletion.adaptive-recovery.target-tick-millis")));
+		minimumRecovery.set(Math.max(0, getLong("deletion.adaptive-recovery.minimum-recovery-time")));
+		maximumRecovery.set(Math.max(minimumRecovery.get(), getLong("deletion.adaptive-recovery.maximum-recovery-time")));
 		deletionChunkCount.set(Math.max(1, getInt("deletion.expensive-checks-between-recovery")));
+		deletionThreads.set(Math.max(1, getInt("deletion.worker-threads")));
+		concurrentWorlds.set(Math.max(1, getInt("deletion.concurrent-worlds")));
+		syncHookMicrosPerTick.set(Math.max(1, getLong("deletion.main-thread-hook-micros-per-tick")));
+		synchronized (lock) {
+			regionOrder = RegionOrder.of(getString("deletion.region-order"));
+		}
 		millisBetweenCycles.set(TimeUnit.HOURS.toMillis(Math.max(0, getInt("deletion.hours-between-cycles"))));
 		rememberCycleDelay.set(getBoolean("deletion.remember-next-cycle-time"));
 
@@ -92,6 +128,21 @@ public class Config extends ConfigYamlData {
 		cacheBatchMax = Math.max(1, getInt("cache.maximum-batch-size"));
 		cacheBatchDelay = Math.max(0L, getLong("cache.batch-delay"));
 		cacheMaxSize = Math.max(50_000, getInt("cache.max-cache-size"));
+		cacheMaxBacklog = Math.max(cacheBatchMax, getInt("cache.maximum-backlog"));
+		cacheLoadThreads = Math.max(0, getInt("cache.load-threads"));
+		cacheEvictionPolicy = EvictionPolicy.of(getString("cache.eviction-policy"));
+
+		storageLayout = StorageLayout.of(getString("database.storage-layout"));
+		databaseReadConnections = Math.max(0, getInt("database.read-connections"));
+
+		protectionIndexEnabled = getBoolean("protection-index.enabled");
+		protectionIndexRefreshTicks = 20L * 60 * Math.max(1, getInt("protection-index.refresh-minutes"));
+
+		protectionCacheEnabled = getBoolean("protection-cache.enabled");
+		protectionCacheMillis = TimeUnit.HOURS.toMillis(Math.max(1, getInt("protection-cache.ttl-hours")));
+
+		metricsJmxEnabled = getBoolean("metrics.jmx");
+		metricsFileInterval = 20L * Math.max(0, getInt("metrics.file-interval"));
 
 	}
 
@@ -140,10 +191,70 @@ public class Config extends ConfigYamlData {
 		return deletionChunkCount.get();
 	}
 
+	/**
+	 * Gets the number of regions each deletion cycle checks concurrently.
+	 *
+	 * @return the number of deletion worker threads
+	 */
+	public int getDeletionThreads() {
+		return deletionThreads.get();
+	}
+
+	/**
+	 * Gets the order in which deletion cycles check regions.
+	 *
+	 * @return the region order
+	 */
+	public @NotNull RegionOrder getRegionOrder() {
+		synchronized (lock) {
+			return regionOrder;
+		}
+	}
+
+	/**
+	 * Gets the number of worlds that may run deletion cycles at the same time.
+	 *
+	 * @return the maximum number of concurrent deletion cycles
+	 */
+	public int getConcurrentWorlds() {
+		return concurrentWorlds.get();
+	}
+
+	/**
+	 * Gets the maximum time spent each tick checking protection hooks that must run on the main thread. The time is
+	 * shared by all deletion cycles.
+	 *
+	 * @return the time budget in microseconds
+	 */
+	public long getSyncHookMicrosPerTick() {
+		return syncHookMicrosPerTick.get();
+	}
+
 	public long getDeletionRecoveryMillis() {
 		return deletionRecovery.get();
 	}
 
+	public boolean isAdaptiveRecovery() {
+		return adaptiveRecovery.get();
+	}
+
+	/**
+	 * Gets the average time between ticks above which adaptive recovery increases recovery time.
+	 *
+	 * @return the target tick duration in milliseconds
+	 */
+	public long getRecoveryTargetTickMillis() {
+		return recoveryTargetTickMillis.get();
+	}
+
+	public long getMinimumRecoveryMillis() {
+		return minimumRecovery.get();
+	}
+
+	public long getMaximumRecoveryMillis() {
+		return maximumRecovery.get();
+	}
+
 	public long getCycleDelayMillis() {
 		return millisBetweenCycles.get();
 	}
@@ -190,6 +301,21 @@ public class Config extends ConfigYamlData {
 		return ticksPerFlag.get();
 	}
 
+	/**
+	 * Gets the interval in milliseconds after which chunks around a player who has not moved are flagged again.
+	 *
+	 * <p>The interval is a fraction of the world's flag duration so that flags are always refreshed well before they
+	 * expire, limited to the configured maximum.
+	 *
+	 * @param worldName the world name
+	 * @return the refresh interval in milliseconds
+	 */
+	public long getFlagRefreshMillis(@NotNull String worldName) {
+		long refresh = Math.min(flagRefreshMillis.get(), getFlagDuration(worldName) / FLAG_REFRESH_DIVISOR);
+		// Stationary players' flags are never refreshed more often than they would be flagged.
+		return Math.max(ticksPerFlag.get() * 50, refresh);
+	}
+
 	public int getFlaggingRadius() {
 		return flaggingRadius.get();
 	}
@@ -222,6 +348,65 @@ public class Config extends ConfigYamlData {
 		return cacheMaxSize;
 	}
 
+	public int getCacheMaxBacklog() {
+		return cacheMaxBacklog;
+	}
+
+	public int getCacheLoadThreads() {
+		return cacheLoadThreads;
+	}
+
+	public @NotNull EvictionPolicy getCacheEvictionPolicy() {
+		return cacheEvictionPolicy;
+	}
+
+	public boolean isProtectionIndexEnabled() {
+		return protectionIndexEnabled;
+	}
+
+	/**
+	 * Gets the time between snapshots of hooks' protections.
+	 *
+	 * @return the refresh interval in ticks
+	 */
+	public long getProtectionIndexRefreshTicks() {
+		return protectionIndexRefreshTicks;
+	}
+
+	public boolean isProtectionCacheEnabled() {
+		return protectionCacheEnabled;
+	}
+
+	/**
+	 * Gets the time for which results of checking hooks are persisted.
+	 *
+	 * @return the time to live in milliseconds
+	 */
+	public long getProtectionCacheMillis() {
+		return protectionCacheMillis;
+	}
+
+	public boolean isMetricsJmxEnabled() {
+		return metricsJmxEnabled;
+	}
+
+	/**
+	 * Gets the interval in ticks between writes of the metrics file.
+	 *
+	 * @return the interval in ticks, or 0 if the file is disabled
+	 */
+	public long getMetricsFileInterval() {
+		return metricsFileInterval;
+	}
+
+	public @NotNull StorageLayout getStorageLayout() {
+		return storageLayout;
+	}
+
+	public int getDatabaseReadConnections() {
+		return databaseReadConnections;
+	}
+
 	public boolean startPaused() {
 		return getBoolean("deletion.start-paused");
 	}
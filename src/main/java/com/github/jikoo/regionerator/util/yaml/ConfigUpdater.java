@@ -17,7 +17,7 @@ import java.util.List;
 
 final class ConfigUpdater {
 
-	private static final int CURRENT_CONFIG_VERSION = 2;
+	private static final int CURRENT_CONFIG_VERSION = 3;
 
 	static void doUpdates(@NotNull Config config) {
 		switch (config.raw().getInt("config-version", 0)) {
@@ -25,6 +25,8 @@ final class ConfigUpdater {
 				updateConfig0To1(config);
 			case 1:
 				updateConfig1To2(config);
+			case 2:
+				updateConfig2To3(config);
 			case CURRENT_CONFIG_VERSION:
 				return;
 			default:
@@ -35,6 +37,32 @@ final class ConfigUpdater {
 		}
 	}
 
+	private static void updateConfig2To3(Config config) {
+		config.set("flagging.stationary-refresh-seconds", 300);
+		// Converting existing data cannot be undone, so existing installs must opt in.
+		config.set("database.storage-layout", "chunk");
+		config.set("database.read-connections", 2);
+		config.set("cache.maximum-backlog", 65_536);
+		config.set("cache.load-threads", 2);
+		config.set("cache.eviction-policy", "tiny-lfu");
+		config.set("metrics.jmx", true);
+		config.set("metrics.file-interval", 60);
+		config.set("deletion.worker-threads", 1);
+		config.set("deletion.adaptive-recovery.enabled", true);
+		config.set("deletion.adaptive-recovery.target-tick-millis", 52);
+		config.set("deletion.adaptive-recovery.minimum-recovery-time", 10);
+		config.set("deletion.adaptive-recovery.maximum-recovery-time", 5000);
+		config.set("deletion.region-order", "RANDOM");
+		config.set("deletion.concurrent-worlds", 1);
+		config.set("deletion.main-thread-hook-micros-per-tick", 2000);
+		config.set("protection-index.enabled", true);
+		config.set("protection-index.refresh-minutes", 5);
+		config.set("protection-cache.enabled", false);
+		config.set("protection-cache.ttl-hours", 24);
+
+		config.set("config-version", 3);
+	}
+
 	private static void updateConfig1To2(Config config) {
 		config.set("deletion.start-paused", false);
 
@@ -14,6 +14,7 @@ import com.github.jikoo.planarwrappers.function.CachingSupplier;
 import com.github.jikoo.regionerator.Regionerator;
 import com.github.jikoo.regionerator.VisitStatus;
 import com.github.jikoo.regionerator.hooks.Hook;
+import com.github.jikoo.regionerator.util.ChunkKeys;
 import com.github.jikoo.regionerator.util.VisitStatusCache;
 import org.bukkit.World;
 import org.jetbrains.annotations.NotNull;
@@ -95,6 +96,16 @@ public abstract class ChunkInfo {
 		return localChunkZ;
 	}
 
+	/**
+	 * Gets the index of the chunk within the region. Indices match the order of chunks in a region file's header.
+	 *
+	 * @return the index of the chunk
+	 * @see ChunkKeys#getRegionIndex(long)
+	 */
+	public int getRegionIndex() {
+		return localChunkZ << ChunkKeys.REGION_BITS | localChunkX;
+	}
+
 	/**
 	 * Gets whether the chunk is either orphaned or deleted.
 	 *
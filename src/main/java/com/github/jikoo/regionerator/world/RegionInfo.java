@@ -12,10 +12,16 @@ package com.github.jikoo.regionerator.world;
 
 import com.github.jikoo.planarwrappers.util.Coords;
 import com.github.jikoo.regionerator.Regionerator;
+import com.github.jikoo.regionerator.hooks.Hook;
+import com.github.jikoo.regionerator.hooks.HookResult;
 import org.bukkit.World;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 /**
@@ -27,6 +33,7 @@ public abstract class RegionInfo {
 
 	private final @NotNull WorldInfo world;
 	private final int lowestChunkX, lowestChunkZ;
+	private final @NotNull Map<Hook, HookResult> hookResults = new ConcurrentHashMap<>();
 
 	/**
 	 * Constructs a new RegionInfo.
@@ -57,6 +64,91 @@ public abstract class RegionInfo {
 	 */
 	public abstract boolean write() throws IOException;
 
+	/**
+	 * Estimates the last time any chunk in the region was modified without reading the RegionInfo into memory.
+	 *
+	 * @return the estimated last modification timestamp, or 0 if it cannot be estimated
+	 * @throws IOException if there is an error reading the region
+	 */
+	public long getLastModified() throws IOException {
+		return 0;
+	}
+
+	/**
+	 * Gets the chunks that may be eligible for deletion based only on data already read into memory. Chunks that are
+	 * orphaned or were last modified before the given time are candidates.
+	 *
+	 * @param modifiedBefore the time before which chunks must have been modified to be candidates
+	 * @return a bitmap of candidate chunks by {@link ChunkInfo#getRegionIndex() index}
+	 */
+	public @NotNull BitSet getCandidateChunks(long modifiedBefore) {
+		BitSet candidates = new BitSet(getChunksPerRegion());
+		getChunks().forEach(chunk -> {
+			if (chunk.isOrphaned() || chunk.getLastModified() < modifiedBefore) {
+				candidates.set(chunk.getRegionIndex());
+			}
+		});
+		return candidates;
+	}
+
+	/**
+	 * Gets the chunks in the region protected by a {@link Hook}. The result is cached for the lifetime of the RegionInfo
+	 * and must not be modified.
+	 *
+	 * @param hook the hook
+	 * @return a bitmap of protected chunks by {@link ChunkInfo#getRegionIndex() index}
+	 */
+	public @NotNull BitSet getProtectedChunks(@NotNull Hook hook) {
+		return hookResults.compute(hook, (key, result) -> {
+			if (result != null && result.isComplete()) {
+				return result;
+			}
+			return HookResult.ofRegion(getPlugin().getHookMetrics().getProtectedChunks(key, getWorld(),
+					Coords.chunkToRegion(lowestChunkX), Coords.chunkToRegion(lowestChunkZ)));
+		}).protectedChunks();
+	}
+
+	/**
+	 * Gets the result of checking chunks in the region against a {@link Hook}, if any chunks have been checked.
+	 *
+	 * @param hook the hook
+	 * @return the result or null if no result is available
+	 */
+	public @Nullable HookResult getHookResult(@NotNull Hook hook) {
+		return hookResults.get(hook);
+	}
+
+	/**
+	 * Stores the result of checking chunks in the region against a {@link Hook}. The result is cached for the lifetime
+	 * of the RegionInfo.
+	 *
+	 * @param hook the hook
+	 * @param result the result
+	 */
+	public void setHookResult(@NotNull Hook hook, @NotNull HookResult result) {
+		hookResults.put(hook, result);
+	}
+
+	/**
+	 * Adds the result of checking chunks in the region against a {@link Hook} to any existing result.
+	 *
+	 * @param hook the hook
+	 * @param result the result
+	 * @see HookResult#merge(HookResult)
+	 */
+	public void addHookResult(@NotNull Hook hook, @NotNull HookResult result) {
+		hookResults.merge(hook, result, HookResult::merge);
+	}
+
+	/**
+	 * Gets the results of checking chunks in the region against {@link Hook Hooks}.
+	 *
+	 * @return an unmodifiable copy of the results
+	 */
+	public @NotNull Map<Hook, HookResult> getHookResults() {
+		return Map.copyOf(hookResults);
+	}
+
 	/**
 	 * Gets the {@link WorldInfo} containing the RegionInfo.
 	 *
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.world;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+/**
+ * Orders in which a deletion cycle checks a world's regions.
+ */
+public enum RegionOrder {
+
+	/** Check regions in a random order. */
+	RANDOM,
+	/**
+	 * Check the regions most likely to be eligible for deletion first. Staleness is estimated from region headers and
+	 * stored visit data before the cycle starts.
+	 */
+	STALENESS;
+
+	public static @NotNull RegionOrder of(@Nullable String value) {
+		if (value == null) return RANDOM;
+
+		try {
+			return valueOf(value.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			return RANDOM;
+		}
+	}
+
+}
@@ -57,6 +57,19 @@ public abstract class WorldInfo {
 	 */
 	public abstract @NotNull Stream<RegionInfo> getRegions();
 
+	/**
+	 * Gets a {@link Stream<RegionInfo>} requesting every {@link RegionInfo} contained by the WorldInfo in an order
+	 * determined by a seed. As long as the world's regions do not change, the same seed produces the same order.
+	 *
+	 * <p>Implementations that cannot order regions consistently may ignore the seed.
+	 *
+	 * @param seed the seed used to order regions
+	 * @return a {@link Stream<RegionInfo>}
+	 */
+	public @NotNull Stream<RegionInfo> getRegions(long seed) {
+		return getRegions();
+	}
+
 	/**
 	 * Gets the instance of Regionerator loading the WorldInfo.
 	 *
@@ -17,6 +17,7 @@ import com.github.jikoo.regionerator.world.RegionInfo;
 import com.google.common.base.Preconditions;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -24,6 +25,7 @@ import java.nio.IntBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -38,15 +40,15 @@ public class AnvilRegion extends RegionInfo {
 	private static final String SUBDIR_ENTITY_DATA = "entities";
 	static final String[] DATA_SUBDIRS = { SUBDIR_BLOCK_DATA, SUBDIR_ENTITY_DATA, "poi" };
 
-	private final boolean[] pointerWipes = new boolean[CHUNK_COUNT];
-	private final ByteBuffer volatileRegionHeader;
-	private final IntBuffer volatileChunkTimes;
-	private final ByteBuffer storedRegionHeader;
-	private final IntBuffer storedChunkUsage;
-	private final IntBuffer storedChunkTimes;
-	private final ByteBuffer chunkHeader;
+	// Headers only need to be read to estimate staleness, so a single set of buffers is shared per thread.
+	private static final ThreadLocal<ByteBuffer> SCRATCH_REGION_HEADER =
+			ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(RegionFile.REGION_HEADER_LENGTH));
+	private static final ThreadLocal<ByteBuffer> SCRATCH_CHUNK_HEADER =
+			ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(RegionFile.CHUNK_HEADER_LENGTH));
+
 	private final @NotNull Path worldDataFolder;
 	private final @NotNull String fileName;
+	private @Nullable Buffers buffers;
 
 	AnvilRegion(
 					@NotNull AnvilWorld world,
@@ -57,13 +59,19 @@ public class AnvilRegion extends RegionInfo {
 		super(world, Coords.regionToChunk(regionX), Coords.regionToChunk(regionZ));
 		this.worldDataFolder = worldDataFolder;
 		this.fileName = String.format(fileFormat, regionX, regionZ);
+	}
 
-		volatileRegionHeader = ByteBuffer.allocateDirect(RegionFile.REGION_HEADER_LENGTH);
-		volatileChunkTimes = volatileRegionHeader.slice(RegionFile.SECTOR_BYTES, RegionFile.SECTOR_BYTES).asIntBuffer();
-		storedRegionHeader = ByteBuffer.allocateDirect(volatileRegionHeader.capacity());
-		storedChunkUsage = storedRegionHeader.slice(0, RegionFile.SECTOR_BYTES).asIntBuffer();
-		storedChunkTimes = storedRegionHeader.slice(RegionFile.SECTOR_BYTES, RegionFile.SECTOR_BYTES).asIntBuffer();
-		chunkHeader = ByteBuffer.allocateDirect(RegionFile.CHUNK_HEADER_LENGTH);
+	/**
+	 * Gets the region's buffers, allocating them on first use. Direct buffers are only freed by garbage collection, so
+	 * they are not allocated until the region is used. This keeps regions cheap to hold while ordering a world.
+	 *
+	 * @return the buffers
+	 */
+	private synchronized @NotNull Buffers buffers() {
+		if (buffers == null) {
+			buffers = new Buffers();
+		}
+		return buffers;
 	}
 
 	@Contract("_ -> new")
@@ -73,8 +81,17 @@ public class AnvilRegion extends RegionInfo {
 
 	@Contract("_ -> new")
 	private @NotNull RegionFile createRegionFile(@NotNull Path regionFilePath) {
+		Buffers buffers = buffers();
+		return createRegionFile(regionFilePath, buffers.volatileRegionHeader, buffers.chunkHeader);
+	}
+
+	@Contract("_, _, _ -> new")
+	private static @NotNull RegionFile createRegionFile(
+					@NotNull Path regionFilePath,
+					@NotNull ByteBuffer regionHeader,
+					@NotNull ByteBuffer chunkHeader) {
 		return new RegionFile(regionFilePath,
-						volatileRegionHeader,
+						regionHeader,
 						chunkHeader,
 						"I am John RegionFile; I understand that providing my own buffer may be unsafe.");
 	}
@@ -102,6 +119,7 @@ public class AnvilRegion extends RegionInfo {
 		} else {
 			// If block data does not exist, entity data should be deleted too. Reading it is unnecessary.
 			// Wipe header in case this is a re-read.
+			ByteBuffer storedRegionHeader = buffers().storedRegionHeader;
 			for (int index = 0; index < RegionFile.REGION_HEADER_LENGTH; ++index) {
 				storedRegionHeader.put(index, (byte) 0);
 			}
@@ -127,18 +145,59 @@ public class AnvilRegion extends RegionInfo {
 		return true;
 	}
 
+	@Override
+	public long getLastModified() throws IOException {
+		long lastModified = 0;
+		for (String dir : new String[] { SUBDIR_BLOCK_DATA, SUBDIR_ENTITY_DATA }) {
+			lastModified = Math.max(lastModified, getLastModified(getRegionPath(dir)));
+		}
+		return lastModified;
+	}
+
+	private long getLastModified(@NotNull Path regionFilePath) throws IOException {
+		if (!Files.isRegularFile(regionFilePath)) {
+			return 0;
+		}
+
+		long lastModified = 0;
+		try (RegionFile regionFile = createRegionFile(regionFilePath, SCRATCH_REGION_HEADER.get(), SCRATCH_CHUNK_HEADER.get())) {
+			regionFile.open(AccessMode.READ);
+			regionFile.readHeader();
+
+			for (int i = 0; i < CHUNK_COUNT; ++i) {
+				if (regionFile.isPresent(i)) {
+					lastModified = Math.max(lastModified, regionFile.getLastModified(i));
+				}
+			}
+		} catch (IOException e) {
+			acceptOrRethrow(e);
+		} catch (DataFormatException e) {
+			throw new IOException(e);
+		}
+
+		if (lastModified == 0) {
+			// Header is empty or has no timestamps, fall back to file modification time.
+			// Header rewrites after partial deletion also touch the file, so it is only used as a last resort.
+			lastModified = Files.getLastModifiedTime(regionFilePath).toMillis();
+		}
+
+		return lastModified;
+	}
+
 	private void storeCurrentHeader() {
-		storedRegionHeader.rewind();
-		volatileRegionHeader.rewind();
-		storedRegionHeader.put(volatileRegionHeader);
+		Buffers buffers = buffers();
+		buffers.storedRegionHeader.rewind();
+		buffers.volatileRegionHeader.rewind();
+		buffers.storedRegionHeader.put(buffers.volatileRegionHeader);
 	}
 
 	private void storeMoreRecentTimes() {
+		Buffers buffers = buffers();
 		for (int i = 0; i < CHUNK_COUNT; ++i) {
-			int blockDataTime = storedChunkTimes.get(i);
-			int entityDataTime = volatileChunkTimes.get(i);
+			int blockDataTime = buffers.storedChunkTimes.get(i);
+			int entityDataTime = buffers.volatileChunkTimes.get(i);
 			if (entityDataTime > blockDataTime) {
-				storedChunkTimes.put(i, entityDataTime);
+				buffers.storedChunkTimes.put(i, entityDataTime);
 			}
 		}
 	}
@@ -151,7 +210,7 @@ public class AnvilRegion extends RegionInfo {
 		for (String dir : DATA_SUBDIRS) {
 			failed |= !write(dir);
 		}
-		Arrays.fill(pointerWipes, false);
+		Arrays.fill(buffers().pointerWipes, false);
 
 		return !failed;
 	}
@@ -168,6 +227,7 @@ public class AnvilRegion extends RegionInfo {
 			regionFile.open(AccessMode.WRITE_DSYNC);
 			regionFile.readHeader();
 			boolean headerEmpty = true;
+			boolean[] pointerWipes = buffers().pointerWipes;
 			for (int i = 0; i < pointerWipes.length; ++i) {
 				if (pointerWipes[i]) {
 					regionFile.deleteChunk(i);
@@ -225,6 +285,21 @@ public class AnvilRegion extends RegionInfo {
 		return true;
 	}
 
+	@Override
+	public @NotNull BitSet getCandidateChunks(long modifiedBefore) {
+		// Compare header values directly rather than creating a ChunkInfo per chunk.
+		BitSet candidates = new BitSet(CHUNK_COUNT);
+		Buffers buffers = buffers();
+		for (int i = 0; i < CHUNK_COUNT; ++i) {
+			if (buffers.pointerWipes[i]
+					|| buffers.storedChunkUsage.get(i) == RegionFile.CHUNK_NOT_PRESENT
+					|| TimeUnit.MILLISECONDS.convert(buffers.storedChunkTimes.get(i), TimeUnit.SECONDS) < modifiedBefore) {
+				candidates.set(i);
+			}
+		}
+		return candidates;
+	}
+
 	@Override
 	public @NotNull AnvilWorld getWorldInfo() {
 		return (AnvilWorld) super.getWorldInfo();
@@ -272,17 +347,28 @@ public class AnvilRegion extends RegionInfo {
 		public boolean isOrphaned() {
 			int index = RegionFile.packIndex(getLocalChunkX(), getLocalChunkZ());
 			// Return true if chunk is slated to be orphaned on region write or already orphaned.
-			return pointerWipes[index] || storedChunkUsage.get(index) == RegionFile.CHUNK_NOT_PRESENT;
+			Buffers buffers = buffers();
+			return buffers.pointerWipes[index] || buffers.storedChunkUsage.get(index) == RegionFile.CHUNK_NOT_PRESENT;
 		}
 
 		@Override
 		public void setOrphaned() {
-			pointerWipes[RegionFile.packIndex(getLocalChunkX(), getLocalChunkZ())] = true;
+			buffers().pointerWipes[RegionFile.packIndex(getLocalChunkX(), getLocalChunkZ())] = true;
 		}
 
 		@Override
 		public long getLastModified() {
-			return TimeUnit.MILLISECONDS.convert(storedChunkTimes.get(RegionFile.packIndex(getLocalChunkX(), getLocalChunkZ())), TimeUnit.SECONDS);
+			return TimeUnit.MILLISECONDS.convert(buffers().storedChunkTimes.get(RegionFile.packIndex(getLocalChunkX(), getLocalChunkZ())), TimeUnit.SECONDS);
 		}
 	}
+
+	private static final class Buffers {
+		private final boolean[] pointerWipes = new boolean[CHUNK_COUNT];
+		private final ByteBuffer volatileRegionHeader = ByteBuffer.allocateDirect(RegionFile.REGION_HEADER_LENGTH);
+		private final IntBuffer volatileChunkTimes = volatileRegionHeader.slice(RegionFile.SECTOR_BYTES, RegionFile.SECTOR_BYTES).asIntBuffer();
+		private final ByteBuffer storedRegionHeader = ByteBuffer.allocateDirect(RegionFile.REGION_HEADER_LENGTH);
+		private final IntBuffer storedChunkUsage = storedRegionHeader.slice(0, RegionFile.SECTOR_BYTES).asIntBuffer();
+		private final IntBuffer storedChunkTimes = storedRegionHeader.slice(RegionFile.SECTOR_BYTES, RegionFile.SECTOR_BYTES).asIntBuffer();
+		private final ByteBuffer chunkHeader = ByteBuffer.allocateDirect(RegionFile.CHUNK_HEADER_LENGTH);
+	}
 }
@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.regex.Matcher;
 import java.util.stream.Stream;
@@ -42,6 +43,11 @@ public class AnvilWorld extends WorldInfo {
 
 	@Override
 	public @NotNull Stream<RegionInfo> getRegions() {
+		return getRegions(ThreadLocalRandom.current().nextLong());
+	}
+
+	@Override
+	public @NotNull Stream<RegionInfo> getRegions(long seed) {
 		Path dataFolder = findWorldDataFolder().toPath();
 
 		List<String> fileNames = new ArrayList<>();
@@ -57,8 +63,9 @@ public class AnvilWorld extends WorldInfo {
 		}
 
 		// Some servers may use settings that cause runs to never complete prior to server restarts.
-		// Randomize order to improve eventual-correctness.
-		Collections.shuffle(fileNames, ThreadLocalRandom.current());
+		// Randomize order to improve eventual-correctness. Sort first so that the order only depends on the seed.
+		Collections.sort(fileNames);
+		Collections.shuffle(fileNames, new Random(seed));
 
 		return fileNames.stream()
 				.distinct()
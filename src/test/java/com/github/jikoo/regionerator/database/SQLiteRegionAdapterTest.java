@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.database;
+
+import com.github.jikoo.regionerator.util.ChunkKeys;
+import com.github.jikoo.regionerator.util.metrics.MetricsRegistry;
+import com.github.jikoo.regionerator.util.yaml.Config;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SQLiteRegionAdapterTest {
+
+  private static final Logger LOGGER = Logger.getLogger(SQLiteRegionAdapterTest.class.getName());
+
+  private Path workFile;
+  private String url;
+  private ChunkKeys chunkKeys;
+
+  @BeforeEach
+  void beforeEach() throws IOException {
+    workFile = Files.createTempFile(getClass().getSimpleName(), ".db");
+    url = "jdbc:sqlite:" + workFile.toAbsolutePath();
+    chunkKeys = new ChunkKeys();
+  }
+
+  @AfterEach
+  void afterEach() throws IOException {
+    Files.deleteIfExists(workFile);
+  }
+
+  @Test
+  void testEncodeDecode() {
+    long[] values = new long[SQLiteRegionAdapter.REGION_CHUNKS];
+    Arrays.fill(values, Config.FLAG_DEFAULT);
+    values[0] = 0;
+    values[1] = Config.FLAG_ETERNAL;
+    values[2] = Long.MAX_VALUE;
+    values[SQLiteRegionAdapter.REGION_CHUNKS - 1] = 1_700_000_000_000L;
+
+    assertArrayEquals(values, SQLiteRegionAdapter.decode(SQLiteRegionAdapter.encode(values)));
+  }
+
+  @Test
+  void testDecodeInvalid() {
+    long[] expected = new long[SQLiteRegionAdapter.REGION_CHUNKS];
+    Arrays.fill(expected, Config.FLAG_DEFAULT);
+
+    assertArrayEquals(expected, SQLiteRegionAdapter.decode(null));
+    assertArrayEquals(expected, SQLiteRegionAdapter.decode(new byte[Long.BYTES]));
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "world_1_-2,world,1,-2,false",
+      "my_world_1_-2,my_world,1,-2,false",
+      "world_old_3_4,world_old,3,4,false",
+      "world_old_3_4_old,world_old,3,4,true",
+      "a_b_c_-2097152_2097151_old,a_b_c,-2097152,2097151,true"
+  })
+  void testParseChunkId(String chunkId, String worldName, int chunkX, int chunkZ, boolean old) throws SQLException {
+    SQLiteRegionAdapter adapter = open();
+    try {
+      long chunkKey = adapter.parseChunkId(chunkId);
+      assertEquals(worldName, chunkKeys.getWorldName(ChunkKeys.getWorldId(chunkKey)));
+      assertEquals(chunkX, ChunkKeys.getChunkX(chunkKey));
+      assertEquals(chunkZ, ChunkKeys.getChunkZ(chunkKey));
+      assertEquals(old, ChunkKeys.isOld(chunkKey));
+      assertEquals(chunkId, chunkKeys.getLegacyId(chunkKey));
+    } finally {
+      adapter.close();
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = { "", "world", "world_1", "1_2", "_1_2", "world_x_2", "world_1_2.5", "world_1_2097152", "world_1_2_old_old" })
+  void testParseChunkIdInvalid(String chunkId) throws SQLException {
+    SQLiteRegionAdapter adapter = open();
+    try {
+      assertEquals(-1, adapter.parseChunkId(chunkId));
+    } finally {
+      adapter.close();
+    }
+  }
+
+  @Test
+  void testParseChunkIdNull() throws SQLException {
+    SQLiteRegionAdapter adapter = open();
+    try {
+      assertEquals(-1, adapter.parseChunkId(null));
+    } finally {
+      adapter.close();
+    }
+  }
+
+  @Test
+  void testMigration() throws SQLException {
+    try (Connection connection = DriverManager.getConnection(url);
+        Statement st = connection.createStatement()) {
+      st.executeUpdate("CREATE TABLE `chunkdata`(`chunk_id` TEXT NOT NULL UNIQUE, `time` BIGINT NOT NULL)");
+      st.executeUpdate("""
+          CREATE TRIGGER chunkdataold
+          AFTER DELETE ON chunkdata
+          WHEN OLD.time NOT NULL AND OLD.chunk_id NOT LIKE '%_old'
+          BEGIN
+          INSERT INTO chunkdata(chunk_id,time) VALUES (OLD.chunk_id || '_old',OLD.time) ON CONFLICT(chunk_id) DO UPDATE SET `time`=OLD.time;
+          END""");
+      try (PreparedStatement insert = connection.prepareStatement("INSERT INTO chunkdata(chunk_id,time) VALUES (?,?)")) {
+        insertChunk(insert, "world_1_2", 100);
+        insertChunk(insert, "world_1_2_old", 50);
+        insertChunk(insert, "world_31_31", Config.FLAG_ETERNAL);
+        insertChunk(insert, "world_32_-1", 200);
+        insertChunk(insert, "my_world_old_-1_-1", 300);
+        insertChunk(insert, "world_5_5", Config.FLAG_DEFAULT);
+        insertChunk(insert, "invalid", 400);
+      }
+    }
+
+    SQLiteRegionAdapter adapter = open();
+    long[] keys;
+    long[] expected;
+    try {
+      long chunk = chunkKeys.getKey("world", 1, 2);
+      keys = new long[] {
+          chunk,
+          ChunkKeys.toOld(chunk),
+          chunkKeys.getKey("world", 31, 31),
+          chunkKeys.getKey("world", 32, -1),
+          chunkKeys.getKey("my_world_old", -1, -1),
+          chunkKeys.getKey("world", 5, 5),
+          ChunkKeys.toOld(chunkKeys.getKey("world", 31, 31))
+      };
+      expected = new long[] { 100, 50, Config.FLAG_ETERNAL, 200, 300, Config.FLAG_DEFAULT, Config.FLAG_DEFAULT };
+
+      assertMigrated(adapter, keys, expected);
+      try (Statement st = adapter.database.createStatement()) {
+        assertFalse(hasTable(st, "chunkdata"), "Chunk table must be renamed after conversion");
+        assertTrue(hasTable(st, "chunkdata_bak"), "Chunk table must be retained as a backup");
+        try (ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM regiondata")) {
+          assertTrue(rs.next());
+          assertEquals(3, rs.getInt(1), "Chunks must be grouped by region");
+        }
+      }
+    } finally {
+      adapter.close();
+    }
+
+    // A second start-up must not convert again or alter converted data. World IDs are not persisted, so the same
+    // instance of ChunkKeys is reused to keep the expected keys valid.
+    adapter = open();
+    try {
+      assertMigrated(adapter, keys, expected);
+      try (Statement st = adapter.database.createStatement()) {
+        assertFalse(hasTable(st, "chunkdata"));
+        assertTrue(hasTable(st, "chunkdata_bak"));
+      }
+    } finally {
+      adapter.close();
+    }
+  }
+
+  private SQLiteRegionAdapter open() throws SQLException {
+    return new SQLiteRegionAdapter(LOGGER, new MetricsRegistry(), chunkKeys, new ConnectionPool(url, 0));
+  }
+
+  private static void insertChunk(PreparedStatement insert, String chunkId, long time) throws SQLException {
+    insert.setString(1, chunkId);
+    insert.setLong(2, time);
+    insert.executeUpdate();
+  }
+
+  private static boolean hasTable(Statement st, String name) throws SQLException {
+    try (ResultSet rs = st.executeQuery("SELECT name FROM sqlite_master WHERE type='table' AND name='" + name + "'")) {
+      return rs.next();
+    }
+  }
+
+  private static void assertMigrated(SQLiteRegionAdapter adapter, long[] keys, long[] expected) throws SQLException {
+    for (int i = 0; i < keys.length; ++i) {
+      assertEquals(expected[i], adapter.get(keys[i]), "Unexpected value for " + adapter.chunkKeys.getLegacyId(keys[i]));
+    }
+    assertArrayEquals(expected, adapter.getAll(keys));
+
+    long regionKey = ChunkKeys.getRegionKey(keys[0]);
+    long[] region = adapter.getRegion(regionKey);
+    assertEquals(100, region[ChunkKeys.getRegionIndex(keys[0])]);
+    assertEquals(Config.FLAG_ETERNAL, region[ChunkKeys.getRegionIndex(keys[2])]);
+    assertEquals(RegionSummary.of(region), adapter.getSummary(regionKey), "Stored summary must match region data");
+  }
+
+}
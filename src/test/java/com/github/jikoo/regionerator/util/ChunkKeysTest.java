@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkKeysTest {
+
+  private static final int MIN_COORD = -(1 << 21);
+  private static final int MAX_COORD = (1 << 21) - 1;
+
+  @ParameterizedTest
+  @CsvSource({
+      "0,0,0",
+      "1,-1,-1",
+      "2,-1875000,1875000",
+      "3,-2097152,2097151",
+      "524287,2097151,-2097152",
+      "7,-33,31"
+  })
+  void testPackRoundTrip(int worldId, int chunkX, int chunkZ) {
+    long key = ChunkKeys.pack(worldId, chunkX, chunkZ);
+    assertEquals(worldId, ChunkKeys.getWorldId(key));
+    assertEquals(chunkX, ChunkKeys.getChunkX(key));
+    assertEquals(chunkZ, ChunkKeys.getChunkZ(key));
+    assertFalse(ChunkKeys.isOld(key));
+
+    long old = ChunkKeys.toOld(key);
+    assertTrue(ChunkKeys.isOld(old));
+    assertEquals(worldId, ChunkKeys.getWorldId(old));
+    assertEquals(chunkX, ChunkKeys.getChunkX(old));
+    assertEquals(chunkZ, ChunkKeys.getChunkZ(old));
+  }
+
+  @Test
+  void testPackOutOfRange() {
+    assertThrows(IllegalArgumentException.class, () -> ChunkKeys.pack(0, MAX_COORD + 1, 0));
+    assertThrows(IllegalArgumentException.class, () -> ChunkKeys.pack(0, MIN_COORD - 1, 0));
+    assertThrows(IllegalArgumentException.class, () -> ChunkKeys.pack(0, 0, MAX_COORD + 1));
+    assertThrows(IllegalArgumentException.class, () -> ChunkKeys.pack(0, 0, MIN_COORD - 1));
+  }
+
+  @Test
+  void testZeroKey() {
+    // The origin chunk of the first world packs to 0, which hash tables must support.
+    assertEquals(0, ChunkKeys.pack(0, 0, 0));
+    assertEquals(0, ChunkKeys.getRegionKey(0));
+    assertEquals(0, ChunkKeys.getRegionIndex(0));
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "0,0",
+      "-1,-1",
+      "3,-4",
+      "-65536,65535",
+      "65535,-65536"
+  })
+  void testRegionRoundTrip(int regionX, int regionZ) {
+    long regionKey = ChunkKeys.packRegionIndex(1, regionX, regionZ, 0);
+    assertEquals(regionX << ChunkKeys.REGION_BITS, ChunkKeys.getChunkX(regionKey));
+    assertEquals(regionZ << ChunkKeys.REGION_BITS, ChunkKeys.getChunkZ(regionKey));
+
+    for (int index = 0; index < 1 << 2 * ChunkKeys.REGION_BITS; ++index) {
+      long key = ChunkKeys.packRegionIndex(1, regionX, regionZ, index);
+      assertEquals(index, ChunkKeys.getRegionIndex(key));
+      assertEquals(regionKey, ChunkKeys.getRegionKey(key));
+      assertEquals(regionKey, ChunkKeys.getRegionKey(ChunkKeys.toOld(key)), "Region key must ignore old flag");
+      assertEquals(regionX, ChunkKeys.getChunkX(key) >> ChunkKeys.REGION_BITS);
+      assertEquals(regionZ, ChunkKeys.getChunkZ(key) >> ChunkKeys.REGION_BITS);
+    }
+  }
+
+  @Test
+  void testRegionIndexMatchesHeaderOrder() {
+    // Region file headers are ordered by local X, then local Z.
+    assertEquals(0, ChunkKeys.getRegionIndex(ChunkKeys.pack(0, -32, -32)));
+    assertEquals(1, ChunkKeys.getRegionIndex(ChunkKeys.pack(0, -31, -32)));
+    assertEquals(32, ChunkKeys.getRegionIndex(ChunkKeys.pack(0, -32, -31)));
+    assertEquals(1023, ChunkKeys.getRegionIndex(ChunkKeys.pack(0, -1, -1)));
+  }
+
+  @Test
+  void testWorldIds() {
+    ChunkKeys chunkKeys = new ChunkKeys();
+    int world = chunkKeys.getWorldId("world");
+    int nether = chunkKeys.getWorldId("world_nether");
+    assertEquals(world, chunkKeys.getWorldId("world"));
+    assertNotEquals(world, nether);
+    assertEquals("world_nether", chunkKeys.getWorldName(nether));
+
+    long key = chunkKeys.getKey("world_nether", -5, 12);
+    assertEquals(nether, ChunkKeys.getWorldId(key));
+    assertEquals("world_nether_-5_12", chunkKeys.getLegacyId(key));
+    assertEquals("world_nether_-5_12_old", chunkKeys.getLegacyId(ChunkKeys.toOld(key)));
+  }
+
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.util;
+
+import com.github.jikoo.regionerator.util.collection.LongHashSet;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replays a flag access trace against each {@link EvictionPolicy} and compares hit rates, then checks
+ * {@link ExpirationMap} invariants against a controlled clock.
+ *
+ * <p>By default, a trace is generated simulating players repeatedly flagging chunks around a busy town while
+ * other players fly through unexplored terrain. A recorded trace may be replayed instead by setting the system
+ * property {@code regionerator.trace} to a file of lines in the form {@code <millis> <chunk key>}.
+ */
+class ExpirationMapReplayTest {
+
+  private static final long RETENTION = 600_000L;
+  private static final long FREQUENCY = 1_000L;
+  // Slightly larger than the town, so hot chunks fit only if explorers' chunks are not admitted over them.
+  private static final int MAX_SIZE = 4_096;
+
+  @Test
+  void testTinyLfuRetainsHotChunks() throws IOException {
+    long[][] trace = loadTrace();
+
+    double lru = replay(trace, EvictionPolicy.LRU);
+    double tinyLfu = replay(trace, EvictionPolicy.TINY_LFU);
+
+    assertTrue(tinyLfu >= lru, () -> String.format("TinyLFU hit rate %.4f should not be lower than LRU %.4f", tinyLfu, lru));
+  }
+
+  @ParameterizedTest
+  @EnumSource(EvictionPolicy.class)
+  void testSizeNeverExceedsMax(@NotNull EvictionPolicy policy) {
+    AtomicLong clock = new AtomicLong();
+    int maxSize = 100;
+    ExpirationMap map = new ExpirationMap(1_000_000L, maxSize, 1L, policy, clock::get);
+    Random random = new Random(7);
+
+    for (int i = 0; i < 5_000; ++i) {
+      // Mix repeated and one-shot keys so keys move between segments as well as being admitted.
+      map.add(random.nextInt(4) == 0 ? random.nextInt(50) : 1_000 + i);
+      clock.addAndGet(2);
+      map.doExpiration();
+      assertTrue(map.size() <= maxSize, "Size must not exceed maximum after expiration");
+    }
+    assertEquals(maxSize, map.size());
+  }
+
+  @Test
+  void testFrequentKeySurvivesScan() {
+    AtomicLong clock = new AtomicLong();
+    ExpirationMap map = new ExpirationMap(1_000_000L, 100, 1L, EvictionPolicy.TINY_LFU, clock::get);
+    long hotKey = -1L;
+
+    for (int i = 0; i < 20; ++i) {
+      map.add(hotKey);
+      clock.addAndGet(2);
+      map.doExpiration();
+    }
+
+    for (int i = 0; i < 1_000; ++i) {
+      map.add(i);
+      clock.addAndGet(2);
+      long[] expired = map.doExpiration();
+      for (long key : expired) {
+        assertTrue(key != hotKey, "Frequently used key must not be evicted by one-shot keys");
+      }
+    }
+
+    assertTrue(map.contains(hotKey));
+  }
+
+  @ParameterizedTest
+  @EnumSource(EvictionPolicy.class)
+  void testRemoveLeavesNoStaleLinks(@NotNull EvictionPolicy policy) {
+    AtomicLong clock = new AtomicLong();
+    int maxSize = 10;
+    ExpirationMap map = new ExpirationMap(1_000L, maxSize, 1L, policy, clock::get);
+
+    // Keys added at the same time share a bucket. Remove the head, a middle key, and the tail.
+    for (int key = 0; key < maxSize; ++key) {
+      map.add(key);
+    }
+    LongHashSet removed = new LongHashSet();
+    for (int key : new int[] { 0, 4, 9 }) {
+      map.remove(key);
+      removed.add(key);
+      assertFalse(map.contains(key));
+    }
+    assertEquals(maxSize - removed.size(), map.size());
+
+    // Overflow the map so that eviction walks the segments and buckets the removed keys were linked into.
+    Map<Long, Integer> returned = new HashMap<>();
+    for (int key = maxSize; key < maxSize * 3; ++key) {
+      map.add(key);
+      clock.addAndGet(2);
+      collect(map.doExpiration(), returned);
+    }
+    clock.addAndGet(2_000L);
+    collect(map.doExpiration(), returned);
+
+    for (long key : returned.keySet()) {
+      assertFalse(removed.contains(key), "Removed key " + key + " must not be returned");
+    }
+    assertEquals(maxSize * 3 - removed.size(), returned.size());
+    returned.forEach((key, count) -> assertEquals(1, count, "Key " + key + " must be returned exactly once"));
+    assertEquals(0, map.size());
+  }
+
+  @ParameterizedTest
+  @EnumSource(EvictionPolicy.class)
+  void testClearLeavesNoStaleLinks(@NotNull EvictionPolicy policy) {
+    AtomicLong clock = new AtomicLong();
+    ExpirationMap map = new ExpirationMap(1_000L, 10, 1L, policy, clock::get);
+
+    for (int key = 0; key < 10; ++key) {
+      map.add(key);
+    }
+    map.clear();
+    assertEquals(0, map.size());
+
+    clock.addAndGet(2_000L);
+    assertArrayEquals(new long[0], map.doExpiration(), "Cleared keys must not expire");
+
+    for (int key = 10; key < 15; ++key) {
+      map.add(key);
+    }
+    clock.addAndGet(2_000L);
+    long[] expired = map.doExpiration();
+    Arrays.sort(expired);
+    assertArrayEquals(new long[] { 10, 11, 12, 13, 14 }, expired);
+    assertEquals(0, map.size());
+  }
+
+  @ParameterizedTest
+  @EnumSource(EvictionPolicy.class)
+  void testExpiredExactlyOnce(@NotNull EvictionPolicy policy) {
+    AtomicLong clock = new AtomicLong();
+    ExpirationMap map = new ExpirationMap(1_000L, -1, 10L, policy, clock::get);
+    Random random = new Random(11);
+    Map<Long, Integer> added = new HashMap<>();
+    Map<Long, Integer> returned = new HashMap<>();
+
+    for (int key = 0; key < 500; ++key) {
+      add(map, key, added);
+      if (key > 0 && random.nextBoolean()) {
+        // Touch an earlier key. If it has already expired, it is added again and must expire again.
+        add(map, random.nextInt(key), added);
+      }
+      // Expiration is requested more often than the configured frequency.
+      clock.addAndGet(random.nextInt(20));
+      collect(map.doExpiration(), returned);
+    }
+
+    // Let the remaining keys expire gradually, then skip far ahead past a full rotation of the buckets.
+    for (int i = 0; i < 50; ++i) {
+      clock.addAndGet(25);
+      collect(map.doExpiration(), returned);
+    }
+    clock.addAndGet(10_000L);
+    collect(map.doExpiration(), returned);
+
+    assertEquals(0, map.size());
+    assertEquals(added, returned, "Each added key must be returned exactly once");
+    clock.addAndGet(10_000L);
+    assertArrayEquals(new long[0], map.doExpiration(), "Keys must not expire again");
+  }
+
+  private static void add(@NotNull ExpirationMap map, long key, @NotNull Map<Long, Integer> added) {
+    if (!map.contains(key)) {
+      added.merge(key, 1, Integer::sum);
+    }
+    map.add(key);
+  }
+
+  private static void collect(long @NotNull [] expired, @NotNull Map<Long, Integer> returned) {
+    for (long key : expired) {
+      returned.merge(key, 1, Integer::sum);
+    }
+  }
+
+  private static double replay(long @NotNull [] @NotNull [] trace, @NotNull EvictionPolicy policy) {
+    long[] times = trace[0];
+    long[] keys = trace[1];
+    AtomicLong clock = new AtomicLong(times.length == 0 ? 0 : times[0]);
+    ExpirationMap map = new ExpirationMap(RETENTION, MAX_SIZE, FREQUENCY, policy, clock::get);
+
+    long hits = 0;
+    for (int i = 0; i < keys.length; ++i) {
+      clock.set(times[i]);
+      if (map.contains(keys[i])) {
+        ++hits;
+      }
+      map.add(keys[i]);
+      map.doExpiration();
+    }
+
+    return keys.length == 0 ? 0 : (double) hits / keys.length;
+  }
+
+  private static long @NotNull [] @NotNull [] loadTrace() throws IOException {
+    String recorded = System.getProperty("regionerator.trace");
+    if (recorded != null && !recorded.isEmpty()) {
+      List<String> lines = Files.readAllLines(Path.of(recorded));
+      long[] times = new long[lines.size()];
+      long[] keys = new long[lines.size()];
+      int size = 0;
+      for (String line : lines) {
+        String[] split = line.trim().split("\\s+");
+        if (split.length != 2) {
+          continue;
+        }
+        times[size] = Long.parseLong(split[0]);
+        keys[size] = Long.parseLong(split[1]);
+        ++size;
+      }
+      return new long[][] { Arrays.copyOf(times, size), Arrays.copyOf(keys, size) };
+    }
+
+    return generateTrace();
+  }
+
+  /**
+   * Generates an hour of flagging at one flag per player every 10 seconds with a radius of 4 chunks. Town players
+   * wander a 48x48 chunk area around spawn while explorers fly in straight lines at 2 chunks per second.
+   */
+  private static long @NotNull [] @NotNull [] generateTrace() {
+    Random random = new Random(42);
+    int radius = 4;
+    int townPlayers = 12;
+    int explorers = 4;
+    int[][] explorerPositions = new int[explorers][];
+    for (int i = 0; i < explorers; ++i) {
+      double angle = random.nextDouble() * Math.PI * 2;
+      explorerPositions[i] = new int[] { (int) (Math.cos(angle) * 1000), (int) (Math.sin(angle) * 1000),
+          (int) Math.round(Math.cos(angle) * 20), (int) Math.round(Math.sin(angle) * 20) };
+    }
+
+    List<long[]> accesses = new ArrayList<>();
+    for (long time = 0; time < 3_600_000L; time += 10_000L) {
+      for (int player = 0; player < townPlayers; ++player) {
+        // Town players favor a handful of popular spots.
+        int spot = (int) Math.floor(Math.pow(random.nextDouble(), 3) * 16);
+        int centerX = (spot % 4) * 12 - 24 + random.nextInt(5) - 2;
+        int centerZ = (spot / 4) * 12 - 24 + random.nextInt(5) - 2;
+        addSquare(accesses, time, centerX, centerZ, radius);
+      }
+      for (int[] explorer : explorerPositions) {
+        explorer[0] += explorer[2];
+        explorer[1] += explorer[3];
+        addSquare(accesses, time, explorer[0], explorer[1], radius);
+      }
+    }
+
+    long[] times = new long[accesses.size()];
+    long[] keys = new long[accesses.size()];
+    for (int i = 0; i < accesses.size(); ++i) {
+      times[i] = accesses.get(i)[0];
+      keys[i] = accesses.get(i)[1];
+    }
+    return new long[][] { times, keys };
+  }
+
+  private static void addSquare(@NotNull List<long[]> accesses, long time, int centerX, int centerZ, int radius) {
+    for (int dX = -radius; dX <= radius; ++dX) {
+      for (int dZ = -radius; dZ <= radius; ++dZ) {
+        accesses.add(new long[] { time, ChunkKeys.pack(0, centerX + dX, centerZ + dZ) });
+      }
+    }
+  }
+
+}
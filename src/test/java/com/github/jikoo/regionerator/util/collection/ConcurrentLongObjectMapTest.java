@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.util.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentLongObjectMapTest {
+
+  @Test
+  void testZeroKey() {
+    ConcurrentLongObjectMap<String> map = new ConcurrentLongObjectMap<>();
+    assertNull(map.put(0, "zero"));
+    assertTrue(map.containsKey(0));
+    assertEquals("zero", map.get(0));
+    assertArrayEquals(new long[] { 0 }, map.keys());
+    assertEquals("zero", map.remove(0));
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  void testConditionalOperations() {
+    ConcurrentLongObjectMap<String> map = new ConcurrentLongObjectMap<>();
+    assertNull(map.putIfAbsent(1, "one"));
+    assertEquals("one", map.putIfAbsent(1, "other"));
+    assertEquals("one", map.computeIfAbsent(1, key -> "other"));
+    assertEquals("two", map.computeIfAbsent(2, key -> "two"));
+
+    assertFalse(map.remove(1, "other"));
+    assertTrue(map.remove(1, "one"));
+    assertFalse(map.containsKey(1));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  void testSnapshots() {
+    ConcurrentLongObjectMap<Long> map = new ConcurrentLongObjectMap<>();
+    for (long key = -50; key < 50; ++key) {
+      map.put(key, key);
+    }
+
+    long[] keys = map.keys();
+    List<Long> values = map.values();
+    map.clear();
+
+    Arrays.sort(keys);
+    assertEquals(100, keys.length);
+    assertEquals(-50, keys[0]);
+    assertEquals(49, keys[99]);
+    assertEquals(100, values.size());
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  void testCountAndDrain() {
+    ConcurrentLongObjectMap<Long> map = new ConcurrentLongObjectMap<>(64);
+    for (long key = 0; key < 100; ++key) {
+      map.put(key, key);
+    }
+
+    assertEquals(50, map.count(value -> value % 2 == 0));
+
+    Collection<Long> drained = map.drain();
+    assertEquals(100, drained.size());
+    assertTrue(map.isEmpty());
+    assertArrayEquals(new long[0], map.keys());
+  }
+
+  @Test
+  void testConcurrentPuts() throws InterruptedException {
+    ConcurrentLongObjectMap<Long> map = new ConcurrentLongObjectMap<>();
+    int threads = 4;
+    int perThread = 10_000;
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> workers = new ArrayList<>();
+    for (int thread = 0; thread < threads; ++thread) {
+      long offset = (long) thread * perThread;
+      Thread worker = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        for (long key = offset; key < offset + perThread; ++key) {
+          map.put(key, key);
+          // Every thread also competes for a shared set of keys.
+          map.computeIfAbsent(-(key % 100) - 1, Long::valueOf);
+        }
+      });
+      worker.start();
+      workers.add(worker);
+    }
+
+    start.countDown();
+    for (Thread worker : workers) {
+      worker.join();
+    }
+
+    assertEquals(threads * perThread + 100, map.size());
+    for (long key = 0; key < (long) threads * perThread; ++key) {
+      assertEquals(key, map.get(key));
+    }
+  }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.util.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongArrayQueueTest {
+
+  @Test
+  void testFirstInFirstOut() {
+    LongArrayQueue queue = new LongArrayQueue();
+    for (long value = 0; value < 10; ++value) {
+      queue.add(value);
+    }
+    assertEquals(10, queue.size());
+    for (long value = 0; value < 10; ++value) {
+      assertEquals(value, queue.poll());
+    }
+    assertTrue(queue.isEmpty());
+  }
+
+  @Test
+  void testGrowWhileWrapped() {
+    LongArrayQueue queue = new LongArrayQueue();
+    int capacity = LongHashing.MIN_CAPACITY;
+
+    // Move the head partway through the buffer so that the queue wraps before growing.
+    for (long value = 0; value < capacity / 2; ++value) {
+      queue.add(value);
+    }
+    for (long value = 0; value < capacity / 2; ++value) {
+      assertEquals(value, queue.poll());
+    }
+
+    for (long value = 0; value < capacity * 3; ++value) {
+      queue.add(value);
+    }
+    assertEquals(capacity * 3, queue.size());
+    for (long value = 0; value < capacity * 3; ++value) {
+      assertEquals(value, queue.poll());
+    }
+    assertTrue(queue.isEmpty());
+  }
+
+  @Test
+  void testPollEmpty() {
+    LongArrayQueue queue = new LongArrayQueue();
+    assertThrows(NoSuchElementException.class, queue::poll);
+
+    queue.add(1);
+    queue.clear();
+    assertTrue(queue.isEmpty());
+    assertThrows(NoSuchElementException.class, queue::poll);
+  }
+
+}
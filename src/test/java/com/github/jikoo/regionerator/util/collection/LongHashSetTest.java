@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.util.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static com.github.jikoo.regionerator.util.collection.LongObjectHashMapTest.keysForSlot;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongHashSetTest {
+
+  @Test
+  void testZeroKey() {
+    LongHashSet set = new LongHashSet();
+    assertFalse(set.contains(0));
+    assertTrue(set.add(0));
+    assertFalse(set.add(0));
+    assertTrue(set.contains(0));
+    assertEquals(1, set.size());
+    assertArrayEquals(new long[] { 0 }, set.toArray());
+
+    assertTrue(set.remove(0));
+    assertFalse(set.remove(0));
+    assertTrue(set.isEmpty());
+  }
+
+  @Test
+  void testRemoveShiftsCollidingKeys() {
+    LongHashSet set = new LongHashSet(1);
+    long[] home3 = keysForSlot(3, 2);
+    long home4 = keysForSlot(4, 1)[0];
+    set.add(home3[0]);
+    set.add(home3[1]);
+    set.add(home4);
+
+    assertTrue(set.remove(home3[0]));
+
+    assertFalse(set.contains(home3[0]));
+    assertTrue(set.contains(home3[1]));
+    assertTrue(set.contains(home4));
+    assertEquals(2, set.size());
+  }
+
+  @Test
+  void testRemoveWrapsAroundTableEnd() {
+    LongHashSet set = new LongHashSet(1);
+    long[] home15 = keysForSlot(LongHashing.MIN_CAPACITY - 1, 3);
+    long home0 = keysForSlot(0, 1)[0];
+    for (long key : home15) {
+      set.add(key);
+    }
+    set.add(home0);
+
+    for (int removed = 0; removed < home15.length; ++removed) {
+      assertTrue(set.remove(home15[removed]));
+      for (int i = 0; i < home15.length; ++i) {
+        assertEquals(i > removed, set.contains(home15[i]));
+      }
+      assertTrue(set.contains(home0));
+    }
+    assertEquals(1, set.size());
+  }
+
+  @Test
+  void testRehashGrowth() {
+    LongHashSet set = new LongHashSet(1);
+    Set<Long> expected = new HashSet<>();
+    Random random = new Random(5);
+    while (expected.size() < 10_000) {
+      long key = random.nextLong();
+      assertEquals(expected.add(key), set.add(key));
+    }
+
+    assertEquals(expected.size(), set.size());
+    expected.forEach(key -> assertTrue(set.contains(key)));
+
+    long[] keys = set.toArray();
+    Arrays.sort(keys);
+    assertArrayEquals(expected.stream().mapToLong(Long::longValue).sorted().toArray(), keys);
+  }
+
+  @Test
+  void testClear() {
+    LongHashSet set = new LongHashSet();
+    set.add(0);
+    set.add(7);
+    set.clear();
+    assertTrue(set.isEmpty());
+    assertFalse(set.contains(0));
+    assertFalse(set.contains(7));
+    assertArrayEquals(new long[0], set.toArray());
+  }
+
+}
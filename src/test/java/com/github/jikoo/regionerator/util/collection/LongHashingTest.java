@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.util.collection;
+
+import com.github.jikoo.regionerator.util.ChunkKeys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongHashingTest {
+
+  @ParameterizedTest
+  @ValueSource(ints = { -1, 0, 1, 12, 13, 100, 1_000_000 })
+  void testCapacityFor(int expected) {
+    int capacity = LongHashing.capacityFor(expected);
+    assertEquals(1, Integer.bitCount(capacity), "Capacity must be a power of two");
+    assertTrue(capacity >= LongHashing.MIN_CAPACITY);
+    assertTrue(LongHashing.maxFill(capacity) >= expected, "Expected elements must fit without growing");
+  }
+
+  @Test
+  void testCapacityForLimit() {
+    assertEquals(1 << 30, LongHashing.capacityFor(Integer.MAX_VALUE));
+  }
+
+  @Test
+  void testMaxFill() {
+    assertEquals(12, LongHashing.maxFill(LongHashing.MIN_CAPACITY));
+    // A table must always keep a free slot to terminate probing.
+    assertTrue(LongHashing.maxFill(2) < 2);
+  }
+
+  @Test
+  void testMixSpreadsAdjacentChunks() {
+    // Chunk keys for a square of chunks differ only in low bits of each coordinate.
+    int capacity = 1 << 12;
+    BitSet slots = new BitSet(capacity);
+    for (int x = 0; x < 32; ++x) {
+      for (int z = 0; z < 32; ++z) {
+        slots.set(LongHashing.mix(ChunkKeys.pack(0, x, z)) & (capacity - 1));
+      }
+    }
+    // 1024 keys in 4096 slots should rarely collide.
+    assertTrue(slots.cardinality() > 850, "Adjacent chunks should spread across slots");
+  }
+
+}
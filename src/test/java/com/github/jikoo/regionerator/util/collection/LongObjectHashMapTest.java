@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2015-2026 by Jikoo.
+ *
+ * Regionerator is licensed under a Creative Commons
+ * Attribution-ShareAlike 4.0 International License.
+ *
+ * You should have received a copy of the license along with this
+ * work. If not, see <http://creativecommons.org/licenses/by-sa/4.0/>.
+ */
+
+package com.github.jikoo.regionerator.util.collection;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongObjectHashMapTest {
+
+  // The smallest table has 16 slots.
+  private static final int CAPACITY = LongHashing.MIN_CAPACITY;
+
+  @Test
+  void testZeroKey() {
+    LongObjectHashMap<String> map = new LongObjectHashMap<>();
+    assertFalse(map.containsKey(0));
+    assertNull(map.get(0));
+
+    assertNull(map.put(0, "zero"));
+    assertTrue(map.containsKey(0));
+    assertEquals("zero", map.get(0));
+    assertEquals(1, map.size());
+    assertArrayEquals(new long[] { 0 }, map.keys());
+
+    assertEquals("zero", map.put(0, "replaced"));
+    assertEquals(1, map.size());
+
+    List<Long> visited = new ArrayList<>();
+    map.forEach((key, value) -> visited.add(key));
+    assertEquals(List.of(0L), visited);
+
+    assertEquals("replaced", map.remove(0));
+    assertFalse(map.containsKey(0));
+    assertNull(map.remove(0));
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  void testRemoveShiftsCollidingKeys() {
+    LongObjectHashMap<String> map = new LongObjectHashMap<>(1);
+    // a and b both want slot 3 and occupy slots 3 and 4. c wants slot 4 and is pushed to 5.
+    long[] home3 = keysForSlot(3, 2);
+    long a = home3[0];
+    long b = home3[1];
+    long c = keysForSlot(4, 1)[0];
+    map.put(a, "a");
+    map.put(b, "b");
+    map.put(c, "c");
+
+    assertEquals("a", map.remove(a));
+
+    assertNull(map.get(a));
+    assertEquals("b", map.get(b));
+    assertEquals("c", map.get(c));
+    assertEquals(2, map.size());
+  }
+
+  @Test
+  void testRemoveWrapsAroundTableEnd() {
+    LongObjectHashMap<String> map = new LongObjectHashMap<>(1);
+    // a, b, and c want the last slot and wrap to occupy slots 15, 0, and 1. d wants slot 0 and is pushed to 2.
+    long[] home15 = keysForSlot(CAPACITY - 1, 3);
+    long d = keysForSlot(0, 1)[0];
+    for (long key : home15) {
+      map.put(key, Long.toString(key));
+    }
+    map.put(d, Long.toString(d));
+
+    for (int removed = 0; removed < home15.length; ++removed) {
+      map.remove(home15[removed]);
+      for (int i = 0; i < home15.length; ++i) {
+        assertEquals(i > removed ? Long.toString(home15[i]) : null, map.get(home15[i]));
+      }
+      assertEquals(Long.toString(d), map.get(d));
+      assertEquals(home15.length - removed, map.size());
+    }
+  }
+
+  @Test
+  void testRemoveIfRechecksShiftedSlot() {
+    LongObjectHashMap<String> map = new LongObjectHashMap<>(1);
+    long[] home3 = keysForSlot(3, 3);
+    for (long key : home3) {
+      map.put(key, "value");
+    }
+
+    // Removing the first key shifts the next into its slot, which must be tested too.
+    assertEquals(3, map.removeIf((key, value) -> true));
+    assertTrue(map.isEmpty());
+    for (long key : home3) {
+      assertFalse(map.containsKey(key));
+    }
+  }
+
+  @Test
+  void testRemoveIfWrapsAroundTableEnd() {
+    LongObjectHashMap<String> map = new LongObjectHashMap<>(1);
+    // Keys occupy slots 15, 0, and 1. Removing the key in slot 15 shifts the wrapped keys back across the end.
+    long[] home15 = keysForSlot(CAPACITY - 1, 3);
+    map.put(0, "zero");
+    for (long key : home15) {
+      map.put(key, "value");
+    }
+
+    assertEquals(2, map.removeIf((key, value) -> key == 0 || key == home15[0]));
+    assertEquals(2, map.size());
+    assertFalse(map.containsKey(0));
+    assertFalse(map.containsKey(home15[0]));
+    assertEquals("value", map.get(home15[1]));
+    assertEquals("value", map.get(home15[2]));
+
+    assertEquals(2, map.removeIf((key, value) -> true));
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  void testRehashGrowth() {
+    LongObjectHashMap<Long> map = new LongObjectHashMap<>(1);
+    Map<Long, Long> expected = new HashMap<>();
+    Random random = new Random(3);
+    expected.put(0L, 0L);
+    map.put(0, 0L);
+    while (expected.size() < 10_000) {
+      long key = random.nextLong();
+      expected.put(key, key);
+      map.put(key, key);
+    }
+
+    assertEquals(expected.size(), map.size());
+    expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+
+    // Removal after growth must keep the remaining probe chains intact.
+    long[] keys = map.keys();
+    for (int i = 0; i < keys.length; i += 2) {
+      map.remove(keys[i]);
+      expected.remove(keys[i]);
+    }
+    assertEquals(expected.size(), map.size());
+    expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+  }
+
+  @Test
+  void testKeysSnapshot() {
+    LongObjectHashMap<String> map = new LongObjectHashMap<>();
+    map.put(0, "zero");
+    map.put(-1, "negative");
+    map.put(Long.MAX_VALUE, "max");
+
+    long[] keys = map.keys();
+    map.put(5, "added");
+    map.remove(-1);
+
+    Arrays.sort(keys);
+    assertArrayEquals(new long[] { -1, 0, Long.MAX_VALUE }, keys);
+    long[] current = map.keys();
+    Arrays.sort(current);
+    assertArrayEquals(new long[] { 0, 5, Long.MAX_VALUE }, current);
+  }
+
+  @Test
+  void testConditionalOperations() {
+    LongObjectHashMap<String> map = new LongObjectHashMap<>();
+    assertNull(map.putIfAbsent(1, "one"));
+    assertEquals("one", map.putIfAbsent(1, "other"));
+    assertEquals("one", map.computeIfAbsent(1, key -> "other"));
+    assertEquals("two", map.computeIfAbsent(2, key -> "two"));
+
+    assertFalse(map.remove(1, "other"));
+    assertTrue(map.remove(1, "one"));
+    assertFalse(map.containsKey(1));
+
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertNull(map.get(2));
+  }
+
+  /**
+   * Finds non-zero keys that hash to a slot of the smallest table.
+   *
+   * @param slot the slot
+   * @param count the number of keys to find
+   * @return the keys
+   */
+  static long @NotNull [] keysForSlot(int slot, int count) {
+    long[] keys = new long[count];
+    int found = 0;
+    for (long key = 1; found < count; ++key) {
+      if ((LongHashing.mix(key) & (CAPACITY - 1)) == slot) {
+        keys[found++] = key;
+      }
+    }
+    return keys;
+  }
+
+}